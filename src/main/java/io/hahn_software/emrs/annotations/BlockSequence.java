@@ -0,0 +1,29 @@
+package io.hahn_software.emrs.annotations;
+
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import io.hahn_software.emrs.dao.generators.BlockSequenceGenerator;
+
+
+/***
+ * Generates ids from a database sequence reserved in blocks (pooled-lo) .
+ *
+ * The block size can be overridden per sequence with the property
+ * {@code emrs.id.block-size.<sequenceName>} , and must match the INCREMENT BY
+ * of the database sequence .
+ */
+@IdGeneratorType(BlockSequenceGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BlockSequence {
+
+    String sequenceName();
+
+    int blockSize() default 50;
+}
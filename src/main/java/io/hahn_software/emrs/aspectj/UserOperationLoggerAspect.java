@@ -3,6 +3,7 @@ package io.hahn_software.emrs.aspectj;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Objects;
 
 import org.aspectj.lang.JoinPoint;
@@ -16,14 +17,19 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import io.hahn_software.emrs.annotations.LogUserOperation;
-import io.hahn_software.emrs.dao.repositories.UserLogRepo;
+import io.hahn_software.emrs.dtos.CursorPageDTO;
+import io.hahn_software.emrs.dtos.ImportReport;
+import io.hahn_software.emrs.dtos.OperationResult;
+import io.hahn_software.emrs.dtos.PageDTO;
+import io.hahn_software.emrs.dtos.PatchResult;
+import io.hahn_software.emrs.dtos.UpsertResult;
 import io.hahn_software.emrs.entities.UserLog;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
+import io.hahn_software.emrs.services.UserLogWriter;
 import jakarta.servlet.http.HttpServletRequest;
 
 
@@ -32,20 +38,21 @@ import jakarta.servlet.http.HttpServletRequest;
 @Component
 public class UserOperationLoggerAspect {
 
-    private UserLogRepo userLogRepository;
+    private UserLogWriter userLogWriter;
 
     @Autowired
     UserOperationLoggerAspect(
-        UserLogRepo userLogRepository
+        UserLogWriter userLogWriter
     ) {
-        this.userLogRepository = userLogRepository;
+        this.userLogWriter = userLogWriter;
     }
 
     
     @Around("@annotation(io.hahn_software.emrs.annotations.LogUserOperation)")
-	public void logUserOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+	public Object logUserOperation(ProceedingJoinPoint joinPoint) throws Throwable {
 
-		log.debug("Hello 🔖") ;
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
@@ -66,8 +73,7 @@ public class UserOperationLoggerAspect {
             username = "Anonymous";
         }
 
-        log.info("UserName : {} ✅" , username);
-        log.info("UserId : {} ✅" , userId);
+        log.debug("UserName : {} , UserId : {} ✅" , username, userId);
 
 
 
@@ -79,13 +85,15 @@ public class UserOperationLoggerAspect {
 
 
         /**
-         *  Get the IP address of the user
+         *  Get the IP address of the user (no request is bound outside of web threads)
          */
-        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
-        String ipAddress = request.getRemoteAddr();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        String ipAddress = null;
 
-
-        log.info("Ip Address : {}" , ipAddress);
+        if (requestAttributes instanceof ServletRequestAttributes servletRequestAttributes) {
+            HttpServletRequest request = servletRequestAttributes.getRequest();
+            ipAddress = request.getRemoteAddr();
+        }
 
 
         UserLog userLog = UserLog.builder()
@@ -94,30 +102,71 @@ public class UserOperationLoggerAspect {
         .operation(operationDescription)
         .method(signature.getMethod().getName())
         .ipAddress(ipAddress)
-        .status("STARTED") // Initial status
+        .createdAt(startedAt)
         .build();
 
-        userLogRepository.save(userLog);
-
 
+        /*
+         * only the final record is written , asynchronously and in batches ,
+         * so the operation itself never waits on the audit table
+         */
         try {
             // Proceed with the method execution
-           joinPoint.proceed();
+            Object result = joinPoint.proceed();
 
-            // Update the log entry for successful completion
             userLog.setStatus("SUCCESS");
-            userLog.setUpdatedAt(Instant.now());
-            userLogRepository.update(userLog); // Update the log
+            userLog.setAffectedRecords(affectedRecords(result));
+
+            return result;
 
-        } catch (Exception e) {
+        } catch (Throwable e) {
 
-            // Update the log entry for failure
             userLog.setStatus("FAILURE");
-            userLog.setUpdatedAt(Instant.now());
-            userLogRepository.update(userLog); // Update the log
 
             throw e;
+
+        } finally {
+
+            userLog.setDurationMs((System.nanoTime() - start) / 1_000_000);
+            userLog.setUpdatedAt(Instant.now());
+
+            userLogWriter.submit(userLog);
+        }
+
+    }
+
+
+
+    private static Integer affectedRecords(Object result) {
+
+        if (result instanceof OperationResult operationResult) {
+            return operationResult.affectedRecords();
+        }
+
+        if (result instanceof PatchResult patchResult) {
+            return patchResult.affectedRecords();
+        }
+
+        if (result instanceof UpsertResult upsertResult) {
+            return upsertResult.affectedRecords();
+        }
+
+        if (result instanceof ImportReport importReport) {
+            return (int) importReport.getImportedRows();
+        }
+
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+
+        if (result instanceof PageDTO<?> page && page.getContent() != null) {
+            return page.getContent().size();
+        }
+
+        if (result instanceof CursorPageDTO<?> page && page.getContent() != null) {
+            return page.getContent().size();
         }
 
+        return null;
     }
 }
@@ -2,6 +2,8 @@ package io.hahn_software.emrs.conf;
 
 import java.util.Properties;
 
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
@@ -13,6 +15,8 @@ import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
 import io.hahn_software.emrs.utils.PropertiesLoader;
 import jakarta.persistence.EntityManagerFactory;
 
@@ -35,6 +39,24 @@ public class DbConf {
         properties.put("hibernate.connection.username", env.getProperty("DB_USER" , "keycloak_user"));
         properties.put("hibernate.connection.driver_class", "org.postgresql.Driver");
 
+        // second-level + query cache , jcache regions backed by caffeine (see hibernate-jcache.conf)
+        properties.putIfAbsent(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true");
+        properties.putIfAbsent(AvailableSettings.USE_QUERY_CACHE, "true");
+        properties.putIfAbsent(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+        properties.putIfAbsent(ConfigSettings.PROVIDER, CaffeineCachingProvider.class.getName());
+        properties.putIfAbsent(ConfigSettings.CONFIG_URI, "hibernate-jcache.conf");
+        properties.putIfAbsent(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+        properties.putIfAbsent(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, "ENABLE_SELECTIVE");
+        // feeds the hibernate.cache.* metrics
+        properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, "true");
+
+        /*
+         * the session holds its connection until it closes (one transaction with Spring) ,
+         * which lets JpaTransactionManager call Connection.setReadOnly for
+         * @Transactional(readOnly = true) : pgjdbc then opens a BEGIN READ ONLY transaction
+         */
+        properties.putIfAbsent(AvailableSettings.CONNECTION_HANDLING, "DELAYED_ACQUISITION_AND_HOLD");
+
         LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
 
         /***
@@ -66,10 +66,11 @@ public class UtilsConf {
                                     .addMediaType("multipart/form-data",
                                     new MediaType()
                                             .schema(new Schema<>()
-                                            .type("array")
-                                            .items(new Schema<>()
+                                            .type("object")
+                                            .addProperty("file", new Schema<>()
                                                     .type("string")
-                                                    .format("binary"))))))
+                                                    .format("binary"))
+                                            .addRequiredItem("file")))))
             ) ;
     }
 }
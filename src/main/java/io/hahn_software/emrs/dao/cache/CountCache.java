@@ -0,0 +1,72 @@
+package io.hahn_software.emrs.dao.cache;
+
+import java.util.function.LongSupplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+
+/***
+ * Caches the row count of one table for a short TTL .
+ *
+ * The owning repository calls {@link #invalidate()} on every write that changes the
+ * number of rows . Inside a transaction the count is dropped a second time after
+ * completion , so a reader racing the commit can not keep the old value alive .
+ */
+public class CountCache {
+
+
+    private record Entry(long count, long expiresAt) {}
+
+
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile Entry entry;
+
+
+
+    public CountCache(String entity) {
+        this.hits = Metrics.counter("emrs.pagination.count.cache", "entity", entity, "result", "hit");
+        this.misses = Metrics.counter("emrs.pagination.count.cache", "entity", entity, "result", "miss");
+    }
+
+
+
+    public long get(long ttlMs, LongSupplier loader) {
+
+        Entry current = entry;
+        long now = System.currentTimeMillis();
+
+        if (current != null && current.expiresAt() > now) {
+            hits.increment();
+            return current.count();
+        }
+
+        misses.increment();
+
+        long count = loader.getAsLong();
+        entry = new Entry(count, now + ttlMs);
+
+        return count;
+    }
+
+
+
+    public void invalidate() {
+
+        entry = null;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entry = null;
+                }
+            });
+        }
+    }
+}
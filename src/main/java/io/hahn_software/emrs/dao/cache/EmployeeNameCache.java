@@ -0,0 +1,308 @@
+package io.hahn_software.emrs.dao.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
+
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.hahn_software.emrs.dao.cache.EmployeeNameIndex.Entry;
+import io.hahn_software.emrs.entities.Employee;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Holds the {@link EmployeeNameIndex} serving name typeahead .
+ *
+ * Built in the background once the application is ready , then kept in sync by the
+ * repositories like the {@link OrgChartCache} : changes are applied after the transaction
+ * commits , writes whose rows are not known one by one (bulk update / delete by filter)
+ * rebuild it from the database . Rebuilds and compactions of the delta run on a single
+ * background thread while the current index keeps serving , the changes committed meanwhile
+ * are replayed on the result before it replaces the current index .
+ *
+ * The number of indexed employees is published as emrs.suggest.size .
+ */
+@Slf4j
+@Component
+public class EmployeeNameCache {
+
+
+    private static final String SELECT_NAMES =
+        "SELECT e.id, e.fullName, e.employeeID FROM Employee e" ;
+
+
+    /**
+     * Employees in the delta (plus shadowed ones) above which the delta is folded into the base.
+     */
+    @Value("${emrs.suggest.compact-threshold:10000}")
+    private int compactThreshold = 10000;
+
+
+    @Value("${emrs.suggest.fetch-size:10000}")
+    private int fetchSize = 10000;
+
+
+    private final TransactionTemplate loadTransaction;
+    private final ExecutorService rebuilder;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private volatile EmployeeNameIndex index = EmployeeNameIndex.empty();
+    private volatile boolean loaded;
+
+    // guarded by this
+    private boolean rebuilding;
+    private boolean reloadRequested;
+    private List<UnaryOperator<EmployeeNameIndex>> committedDuringRebuild;
+
+
+
+    @Autowired
+    EmployeeNameCache(
+        PlatformTransactionManager transactionManager ,
+        MeterRegistry meterRegistry
+    ) {
+        // committed rows only , whatever the transaction of the caller has pending
+        this.loadTransaction = new TransactionTemplate(transactionManager) ;
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW) ;
+        this.loadTransaction.setReadOnly(true) ;
+
+        this.rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-name-index");
+            thread.setDaemon(true);
+            return thread;
+        }) ;
+
+        Gauge.builder("emrs.suggest.size", this, cache -> cache.index.size())
+            .register(meterRegistry) ;
+    }
+
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    void loadInBackground() {
+        schedule(true);
+    }
+
+
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+
+
+    public EmployeeNameIndex index() {
+        return index;
+    }
+
+
+
+    /**
+     * @return false until the first load completed , the index is empty until then.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+
+
+    /**
+     * Names and employeeIDs of the written employees , a field left null is not changed.
+     */
+    public static List<Entry> entries(Collection<Employee> employees) {
+
+        List<Entry> entries = new ArrayList<>();
+
+        for (Employee employee : employees) {
+            if (employee.getId() != null && (employee.getFullName() != null || employee.getEmployeeID() != null)) {
+                entries.add(new Entry(employee.getId(), employee.getFullName(), employee.getEmployeeID()));
+            }
+        }
+
+        return entries;
+    }
+
+
+
+    public void put(Collection<Entry> entries) {
+
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        List<Entry> changed = List.copyOf(entries);
+
+        afterCommit(() -> apply(current -> current.withChanges(changed, List.of())));
+    }
+
+
+
+    public void remove(Collection<Long> employeeIds) {
+
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> removed = List.copyOf(employeeIds);
+
+        afterCommit(() -> apply(current -> current.withChanges(List.of(), removed)));
+    }
+
+
+
+    /**
+     * Rebuilds the index from the database in the background , the current one keeps serving.
+     */
+    public void invalidate() {
+        afterCommit(() -> schedule(true));
+    }
+
+
+
+    private void afterCommit(Runnable change) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+
+
+    /**
+     * Changes are idempotent , replaying one on an index that already has it is harmless.
+     */
+    private synchronized void apply(UnaryOperator<EmployeeNameIndex> change) {
+
+        index = change.apply(index);
+
+        if (committedDuringRebuild != null) {
+            committedDuringRebuild.add(change);
+        } else if (index.pendingChanges() > compactThreshold) {
+            schedule(false);
+        }
+    }
+
+
+
+    private synchronized void schedule(boolean reload) {
+
+        reloadRequested |= reload;
+
+        // a running rebuild schedules the next one when it is done
+        if (rebuilding) {
+            return;
+        }
+
+        rebuilding = true;
+
+        rebuilder.execute(this::rebuild);
+    }
+
+
+
+    private void rebuild() {
+
+        boolean reload;
+        EmployeeNameIndex current;
+
+        synchronized (this) {
+            reload = reloadRequested;
+            reloadRequested = false;
+            current = index;
+            committedDuringRebuild = new ArrayList<>();
+        }
+
+        EmployeeNameIndex rebuilt = null;
+
+        try {
+            rebuilt = reload ? load() : current.compact();
+        } catch (RuntimeException e) {
+            log.error("Could not rebuild the employee name index , the current one keeps serving ❌", e);
+        }
+
+        synchronized (this) {
+
+            if (rebuilt != null) {
+
+                for (UnaryOperator<EmployeeNameIndex> change : committedDuringRebuild) {
+                    rebuilt = change.apply(rebuilt);
+                }
+
+                index = rebuilt;
+                loaded |= reload;
+            }
+
+            committedDuringRebuild = null;
+            rebuilding = false;
+
+            if (reloadRequested || (rebuilt != null && index.pendingChanges() > compactThreshold)) {
+                schedule(reloadRequested);
+            }
+        }
+    }
+
+
+
+    private EmployeeNameIndex load() {
+
+        long start = System.nanoTime();
+
+        EmployeeNameIndex built = loadTransaction.execute(status -> {
+
+            List<Entry> entries = new ArrayList<>();
+
+            // forward-only cursor , only fetchSize rows are held by the driver at a time
+            try (ScrollableResults<Object[]> rows = em.unwrap(Session.class)
+                    .createSelectionQuery(SELECT_NAMES, Object[].class)
+                    .setFetchSize(fetchSize)
+                    .setCacheMode(CacheMode.IGNORE)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+
+                while (rows.next()) {
+                    Object[] row = rows.get();
+                    entries.add(new Entry((Long) row[0], (String) row[1], (Long) row[2]));
+                }
+            }
+
+            return EmployeeNameIndex.of(entries);
+        });
+
+        log.info("Name index of {} employees built in {} ms 🔖", built.size(), (System.nanoTime() - start) / 1_000_000);
+
+        return built;
+    }
+}
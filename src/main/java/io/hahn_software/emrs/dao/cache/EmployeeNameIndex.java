@@ -0,0 +1,521 @@
+package io.hahn_software.emrs.dao.cache;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+import io.hahn_software.emrs.dtos.EmployeeSuggestion;
+
+
+
+/***
+ * Immutable prefix index of employee names , for typeahead .
+ *
+ * Every word of the normalised full name (lower case , accents and punctuation removed) and the
+ * employeeID are keys . The keys of a segment are packed in one sorted char[] with an offset
+ * and an employee slot per key , so the keys starting with a prefix are one contiguous range
+ * found with two binary searches , at a few bytes per key and no object per key .
+ *
+ * Changes go to a small delta segment rebuilt on every change , the ids they replace in the
+ * base segment are shadowed . {@link #compact} folds the delta into a new base , it is the only
+ * O(n) operation and runs off the request path (see {@link EmployeeNameCache}) .
+ */
+public final class EmployeeNameIndex {
+
+
+    /**
+     * Name and employeeID of one employee . In {@link #withChanges} a null field keeps the current value.
+     */
+    public record Entry(long id, String fullName, Long employeeID) {}
+
+
+    private static final EmployeeNameIndex EMPTY = new EmployeeNameIndex(Segment.EMPTY, Segment.EMPTY, new long[0]);
+
+    // best key first , then by id , the order of a scan
+    private static final Comparator<Candidate> RANKING = Comparator.comparing(Candidate::key)
+        .thenComparingLong(Candidate::id);
+
+
+    private final Segment base;
+    private final Segment delta;
+    private final long[] shadowed;      // sorted ids of base employees changed or removed since base was built
+
+
+
+    public static EmployeeNameIndex empty() {
+        return EMPTY;
+    }
+
+
+
+    /**
+     * @param entries complete entries (name and employeeID) with distinct ids.
+     */
+    public static EmployeeNameIndex of(Collection<Entry> entries) {
+        return new EmployeeNameIndex(Segment.of(entries), Segment.EMPTY, new long[0]);
+    }
+
+
+
+    private EmployeeNameIndex(Segment base, Segment delta, long[] shadowed) {
+        this.base = base ;
+        this.delta = delta ;
+        this.shadowed = shadowed ;
+    }
+
+
+
+    /**
+     * The employees having a key that starts with every word of the text , best match first :
+     * alphabetically first (so shortest) key matching the most selective word , then id.
+     *
+     * @param accept only the ids it accepts are returned.
+     */
+    public List<EmployeeSuggestion> suggest(String text, int limit, LongPredicate accept) {
+
+        String[] prefixes = words(text);
+
+        if (prefixes.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        // the scan walks the keys of the most selective word , the others are checked per candidate
+        int anchor = 0;
+
+        for (int i = 1; i < prefixes.length; i++) {
+            if (base.rangeSize(prefixes[i]) < base.rangeSize(prefixes[anchor])) {
+                anchor = i;
+            }
+        }
+
+        List<Candidate> candidates = new ArrayList<>(2 * limit);
+
+        base.collect(prefixes, anchor, limit, id -> !isShadowed(id) && accept.test(id), candidates);
+        delta.collect(prefixes, anchor, limit, accept, candidates);
+
+        candidates.sort(RANKING);
+
+        return candidates.stream()
+            .limit(limit)
+            .map(candidate -> new EmployeeSuggestion(candidate.id(), candidate.fullName(), candidate.employeeID()))
+            .toList();
+    }
+
+
+
+    public int size() {
+        return base.size() - shadowed.length + delta.size();
+    }
+
+
+
+    /**
+     * Employees held outside the base segment , the work a {@link #compact} saves to every lookup.
+     */
+    public int pendingChanges() {
+        return delta.size() + shadowed.length;
+    }
+
+
+
+    /**
+     * @param changed entries to add or update , an entry of an unknown employee needs both fields.
+     * @param removed ids to drop , unknown ids are ignored.
+     */
+    public EmployeeNameIndex withChanges(Collection<Entry> changed, Collection<Long> removed) {
+
+        Map<Long, Entry> deltaEntries = new LinkedHashMap<>();
+
+        for (int slot = 0; slot < delta.size(); slot++) {
+            deltaEntries.put(delta.ids[slot], delta.entry(slot));
+        }
+
+        Set<Long> newlyShadowed = new HashSet<>();
+
+        for (Long id : removed) {
+
+            deltaEntries.remove(id);
+
+            if (base.slotOf(id) >= 0) {
+                newlyShadowed.add(id);
+            }
+        }
+
+        for (Entry change : changed) {
+
+            Entry current = deltaEntries.get(change.id());
+
+            int baseSlot = base.slotOf(change.id());
+
+            if (current == null && baseSlot >= 0 && !isShadowed(change.id()) && !newlyShadowed.contains(change.id())) {
+                current = base.entry(baseSlot);
+            }
+
+            String fullName = change.fullName() != null ? change.fullName() : current == null ? null : current.fullName();
+            Long employeeID = change.employeeID() != null ? change.employeeID() : current == null ? null : current.employeeID();
+
+            if (fullName == null || employeeID == null) {
+                continue;
+            }
+
+            deltaEntries.put(change.id(), new Entry(change.id(), fullName, employeeID));
+
+            if (baseSlot >= 0) {
+                newlyShadowed.add(change.id());
+            }
+        }
+
+        return new EmployeeNameIndex(base, Segment.of(deltaEntries.values()), merge(shadowed, newlyShadowed));
+    }
+
+
+
+    /**
+     * @return the same employees in a single base segment.
+     */
+    public EmployeeNameIndex compact() {
+
+        if (pendingChanges() == 0) {
+            return this;
+        }
+
+        List<Entry> entries = new ArrayList<>(size());
+
+        for (int slot = 0; slot < base.size(); slot++) {
+            if (!isShadowed(base.ids[slot])) {
+                entries.add(base.entry(slot));
+            }
+        }
+
+        for (int slot = 0; slot < delta.size(); slot++) {
+            entries.add(delta.entry(slot));
+        }
+
+        return of(entries);
+    }
+
+
+
+    /**
+     * Lower case words of the text , accents and punctuation removed (e.g. "Élodie O'Brien" -> [elodie , o , brien]).
+     */
+    static String[] words(String text) {
+
+        if (text == null) {
+            return new String[0];
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+
+        StringBuilder normalised = new StringBuilder(decomposed.length());
+
+        for (int i = 0; i < decomposed.length(); i++) {
+
+            char c = decomposed.charAt(i);
+
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+
+            normalised.append(Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ' ');
+        }
+
+        return Arrays.stream(normalised.toString().split(" "))
+            .filter(word -> !word.isEmpty())
+            .distinct()
+            .toArray(String[]::new);
+    }
+
+
+
+    private boolean isShadowed(long id) {
+        return Arrays.binarySearch(shadowed, id) >= 0;
+    }
+
+
+
+    private static long[] merge(long[] sorted, Set<Long> added) {
+
+        if (added.isEmpty()) {
+            return sorted;
+        }
+
+        long[] merged = Arrays.copyOf(sorted, sorted.length + added.size());
+
+        int size = sorted.length;
+
+        for (Long id : added) {
+            if (Arrays.binarySearch(sorted, id) < 0) {
+                merged[size++] = id;
+            }
+        }
+
+        merged = Arrays.copyOf(merged, size);
+        Arrays.sort(merged);
+
+        return merged;
+    }
+
+
+
+    private record Candidate(String key, long id, String fullName, long employeeID) {}
+
+
+
+    /**
+     * Employees sorted by id (slot order) , and their keys sorted as strings.
+     */
+    private static final class Segment {
+
+
+        private static final Segment EMPTY = of(List.of());
+
+
+        private final long[] ids;           // slot -> employee id , ascending
+        private final String[] fullNames;   // slot -> full name as stored
+        private final long[] employeeIDs;   // slot -> employeeID
+
+        private final char[] keyChars;      // every key , in key order
+        private final int[] keyOffsets;     // key -> start in keyChars , plus the end of the last key
+        private final int[] keySlots;       // key -> slot of its employee
+
+
+
+        private record Key(String text, int slot) {}
+
+
+
+        private static Segment of(Collection<Entry> entries) {
+
+            Entry[] sorted = entries.toArray(Entry[]::new);
+            Arrays.sort(sorted, Comparator.comparingLong(Entry::id));
+
+            long[] ids = new long[sorted.length];
+            String[] fullNames = new String[sorted.length];
+            long[] employeeIDs = new long[sorted.length];
+
+            List<Key> keys = new ArrayList<>(3 * sorted.length);
+
+            for (int slot = 0; slot < sorted.length; slot++) {
+
+                ids[slot] = sorted[slot].id();
+                fullNames[slot] = sorted[slot].fullName();
+                employeeIDs[slot] = sorted[slot].employeeID();
+
+                for (String word : words(fullNames[slot])) {
+                    keys.add(new Key(word, slot));
+                }
+
+                keys.add(new Key(Long.toString(employeeIDs[slot]), slot));
+            }
+
+            keys.sort(Comparator.comparing(Key::text).thenComparingInt(Key::slot));
+
+            int[] keyOffsets = new int[keys.size() + 1];
+            int[] keySlots = new int[keys.size()];
+
+            for (int key = 0; key < keys.size(); key++) {
+                keyOffsets[key + 1] = keyOffsets[key] + keys.get(key).text().length();
+                keySlots[key] = keys.get(key).slot();
+            }
+
+            char[] keyChars = new char[keyOffsets[keys.size()]];
+
+            for (int key = 0; key < keys.size(); key++) {
+                keys.get(key).text().getChars(0, keys.get(key).text().length(), keyChars, keyOffsets[key]);
+            }
+
+            return new Segment(ids, fullNames, employeeIDs, keyChars, keyOffsets, keySlots);
+        }
+
+
+
+        private Segment(long[] ids, String[] fullNames, long[] employeeIDs, char[] keyChars, int[] keyOffsets, int[] keySlots) {
+            this.ids = ids ;
+            this.fullNames = fullNames ;
+            this.employeeIDs = employeeIDs ;
+            this.keyChars = keyChars ;
+            this.keyOffsets = keyOffsets ;
+            this.keySlots = keySlots ;
+        }
+
+
+
+        private int size() {
+            return ids.length;
+        }
+
+
+
+        private int slotOf(long id) {
+            return Arrays.binarySearch(ids, id);
+        }
+
+
+
+        private Entry entry(int slot) {
+            return new Entry(ids[slot], fullNames[slot], employeeIDs[slot]);
+        }
+
+
+
+        private int rangeSize(String prefix) {
+            return upperBound(prefix) - lowerBound(prefix);
+        }
+
+
+
+        /**
+         * Adds up to limit accepted employees matching every prefix , in the order of the keys
+         * starting with the anchor prefix.
+         */
+        private void collect(String[] prefixes, int anchor, int limit, LongPredicate accept, List<Candidate> out) {
+
+            int from = lowerBound(prefixes[anchor]);
+            int to = upperBound(prefixes[anchor]);
+
+            Set<Integer> seen = new HashSet<>();
+
+            int found = 0;
+
+            for (int key = from; key < to && found < limit; key++) {
+
+                int slot = keySlots[key];
+
+                if (!seen.add(slot) || !accept.test(ids[slot]) || !matchesAll(slot, prefixes, anchor)) {
+                    continue;
+                }
+
+                out.add(new Candidate(key(key), ids[slot], fullNames[slot], employeeIDs[slot]));
+                found++;
+            }
+        }
+
+
+
+        private boolean matchesAll(int slot, String[] prefixes, int anchor) {
+
+            if (prefixes.length == 1) {
+                return true;
+            }
+
+            String[] words = words(fullNames[slot]);
+            String employeeID = Long.toString(employeeIDs[slot]);
+
+            for (int i = 0; i < prefixes.length; i++) {
+
+                if (i == anchor || employeeID.startsWith(prefixes[i])) {
+                    continue;
+                }
+
+                String prefix = prefixes[i];
+
+                if (Arrays.stream(words).noneMatch(word -> word.startsWith(prefix))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+
+
+        private String key(int key) {
+            return new String(keyChars, keyOffsets[key], keyOffsets[key + 1] - keyOffsets[key]);
+        }
+
+
+
+        /**
+         * @return the first key not before the prefix.
+         */
+        private int lowerBound(String prefix) {
+
+            int low = 0;
+            int high = keySlots.length;
+
+            while (low < high) {
+
+                int middle = (low + high) >>> 1;
+
+                if (compare(middle, prefix) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+
+
+        /**
+         * @return the first key after every key starting with the prefix.
+         */
+        private int upperBound(String prefix) {
+
+            int low = 0;
+            int high = keySlots.length;
+
+            while (low < high) {
+
+                int middle = (low + high) >>> 1;
+
+                if (compare(middle, prefix) < 0 || startsWith(middle, prefix)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+
+
+        private int compare(int key, String text) {
+
+            int start = keyOffsets[key];
+            int length = keyOffsets[key + 1] - start;
+
+            for (int i = 0; i < Math.min(length, text.length()); i++) {
+
+                char c = keyChars[start + i];
+
+                if (c != text.charAt(i)) {
+                    return c - text.charAt(i);
+                }
+            }
+
+            return length - text.length();
+        }
+
+
+
+        private boolean startsWith(int key, String prefix) {
+
+            int start = keyOffsets[key];
+
+            if (keyOffsets[key + 1] - start < prefix.length()) {
+                return false;
+            }
+
+            for (int i = 0; i < prefix.length(); i++) {
+                if (keyChars[start + i] != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package io.hahn_software.emrs.dao.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.hahn_software.emrs.dtos.EmployeeResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * In-process cache of {@link EmployeeResponse} by employee id , in front of
+ * {@code EmployeeRepo.findEmployees}.
+ *
+ * Size bounded with Caffeine's W-TinyLFU eviction . Entries are invalidated by
+ * EmployeeRepo on every write , a second time after the transaction completes so a
+ * concurrent read can not put back the pre-commit row .
+ *
+ * Every invalidation also moves a write epoch : a read captures it before going to the
+ * database and its rows are only cached if no invalidation happened meanwhile , so a row
+ * read before a commit is never cached after the commit's invalidation .
+ *
+ * Hit / miss / eviction counters are published as cache.* metrics with tag cache=employees .
+ */
+@Slf4j
+@Component
+public class EmployeeNearCache {
+
+
+    private final Cache<Long, EmployeeResponse> cache;
+
+    private final AtomicLong epoch = new AtomicLong();
+
+
+
+    @Autowired
+    EmployeeNearCache(
+        MeterRegistry meterRegistry ,
+        @Value("${emrs.cache.employees.max-size:10000}") long maxSize ,
+        @Value("${emrs.cache.employees.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employees");
+
+        log.info("Employee near cache ready , max size {} , ttl {}s ✅", maxSize, ttlSeconds);
+    }
+
+
+
+    /**
+     * @return the cached employees among the given ids , misses are simply absent
+     */
+    public Map<Long, EmployeeResponse> getAllPresent(Collection<Long> ids) {
+        return cache.getAllPresent(ids);
+    }
+
+
+
+    /**
+     * @return the write epoch , to capture before reading the rows given to {@link #putAll(List, long)}
+     */
+    public long epoch() {
+        return epoch.get();
+    }
+
+
+
+    /**
+     * Caches rows read after {@link #epoch()} returned readEpoch , nothing if an invalidation
+     * happened since . An invalidation racing with the puts moves the epoch first , the rows
+     * are then removed again either by it or by the check that follows them .
+     */
+    public void putAll(List<EmployeeResponse> employees, long readEpoch) {
+
+        if (epoch.get() != readEpoch) {
+            return;
+        }
+
+        for (EmployeeResponse employee : employees) {
+            cache.put(employee.getId(), employee);
+        }
+
+        if (epoch.get() != readEpoch) {
+            cache.invalidateAll(employees.stream().map(EmployeeResponse::getId).toList());
+        }
+    }
+
+
+
+    public void invalidate(Collection<Long> ids) {
+
+        epoch.incrementAndGet();
+        cache.invalidateAll(ids);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> affected = List.copyOf(ids);
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    epoch.incrementAndGet();
+                    cache.invalidateAll(affected);
+                }
+            });
+        }
+    }
+
+
+
+    /**
+     * For writes whose rows are not known one by one , invalidated a second time after the
+     * transaction completes like {@link #invalidate(Collection)} .
+     */
+    public void invalidateAll() {
+
+        epoch.incrementAndGet();
+        cache.invalidateAll();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    epoch.incrementAndGet();
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+}
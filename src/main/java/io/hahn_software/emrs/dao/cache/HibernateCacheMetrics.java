@@ -0,0 +1,96 @@
+package io.hahn_software.emrs.dao.cache;
+
+import java.util.function.ToDoubleFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.hahn_software.emrs.entities.Department;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+
+
+/***
+ * Publishes the second-level / query cache statistics kept by Hibernate
+ * (hibernate.generate_statistics , see DbConf) :
+ *
+ *   hibernate.cache.requests{region , result=hit|miss}
+ *   hibernate.cache.puts{region}
+ *   hibernate.query.plan.cache{result=hit|miss}
+ *
+ * A query plan miss means Hibernate had to parse / translate a statement it did not know ,
+ * IN lists of varying length used to miss on every new length (see BatchUtiles).
+ */
+@Component
+public class HibernateCacheMetrics implements MeterBinder {
+
+
+    private final Statistics statistics;
+
+
+
+    @Autowired
+    HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+
+        bindRegion(registry, Department.CACHE_REGION, false);
+        bindRegion(registry, Department.QUERY_CACHE_REGION, true);
+
+        FunctionCounter.builder("hibernate.query.plan.cache", statistics, Statistics::getQueryPlanCacheHitCount)
+            .tags("result", "hit")
+            .register(registry);
+
+        FunctionCounter.builder("hibernate.query.plan.cache", statistics, Statistics::getQueryPlanCacheMissCount)
+            .tags("result", "miss")
+            .register(registry);
+    }
+
+
+
+    private void bindRegion(MeterRegistry registry, String region, boolean queryRegion) {
+
+        ToDoubleFunction<Statistics> hits = stats -> count(stats, region, queryRegion, CacheRegionStatistics::getHitCount);
+        ToDoubleFunction<Statistics> misses = stats -> count(stats, region, queryRegion, CacheRegionStatistics::getMissCount);
+        ToDoubleFunction<Statistics> puts = stats -> count(stats, region, queryRegion, CacheRegionStatistics::getPutCount);
+
+        FunctionCounter.builder("hibernate.cache.requests", statistics, hits)
+            .tags("region", region, "result", "hit")
+            .register(registry);
+
+        FunctionCounter.builder("hibernate.cache.requests", statistics, misses)
+            .tags("region", region, "result", "miss")
+            .register(registry);
+
+        FunctionCounter.builder("hibernate.cache.puts", statistics, puts)
+            .tags("region", region)
+            .register(registry);
+    }
+
+
+
+    private static double count(
+        Statistics stats ,
+        String region ,
+        boolean queryRegion ,
+        ToDoubleFunction<CacheRegionStatistics> counter
+    ) {
+        // regions are created lazily , there is nothing to report before their first use
+        CacheRegionStatistics regionStatistics = queryRegion
+            ? stats.getQueryRegionStatistics(region)
+            : stats.getDomainDataRegionStatistics(region);
+
+        return regionStatistics == null ? 0 : counter.applyAsDouble(regionStatistics);
+    }
+}
@@ -0,0 +1,279 @@
+package io.hahn_software.emrs.dao.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.hahn_software.emrs.dao.cache.OrgChartIndex.ReportingLine;
+import io.hahn_software.emrs.entities.Employee;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Holds the {@link OrgChartIndex} used to authorize managers .
+ *
+ * Loaded once from the database on first use , then kept in sync by the repositories : every
+ * write that changes a reporting line or an account hands the change over , and it is applied
+ * to the index after the transaction commits (a rollback leaves the index untouched) .
+ * A change only copies the overlay of the index ({@link OrgChartIndex#withChanges}) , once it
+ * holds more than emrs.orgchart.compact-threshold changes it is folded into a new index on a
+ * background thread , the changes committed meanwhile are replayed on the result .
+ * Writes whose changes are not known row by row (bulk update / delete by filter) drop the
+ * index , the next read loads it again .
+ *
+ * The number of indexed employees is published as emrs.orgchart.size .
+ */
+@Slf4j
+@Component
+public class OrgChartCache {
+
+
+    private static final String SELECT_REPORTING_LINES =
+        "SELECT e.id, m.id, e.userId FROM Employee e LEFT JOIN e.manager m " +
+        "WHERE e.manager IS NOT NULL OR e.userId IS NOT NULL" ;
+
+
+    /**
+     * Changes in the overlay of the index above which it is compacted.
+     */
+    @Value("${emrs.orgchart.compact-threshold:1000}")
+    private int compactThreshold = 1000;
+
+
+    private final TransactionTemplate loadTransaction;
+    private final ExecutorService compactor;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private volatile OrgChartIndex index;
+
+    // guarded by this
+    private boolean compactionStale;
+    private List<UnaryOperator<OrgChartIndex>> committedDuringCompaction;
+
+
+
+    @Autowired
+    OrgChartCache(
+        PlatformTransactionManager transactionManager ,
+        MeterRegistry meterRegistry
+    ) {
+        // committed rows only , whatever the transaction of the caller has pending
+        this.loadTransaction = new TransactionTemplate(transactionManager) ;
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW) ;
+        this.loadTransaction.setReadOnly(true) ;
+
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "org-chart-index");
+            thread.setDaemon(true);
+            return thread;
+        }) ;
+
+        Gauge.builder("emrs.orgchart.size", this, cache -> {
+                OrgChartIndex current = cache.index;
+                return current == null ? 0 : current.size();
+            })
+            .register(meterRegistry) ;
+    }
+
+
+
+    @PreDestroy
+    void shutdown() {
+        compactor.shutdownNow();
+    }
+
+
+
+    public OrgChartIndex index() {
+
+        OrgChartIndex current = index;
+
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+
+            if (index == null) {
+                index = load();
+            }
+
+            return index;
+        }
+    }
+
+
+
+    /**
+     * The reporting lines of the written employees , employees without manager and account are left out.
+     */
+    public static List<ReportingLine> reportingLines(Collection<Employee> employees) {
+
+        List<ReportingLine> lines = new ArrayList<>();
+
+        for (Employee employee : employees) {
+
+            Long managerId = employee.getManager() == null ? null : employee.getManager().getId();
+
+            if (employee.getId() != null && (managerId != null || employee.getUserId() != null)) {
+                lines.add(new ReportingLine(employee.getId(), managerId, employee.getUserId()));
+            }
+        }
+
+        return lines;
+    }
+
+
+
+    public void put(Collection<ReportingLine> lines) {
+
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        List<ReportingLine> changed = List.copyOf(lines);
+
+        afterCommit(current -> current.withChanges(changed, List.of()));
+    }
+
+
+
+    public void remove(Collection<Long> employeeIds) {
+
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> removed = List.copyOf(employeeIds);
+
+        afterCommit(current -> current.withChanges(List.of(), removed));
+    }
+
+
+
+    public void invalidate() {
+        afterCommit(current -> null);
+    }
+
+
+
+    private void afterCommit(UnaryOperator<OrgChartIndex> change) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+
+
+    /**
+     * Changes are idempotent , applying one to an index loaded after the commit is harmless.
+     */
+    private synchronized void apply(UnaryOperator<OrgChartIndex> change) {
+
+        if (index != null) {
+            index = change.apply(index);
+        }
+
+        if (committedDuringCompaction != null) {
+            // a dropped index is loaded again , the compacted one would be older
+            compactionStale |= index == null;
+            committedDuringCompaction.add(change);
+        } else if (index != null && index.pendingChanges() > compactThreshold) {
+            OrgChartIndex current = index;
+            committedDuringCompaction = new ArrayList<>();
+            compactor.execute(() -> compact(current));
+        }
+    }
+
+
+
+    private void compact(OrgChartIndex current) {
+
+        long start = System.nanoTime();
+
+        OrgChartIndex compacted = null;
+
+        try {
+            compacted = current.compact();
+        } catch (RuntimeException e) {
+            log.error("Could not compact the org chart index , the current one keeps serving ❌", e);
+        }
+
+        synchronized (this) {
+
+            if (compacted != null && !compactionStale && index != null) {
+
+                for (UnaryOperator<OrgChartIndex> change : committedDuringCompaction) {
+                    compacted = change.apply(compacted);
+                }
+
+                index = compacted;
+
+                log.debug("Org chart of {} employees compacted in {} ms 🔖", compacted.size(), (System.nanoTime() - start) / 1_000_000);
+            }
+
+            committedDuringCompaction = null;
+            compactionStale = false;
+        }
+    }
+
+
+
+    private OrgChartIndex load() {
+
+        long start = System.nanoTime();
+
+        OrgChartIndex loaded = loadTransaction.execute(status -> {
+
+            List<Object[]> rows = em.createQuery(SELECT_REPORTING_LINES, Object[].class).getResultList();
+
+            long[] employeeIds = new long[rows.size()];
+            long[] managerIds = new long[rows.size()];
+            String[] userIds = new String[rows.size()];
+
+            for (int i = 0; i < rows.size(); i++) {
+
+                Object[] row = rows.get(i);
+
+                employeeIds[i] = (Long) row[0];
+                managerIds[i] = row[1] == null ? OrgChartIndex.NO_MANAGER : (Long) row[1];
+                userIds[i] = (String) row[2];
+            }
+
+            return OrgChartIndex.of(employeeIds, managerIds, userIds);
+        });
+
+        log.info("Org chart of {} employees loaded in {} ms 🔖", loaded.size(), (System.nanoTime() - start) / 1_000_000);
+
+        return loaded;
+    }
+}
@@ -0,0 +1,669 @@
+package io.hahn_software.emrs.dao.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+
+
+/***
+ * Immutable , array based index of the reporting tree .
+ *
+ * Every employee that has a manager or an account is a node , numbered 0..n-1 . A pre-order walk
+ * from the roots gives each node the interval [enter , exit) of the ranks of its subtree , so
+ * "m manages e , directly or not" is two int comparisons : enter[m] < enter[e] < exit[m] .
+ * The reports of m are the slice preorder[enter[m] + 1 , exit[m]) .
+ *
+ * Nodes caught in a reporting cycle are not reachable from a root , they get no interval and
+ * nobody manages them . A manager that is not a node itself (no manager , no account) is added
+ * as a root .
+ *
+ * Changes produce a new index ({@link #withChanges}) sharing the arrays above , the changed
+ * reporting lines , accounts and removed employees are held in a small overlay copied on every
+ * change . While the overlay is not empty , "m manages e" walks up the managers of e (O(depth))
+ * instead of comparing intervals . {@link #compact} folds the overlay into new arrays , an O(n)
+ * copy and walk meant to run in the background . Readers never lock and never see a half
+ * applied change .
+ */
+public final class OrgChartIndex {
+
+
+    /**
+     * Manager id of the roots.
+     */
+    public static final long NO_MANAGER = 0L;
+
+
+    /**
+     * Reporting line of one employee . In {@link #withChanges} a null managerId / userId keeps the
+     * current value , {@link #NO_MANAGER} removes the manager.
+     */
+    public record ReportingLine(long employeeId, Long managerId, String userId) {}
+
+
+    private static final OrgChartIndex EMPTY = new OrgChartIndex(new long[0], new long[0], new String[0]);
+
+
+    private final long[] employeeIds;   // node -> employee id
+    private final long[] managerIds;    // node -> employee id of the manager , NO_MANAGER for roots
+    private final String[] userIds;     // node -> account , may be null
+    private final LongIntMap nodes;     // employee id -> node
+    private final Map<String, Long> employeeOfUser;
+
+    private final int[] enter;          // node -> pre-order rank , -1 when not reachable from a root
+    private final int[] exit;           // node -> rank following the last node of its subtree
+    private final long[] preorder;      // rank -> employee id
+
+    // overlay of the changes since the arrays were built
+    private final Map<Long, Long> managerChanges;       // employee id -> manager id , NO_MANAGER for none
+    private final Map<Long, String> userChanges;        // employee id -> account , null for none
+    private final Map<String, Long> employeeOfUserChanges;  // account -> employee id , null for none
+    private final Set<Long> removedIds;
+    private final int size;
+
+
+
+    public static OrgChartIndex empty() {
+        return EMPTY;
+    }
+
+
+
+    /**
+     * @param employeeIds distinct ids , the three arrays are owned by the index from now on.
+     */
+    public static OrgChartIndex of(long[] employeeIds, long[] managerIds, String[] userIds) {
+
+        if (employeeIds.length != managerIds.length || employeeIds.length != userIds.length) {
+            throw new IllegalArgumentException("Every employee needs a manager id and a user id slot");
+        }
+
+        return new OrgChartIndex(employeeIds, managerIds, userIds);
+    }
+
+
+
+    private OrgChartIndex(long[] ids, long[] managers, String[] users) {
+
+        LongIntMap index = new LongIntMap(ids.length);
+
+        for (int node = 0; node < ids.length; node++) {
+            index.put(ids[node], node);
+        }
+
+        // managers that are not nodes yet become roots
+        int count = ids.length;
+        int size = count;
+
+        for (int node = 0; node < count; node++) {
+
+            long manager = managers[node];
+
+            if (manager == NO_MANAGER || index.get(manager) >= 0) {
+                continue;
+            }
+
+            if (size == ids.length) {
+                int capacity = Math.max(16, size * 2);
+                ids = Arrays.copyOf(ids, capacity);
+                managers = Arrays.copyOf(managers, capacity);
+                users = Arrays.copyOf(users, capacity);
+            }
+
+            ids[size] = manager;
+            managers[size] = NO_MANAGER;
+            index.put(manager, size++);
+        }
+
+        this.managerChanges = Collections.emptyMap();
+        this.userChanges = Collections.emptyMap();
+        this.employeeOfUserChanges = Collections.emptyMap();
+        this.removedIds = Collections.emptySet();
+        this.size = size;
+
+        this.employeeIds = size == ids.length ? ids : Arrays.copyOf(ids, size);
+        this.managerIds = size == managers.length ? managers : Arrays.copyOf(managers, size);
+        this.userIds = size == users.length ? users : Arrays.copyOf(users, size);
+        this.nodes = index;
+
+        this.employeeOfUser = new HashMap<>();
+
+        for (int node = 0; node < size; node++) {
+            if (userIds[node] != null) {
+                employeeOfUser.put(userIds[node], employeeIds[node]);
+            }
+        }
+
+        // children of every node , compressed in one array : children[firstChild[p] , firstChild[p + 1])
+        int[] parent = new int[size];
+        int[] firstChild = new int[size + 1];
+
+        for (int node = 0; node < size; node++) {
+
+            parent[node] = managerIds[node] == NO_MANAGER ? -1 : index.get(managerIds[node]);
+
+            if (parent[node] >= 0) {
+                firstChild[parent[node] + 1]++;
+            }
+        }
+
+        for (int node = 0; node < size; node++) {
+            firstChild[node + 1] += firstChild[node];
+        }
+
+        int[] children = new int[firstChild[size]];
+        int[] next = Arrays.copyOf(firstChild, size);
+
+        for (int node = 0; node < size; node++) {
+            if (parent[node] >= 0) {
+                children[next[parent[node]]++] = node;
+            }
+        }
+
+        // iterative pre-order walk , next[] is reused as the child cursor of every node
+        this.enter = new int[size];
+        this.exit = new int[size];
+        this.preorder = new long[size];
+
+        Arrays.fill(enter, -1);
+
+        int[] stack = new int[size];
+        int rank = 0;
+
+        for (int root = 0; root < size; root++) {
+
+            if (parent[root] >= 0) {
+                continue;
+            }
+
+            int top = 0;
+            stack[0] = root;
+            enter[root] = rank;
+            preorder[rank++] = employeeIds[root];
+            next[root] = firstChild[root];
+
+            while (top >= 0) {
+
+                int node = stack[top];
+
+                if (next[node] < firstChild[node + 1]) {
+
+                    int child = children[next[node]++];
+
+                    enter[child] = rank;
+                    preorder[rank++] = employeeIds[child];
+                    next[child] = firstChild[child];
+                    stack[++top] = child;
+
+                } else {
+                    exit[node] = rank;
+                    top--;
+                }
+            }
+        }
+    }
+
+
+
+    private OrgChartIndex(
+        OrgChartIndex base ,
+        Map<Long, Long> managerChanges ,
+        Map<Long, String> userChanges ,
+        Map<String, Long> employeeOfUserChanges ,
+        Set<Long> removedIds ,
+        int size
+    ) {
+        this.employeeIds = base.employeeIds ;
+        this.managerIds = base.managerIds ;
+        this.userIds = base.userIds ;
+        this.nodes = base.nodes ;
+        this.employeeOfUser = base.employeeOfUser ;
+        this.enter = base.enter ;
+        this.exit = base.exit ;
+        this.preorder = base.preorder ;
+
+        this.managerChanges = managerChanges ;
+        this.userChanges = userChanges ;
+        this.employeeOfUserChanges = employeeOfUserChanges ;
+        this.removedIds = removedIds ;
+        this.size = size ;
+    }
+
+
+
+    /**
+     * @return true when the employee reports to the manager , directly or not.
+     */
+    public boolean isManagerOf(long managerId, long employeeId) {
+
+        if (pendingChanges() > 0) {
+            return isManagerOfChanged(managerId, employeeId);
+        }
+
+        int manager = nodes.get(managerId);
+
+        if (manager < 0 || enter[manager] < 0) {
+            return false;
+        }
+
+        return isInSubtree(manager, employeeId);
+    }
+
+
+
+    /**
+     * @return true when every one of the employees reports to the manager , false for no employee.
+     */
+    public boolean isManagerOfAll(long managerId, Collection<Long> employeeIds) {
+
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return false;
+        }
+
+        for (Long employeeId : employeeIds) {
+            if (employeeId == null || !isManagerOf(managerId, employeeId)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+
+    /**
+     * @return the ids of the direct and indirect reports of the manager , ascending.
+     */
+    public long[] reportsOf(long managerId) {
+
+        if (pendingChanges() > 0) {
+            return reportsOfChanged(managerId);
+        }
+
+        int manager = nodes.get(managerId);
+
+        if (manager < 0 || enter[manager] < 0) {
+            return new long[0];
+        }
+
+        long[] reports = Arrays.copyOfRange(preorder, enter[manager] + 1, exit[manager]);
+        Arrays.sort(reports);
+
+        return reports;
+    }
+
+
+
+    /**
+     * @return the id of the employee of the account , null when no employee has it.
+     */
+    public Long employeeOfUser(String userId) {
+
+        if (userId == null) {
+            return null;
+        }
+
+        return employeeOfUserChanges.containsKey(userId)
+            ? employeeOfUserChanges.get(userId)
+            : employeeOfUser.get(userId);
+    }
+
+
+
+    public int size() {
+        return size;
+    }
+
+
+
+    /**
+     * Changes held in the overlay , the work a {@link #compact} saves to every lookup.
+     */
+    public int pendingChanges() {
+        return managerChanges.size() + userChanges.size() + removedIds.size();
+    }
+
+
+
+    /**
+     * O(size of the overlay) , the arrays are shared with this index.
+     *
+     * @param changed reporting lines to add or change.
+     * @param removed deleted employees , their reports lose their manager as ON DELETE SET NULL does.
+     * @return a new index , this one is left untouched.
+     */
+    public OrgChartIndex withChanges(Collection<ReportingLine> changed, Collection<Long> removed) {
+
+        Map<Long, Long> managers = new HashMap<>(managerChanges);
+        Map<Long, String> users = new HashMap<>(userChanges);
+        Map<String, Long> owners = new HashMap<>(employeeOfUserChanges);
+        Set<Long> gone = new HashSet<>(removedIds);
+
+        OrgChartIndex next = new OrgChartIndex(this, managers, users, owners, gone, size);
+        int count = size;
+
+        for (ReportingLine line : changed) {
+
+            long id = line.employeeId();
+
+            // employee ids are never reused , a late change of a deleted employee is dropped
+            if (gone.contains(id)) {
+                continue;
+            }
+
+            if (!next.isNode(id)) {
+                managers.put(id, NO_MANAGER);
+                count++;
+            }
+
+            if (line.managerId() != null && line.managerId() != next.managerOf(id)) {
+                managers.put(id, line.managerId());
+            }
+
+            String current = next.userOf(id);
+
+            if (line.userId() != null && !line.userId().equals(current)) {
+
+                // an account belongs to one employee only
+                Long previous = next.employeeOfUser(line.userId());
+
+                if (previous != null) {
+                    users.put(previous, null);
+                }
+
+                if (current != null) {
+                    owners.put(current, null);
+                }
+
+                users.put(id, line.userId());
+                owners.put(line.userId(), id);
+            }
+        }
+
+        for (Long id : removed) {
+
+            if (id == null || id == NO_MANAGER || !next.isNode(id)) {
+                continue;
+            }
+
+            String user = next.userOf(id);
+
+            if (user != null) {
+                owners.put(user, null);
+            }
+
+            managers.remove(id);
+            users.remove(id);
+            gone.add(id);
+            count--;
+        }
+
+        return new OrgChartIndex(this, managers, users, owners, gone, count);
+    }
+
+
+
+    /**
+     * @return an index without overlay , built from the arrays and the overlay of this one.
+     */
+    public OrgChartIndex compact() {
+
+        if (pendingChanges() == 0) {
+            return this;
+        }
+
+        long[] ids = new long[size];
+        long[] managers = new long[size];
+        String[] users = new String[size];
+
+        int count = 0;
+
+        for (long id : employeeIds) {
+            if (!removedIds.contains(id)) {
+                ids[count] = id;
+                managers[count] = managerOf(id);
+                users[count++] = userOf(id);
+            }
+        }
+
+        for (Long id : managerChanges.keySet()) {
+            if (nodes.get(id) < 0) {
+                ids[count] = id;
+                managers[count] = managerOf(id);
+                users[count++] = userOf(id);
+            }
+        }
+
+        return new OrgChartIndex(
+            count == size ? ids : Arrays.copyOf(ids, count),
+            count == size ? managers : Arrays.copyOf(managers, count),
+            count == size ? users : Arrays.copyOf(users, count)
+        );
+    }
+
+
+
+    private boolean isNode(long id) {
+        return !removedIds.contains(id) && (nodes.get(id) >= 0 || managerChanges.containsKey(id));
+    }
+
+
+
+    /**
+     * @return the current manager , NO_MANAGER for none or a removed one.
+     */
+    private long managerOf(long id) {
+
+        Long changed = managerChanges.get(id);
+
+        int node = changed == null ? nodes.get(id) : -1;
+        long manager = changed != null ? changed : node >= 0 ? managerIds[node] : NO_MANAGER;
+
+        return manager != NO_MANAGER && removedIds.contains(manager) ? NO_MANAGER : manager;
+    }
+
+
+
+    private String userOf(long id) {
+
+        if (userChanges.containsKey(id)) {
+            return userChanges.get(id);
+        }
+
+        int node = nodes.get(id);
+
+        return node >= 0 ? userIds[node] : null;
+    }
+
+
+
+    /**
+     * Walks up the managers of the employee , up to a root so an employee caught in a reporting
+     * cycle is managed by nobody , like in the arrays.
+     */
+    private boolean isManagerOfChanged(long managerId, long employeeId) {
+
+        if (!isNode(employeeId)) {
+            return false;
+        }
+
+        boolean found = false;
+        long current = employeeId;
+
+        for (int step = 0; step <= size; step++) {
+
+            current = managerOf(current);
+
+            if (current == NO_MANAGER) {
+                return found;
+            }
+
+            found |= current == managerId;
+        }
+
+        return false;
+    }
+
+
+
+    /**
+     * Reports read from the arrays , plus the subtrees hanging below a changed reporting line
+     * (removals only take reports away) , checked one by one.
+     */
+    private long[] reportsOfChanged(long managerId) {
+
+        long[] candidates = subtreeOf(managerId, 0);
+        int count = candidates.length;
+
+        for (Long id : managerChanges.keySet()) {
+            if (isManagerOfChanged(managerId, id)) {
+                long[] moved = subtreeOf(id, 1);
+                moved[0] = id;
+
+                candidates = Arrays.copyOf(candidates, count + moved.length);
+                System.arraycopy(moved, 0, candidates, count, moved.length);
+                count += moved.length;
+            }
+        }
+
+        long[] reports = new long[count];
+        int kept = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (isManagerOfChanged(managerId, candidates[i])) {
+                reports[kept++] = candidates[i];
+            }
+        }
+
+        reports = Arrays.copyOf(reports, kept);
+        Arrays.sort(reports);
+
+        return Arrays.stream(reports).distinct().toArray();
+    }
+
+
+
+    /**
+     * @return the reports of the employee in the arrays , after {@code offset} free leading slots.
+     */
+    private long[] subtreeOf(long employeeId, int offset) {
+
+        int node = nodes.get(employeeId);
+
+        if (node < 0 || enter[node] < 0) {
+            return new long[offset];
+        }
+
+        long[] subtree = new long[offset + exit[node] - enter[node] - 1];
+        System.arraycopy(preorder, enter[node] + 1, subtree, offset, subtree.length - offset);
+
+        return subtree;
+    }
+
+
+
+    private boolean isInSubtree(int manager, long employeeId) {
+
+        int employee = nodes.get(employeeId);
+
+        return employee >= 0
+            && enter[employee] > enter[manager]
+            && enter[employee] < exit[manager];
+    }
+
+
+
+    /**
+     * Open addressing long -> int map , no boxing . 0 is not a valid key (ids start at 1).
+     */
+    private static final class LongIntMap {
+
+        private long[] keys;
+        private int[] values;
+        private int mask;
+        private int size;
+
+
+        LongIntMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+        }
+
+
+        /**
+         * @return the value , -1 when the key is absent.
+         */
+        int get(long key) {
+
+            if (key == 0L) {
+                return -1;
+            }
+
+            for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+
+                if (keys[slot] == 0L) {
+                    return -1;
+                }
+            }
+        }
+
+
+        void put(long key, int value) {
+
+            if (key == 0L) {
+                throw new IllegalArgumentException("0 is not a valid employee id");
+            }
+
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+
+            int slot = slot(key);
+
+            while (keys[slot] != 0L && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (keys[slot] == 0L) {
+                size++;
+            }
+
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+
+        private int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+
+        private void grow() {
+
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            mask = keys.length - 1;
+            size = 0;
+
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != 0L) {
+                    put(oldKeys[slot], oldValues[slot]);
+                }
+            }
+        }
+    }
+}
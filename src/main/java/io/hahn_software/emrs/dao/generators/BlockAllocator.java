@@ -0,0 +1,85 @@
+package io.hahn_software.emrs.dao.generators;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+
+
+/***
+ * Hands out ids from a reserved block of {@code blockSize} consecutive values .
+ *
+ * Taking an id is a single atomic increment on the current block , so concurrent
+ * requests never lock each other ; only the thread that finds the block exhausted
+ * reserves the next one (once every blockSize ids) .
+ */
+public class BlockAllocator {
+
+
+    private static final class Block {
+
+        private final AtomicLong next ;
+        private final long hi ;
+
+        private Block(long lo, long hi) {
+            this.next = new AtomicLong(lo) ;
+            this.hi = hi ;
+        }
+    }
+
+
+    private final int blockSize ;
+
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(0, 0)) ;
+
+
+    public BlockAllocator(int blockSize) {
+
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+
+        this.blockSize = blockSize ;
+    }
+
+
+
+    /**
+     * @param reserveBlock returns the first value (lo) of a newly reserved block
+     */
+    public long next(LongSupplier reserveBlock) {
+
+        for (;;) {
+
+            Block block = current.get();
+
+            long id = block.next.getAndIncrement();
+
+            if (id < block.hi) {
+                return id;
+            }
+
+            refill(block, reserveBlock);
+        }
+    }
+
+
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+
+
+    private synchronized void refill(Block exhausted, LongSupplier reserveBlock) {
+
+        // another thread already installed a fresh block while we were waiting
+        if (current.get() != exhausted) {
+            return;
+        }
+
+        long lo = reserveBlock.getAsLong();
+
+        current.set(new Block(lo, lo + blockSize));
+    }
+}
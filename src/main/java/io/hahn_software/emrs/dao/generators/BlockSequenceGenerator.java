@@ -0,0 +1,160 @@
+package io.hahn_software.emrs.dao.generators;
+
+import java.lang.reflect.Member;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.model.relational.QualifiedNameParser;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerationException;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStructure;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import io.hahn_software.emrs.annotations.BlockSequence;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * pooled-lo id generator backed by {@link BlockAllocator} .
+ *
+ * One nextval reserves {@code blockSize} ids , handed out without locking to every
+ * session of the factory . The calls / ids ratio is published as
+ * {@code emrs.id.sequence.calls.per.row} .
+ */
+@Slf4j
+public class BlockSequenceGenerator implements IdentifierGenerator {
+
+
+    public static final String BLOCK_SIZE_PREFIX = "emrs.id.block-size." ;
+
+    private static final String INCREMENT_QUERY =
+        "SELECT increment_by FROM pg_sequences WHERE sequencename = ? AND schemaname = current_schema()" ;
+
+
+    private final String sequenceName ;
+
+    private final SequenceStructure sequence ;
+
+    private final BlockAllocator allocator ;
+
+    private final Counter sequenceCalls ;
+
+    private final Counter allocatedIds ;
+
+    private volatile boolean incrementVerified ;
+
+
+    public BlockSequenceGenerator(BlockSequence config, Member member, CustomIdGeneratorCreationContext context) {
+
+        this.sequenceName = config.sequenceName() ;
+
+        int blockSize = ConfigurationHelper.getInt(
+            BLOCK_SIZE_PREFIX + sequenceName,
+            context.getServiceRegistry().getService(ConfigurationService.class).getSettings(),
+            config.blockSize()
+        );
+
+        this.allocator = new BlockAllocator(blockSize) ;
+
+        this.sequence = new SequenceStructure(
+            context.getDatabase().getJdbcEnvironment(),
+            "orm",
+            new QualifiedNameParser.NameParts(null, null, Identifier.toIdentifier(sequenceName)),
+            1,
+            blockSize,
+            Long.class
+        );
+
+        // let the schema tooling know the sequence increments by a whole block
+        this.sequence.configure(new PooledLoOptimizer(Long.class, blockSize));
+
+        Tags tags = Tags.of("sequence", sequenceName);
+
+        this.sequenceCalls = Metrics.counter("emrs.id.sequence.calls", tags);
+        this.allocatedIds = Metrics.counter("emrs.id.allocated", tags);
+
+        Metrics.gauge("emrs.id.sequence.calls.per.row", tags, this, generator ->
+            generator.allocatedIds.count() == 0 ? 0 : generator.sequenceCalls.count() / generator.allocatedIds.count()
+        );
+
+        log.debug("Sequence {} allocates ids by blocks of {} 🔖", sequenceName, blockSize);
+    }
+
+
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+
+        long id = allocator.next(() -> reserveBlock(session));
+
+        allocatedIds.increment();
+
+        return id;
+    }
+
+
+
+    @Override
+    public void registerExportables(Database database) {
+        sequence.registerExportables(database);
+    }
+
+
+
+    @Override
+    public void initialize(SqlStringGenerationContext context) {
+        sequence.initialize(context);
+    }
+
+
+
+    private long reserveBlock(SharedSessionContractImplementor session) {
+
+        if (!incrementVerified) {
+            verifyIncrement(session);
+        }
+
+        sequenceCalls.increment();
+
+        return sequence.buildCallback(session).getNextValue().makeValue().longValue();
+    }
+
+
+
+    /**
+     * Handing out a block from a sequence that increments by less than the block
+     * would give the same ids twice , so refuse to start until the migration ran.
+     */
+    private void verifyIncrement(SharedSessionContractImplementor session) {
+
+        Long increment = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INCREMENT_QUERY)) {
+                statement.setString(1, sequenceName);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next() ? resultSet.getLong(1) : null;
+                }
+            }
+        });
+
+        if (increment != null && increment < allocator.getBlockSize()) {
+            throw new IdentifierGenerationException(
+                "Sequence " + sequenceName + " increments by " + increment + " but ids are reserved by blocks of "
+                + allocator.getBlockSize() + " , run db/migration/V1__align_id_sequences_with_block_size.sql"
+            );
+        }
+
+        incrementVerified = true;
+    }
+}
@@ -3,6 +3,7 @@ package io.hahn_software.emrs.dao.interfaces;
 import java.util.List;
 
 import io.hahn_software.emrs.entities.Department;
+import io.hahn_software.emrs.enums.CountStrategy;
 
 public interface DepartmentDaoInterface {
 
@@ -14,5 +15,13 @@ public interface DepartmentDaoInterface {
 
     List<Department> departmentsWithPagination(int page, int pageSize) ;
 
+    List<Department> departmentsWithPagination(int page, int pageSize, boolean lookAhead) ;
+
+    List<Department> departmentsAfter(Long lastId, int limit) ;
+
     Long count() ;
+
+    Long count(CountStrategy strategy) ;
+
+    void invalidateCount() ;
 }
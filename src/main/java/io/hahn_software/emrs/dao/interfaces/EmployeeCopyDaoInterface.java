@@ -0,0 +1,14 @@
+package io.hahn_software.emrs.dao.interfaces;
+
+import java.util.List;
+
+import io.hahn_software.emrs.dtos.UpsertResult;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.ConflictPolicy;
+
+public interface EmployeeCopyDaoInterface {
+
+    List<Employee> copyEmployees(List<Employee> employees) ;
+
+    List<UpsertResult.Row> upsertEmployees(List<Employee> employees, ConflictPolicy policy) ;
+}
@@ -1,8 +1,12 @@
 package io.hahn_software.emrs.dao.interfaces;
 
 import java.util.List;
+import java.util.function.Consumer;
 
+import io.hahn_software.emrs.dtos.EmployeeFilter;
+import io.hahn_software.emrs.dtos.EmployeeResponse;
 import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.CountStrategy;
 
 public interface EmployeeDaoInterface {
 
@@ -15,7 +19,35 @@ public interface EmployeeDaoInterface {
 
     List<Employee> employeesWithPagination(int page, int pageSize) ;
 
+    List<Employee> employeesWithPagination(int page, int pageSize, boolean lookAhead) ;
+
+    List<Employee> employeesAfter(Long lastId, int limit) ;
+
+    List<EmployeeResponse> findEmployeeResponses(List<Long> ids) ;
+
+    List<EmployeeResponse> employeeResponsesWithPagination(int page, int pageSize, boolean lookAhead) ;
+
+    List<EmployeeResponse> employeeResponsesAfter(Long lastId, int limit) ;
+
+    List<EmployeeResponse> reportResponsesWithPagination(long managerId, int page, int pageSize, boolean lookAhead) ;
+
+    List<EmployeeResponse> reportResponsesAfter(long managerId, Long lastId, int limit) ;
+
+    long countReports(long managerId) ;
+
+    long streamEmployeeResponses(int fetchSize, Consumer<EmployeeResponse> consumer) ;
+
     int updateClientsInBatch(List<Long> employeesIds, Employee Employee) ;
 
+    long countEmployeesMatching(EmployeeFilter filter) ;
+
+    int updateEmployeesMatching(EmployeeFilter filter, Employee employee) ;
+
+    int deleteEmployeesMatching(EmployeeFilter filter) ;
+
     Long count() ;
+
+    Long count(CountStrategy strategy) ;
+
+    void invalidateCount() ;
 }
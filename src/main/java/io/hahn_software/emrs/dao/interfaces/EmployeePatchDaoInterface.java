@@ -0,0 +1,11 @@
+package io.hahn_software.emrs.dao.interfaces;
+
+import java.util.List;
+import java.util.Set;
+
+import io.hahn_software.emrs.entities.Employee;
+
+public interface EmployeePatchDaoInterface {
+
+    Set<Long> patchEmployees(List<Employee> patches) ;
+}
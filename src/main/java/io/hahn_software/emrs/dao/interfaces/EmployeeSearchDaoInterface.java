@@ -0,0 +1,19 @@
+package io.hahn_software.emrs.dao.interfaces;
+
+import java.util.List;
+
+import io.hahn_software.emrs.dtos.EmployeeMatch;
+import io.hahn_software.emrs.dtos.EmployeeResponse;
+import io.hahn_software.emrs.dtos.EmployeeSearch;
+
+public interface EmployeeSearchDaoInterface {
+
+
+    List<EmployeeResponse> searchEmployees(EmployeeSearch search, int page, int pageSize, boolean lookAhead) ;
+
+    List<EmployeeResponse> searchEmployeesAfter(EmployeeSearch search, Object[] after, int limit) ;
+
+    long countEmployees(EmployeeSearch search) ;
+
+    List<EmployeeMatch> matchEmployees(String text, Long managerId, Float lastRank, Long lastId, int limit) ;
+}
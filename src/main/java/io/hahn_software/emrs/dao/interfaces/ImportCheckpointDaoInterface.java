@@ -0,0 +1,12 @@
+package io.hahn_software.emrs.dao.interfaces;
+
+import java.util.List;
+
+import io.hahn_software.emrs.entities.ImportCheckpoint;
+
+public interface ImportCheckpointDaoInterface {
+
+    List<ImportCheckpoint> findCheckpoints(String importId) ;
+
+    void saveCheckpoint(ImportCheckpoint checkpoint) ;
+}
@@ -0,0 +1,136 @@
+package io.hahn_software.emrs.dao.locks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Metrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Takes the row locks of a bulk write up front , in ascending id order :
+ *
+ *   SELECT id FROM <table> WHERE id = ANY(?) ORDER BY id FOR UPDATE
+ *
+ * Two bulk writes on overlapping ids then queue behind each other instead of each holding
+ * a row the other one waits for , which PostgreSQL resolves by aborting one of them .
+ *
+ * Writers that do not go through here can still deadlock with us , the lock statement runs
+ * inside a savepoint and is retried with a jittered exponential backoff on a deadlock
+ * (40P01) or a serialization failure (40001) , without losing the work the transaction
+ * already did . It runs over plain JDBC so a failed attempt does not mark the JPA
+ * transaction rollback only .
+ */
+@Data
+@Slf4j
+@Component
+public class OrderedRowLocker {
+
+
+    private static final Set<String> RETRYABLE_STATES = Set.of("40P01", "40001");
+
+
+    @Value("${emrs.locks.max-retries:5}")
+    private int maxRetries = 5;
+
+    @Value("${emrs.locks.backoff-ms:20}")
+    private long backoffMs = 20;
+
+
+    @PersistenceContext
+    private EntityManager em;
+
+
+
+    /**
+     * @param sortedIds ascending and distinct , see BatchUtiles.sortedDistinct
+     */
+    public void lock(String table, long[] sortedIds) {
+
+        if (sortedIds.length == 0) {
+            return;
+        }
+
+        em.unwrap(Session.class).doWork(connection -> lock(connection, table, sortedIds));
+    }
+
+
+
+    public void lock(Connection connection, String table, long[] sortedIds) throws SQLException {
+
+        String sql = "SELECT id FROM " + table + " WHERE id = ANY(?) ORDER BY id FOR UPDATE";
+
+        for (int attempt = 0; ; attempt++) {
+
+            Savepoint savepoint = connection.setSavepoint();
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+
+                // pgjdbc binds a long[] as is , no Long[] copy
+                statement.setArray(1, connection.unwrap(PGConnection.class).createArrayOf("bigint", sortedIds));
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        // locks are taken as the rows are read
+                    }
+                }
+
+                connection.releaseSavepoint(savepoint);
+                return;
+
+            } catch (SQLException e) {
+
+                connection.rollback(savepoint);
+
+                if (!RETRYABLE_STATES.contains(e.getSQLState()) || attempt >= maxRetries) {
+                    throw e;
+                }
+
+                Metrics.counter("emrs.locks.retries", "table", table, "state", e.getSQLState()).increment();
+
+                long delay = backoff(attempt);
+
+                log.warn("Locking {} rows of {} failed ({}) , retry {} in {} ms ⚠️",
+                    sortedIds.length, table, e.getSQLState(), attempt + 1, delay);
+
+                sleep(delay, e);
+            }
+        }
+    }
+
+
+
+    /**
+     * Full jitter : uniform in [0 , backoff * 2^attempt] , so the transactions that just
+     * collided do not retry in lock step.
+     */
+    private long backoff(int attempt) {
+        long ceiling = backoffMs << Math.min(attempt, 10);
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+
+
+    private static void sleep(long delay, SQLException cause) throws SQLException {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
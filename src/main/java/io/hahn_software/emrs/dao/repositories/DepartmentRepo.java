@@ -2,12 +2,23 @@ package io.hahn_software.emrs.dao.repositories;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import io.hahn_software.emrs.dao.cache.CountCache;
 import io.hahn_software.emrs.dao.interfaces.DepartmentDaoInterface;
 import io.hahn_software.emrs.entities.Department;
+import io.hahn_software.emrs.enums.CountStrategy;
+import io.hahn_software.emrs.utils.BatchUtiles;
+import io.hahn_software.emrs.utils.DBUtiles;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.Cache;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
@@ -24,6 +35,15 @@ public class DepartmentRepo implements DepartmentDaoInterface{
     @Value("${hibernate.jdbc.batch_size}")
     private  int batchSize = 10;
 
+    @Value("${emrs.pagination.count-cache-ttl-ms:30000}")
+    private long countCacheTtlMs = 30000;
+
+    // ids bound per IN :ids , see BatchUtiles
+    @Value("${emrs.query.in-list-chunk-size:1024}")
+    private int inListChunkSize = 1024;
+
+    private final CountCache countCache = new CountCache("department");
+
     
     @PersistenceContext
     private EntityManager em ;
@@ -48,6 +68,9 @@ public class DepartmentRepo implements DepartmentDaoInterface{
             }
         }
 
+        countCache.invalidate();
+        evictQueryCache();
+
         return departments ;
     }
 
@@ -60,9 +83,16 @@ public class DepartmentRepo implements DepartmentDaoInterface{
 
         String jpql = "DELETE FROM Department d WHERE d.id IN :ids" ;
 
-        return em.createQuery(jpql)
-                    .setParameter("ids", departmentsIds)
-                    .executeUpdate() ;
+        int deleted = BatchUtiles.sumInChunks(departmentsIds, inListChunkSize, chunk ->
+                em.createQuery(jpql)
+                    .setParameter("ids", chunk)
+                    .executeUpdate()
+        ) ;
+
+        countCache.invalidate();
+        evictFromSecondLevelCache(departmentsIds);
+
+        return deleted ;
 
     }
 
@@ -74,22 +104,54 @@ public class DepartmentRepo implements DepartmentDaoInterface{
             return Collections.emptyList();
         }
     
-        String jpql = "SELECT d FROM Department d WHERE d.id IN :ids";
-        
-        return em.createQuery(jpql, Department.class)
-                            .setParameter("ids", ids)
-                            .getResultList();
+        /*
+         * multi load checks the second-level cache first and selects only the missing ids ,
+         * on PostgreSQL they are bound as one array (id = any(?)) , so the statement is the
+         * same whatever the number of ids
+         */
+        return em.unwrap(Session.class)
+                    .byMultipleIds(Department.class)
+                    .withBatchSize(inListChunkSize)
+                    .multiLoad(ids)
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .toList();
     }
 
     @Override
     public List<Department> departmentsWithPagination(int page, int pageSize) {
+        return departmentsWithPagination(page, pageSize, false);
+    }
+
+    @Override
+    public List<Department> departmentsWithPagination(int page, int pageSize, boolean lookAhead) {
 
         String jpql = "SELECT d FROM Department d ORDER BY d.id";
 
-        TypedQuery<Department> query = em.createQuery(jpql, Department.class);
+        TypedQuery<Department> query = em.createQuery(jpql, Department.class)
+                                            .setHint(HibernateHints.HINT_CACHEABLE, true)
+                                            .setHint(HibernateHints.HINT_CACHE_REGION, Department.QUERY_CACHE_REGION);
 
         query.setFirstResult(page * pageSize);
-        query.setMaxResults(pageSize);
+        // one extra row tells if there is a next page when no total is computed
+        query.setMaxResults(lookAhead ? pageSize + 1 : pageSize);
+
+        return query.getResultList() ;
+    }
+
+    @Override
+    public List<Department> departmentsAfter(Long lastId, int limit) {
+
+        TypedQuery<Department> query;
+
+        if (lastId == null) {
+            query = em.createQuery("SELECT d FROM Department d ORDER BY d.id", Department.class);
+        } else {
+            query = em.createQuery("SELECT d FROM Department d WHERE d.id > :cursor ORDER BY d.id", Department.class)
+                        .setParameter("cursor", lastId);
+        }
+
+        query.setMaxResults(limit);
 
         return query.getResultList() ;
     }
@@ -99,8 +161,62 @@ public class DepartmentRepo implements DepartmentDaoInterface{
 
         String jpql = "SELECT COUNT(d) FROM Department d";
 
-        TypedQuery<Long> query = em.createQuery(jpql, Long.class);
+        TypedQuery<Long> query = em.createQuery(jpql, Long.class)
+                                    .setHint(HibernateHints.HINT_CACHEABLE, true)
+                                    .setHint(HibernateHints.HINT_CACHE_REGION, Department.QUERY_CACHE_REGION);
         
         return query.getSingleResult() ;
     }
+
+    @Override
+    public Long count(CountStrategy strategy) {
+
+        Timer timer = Metrics.timer("emrs.pagination.count", "entity", "department", "strategy", strategy.name());
+
+        return timer.record(() -> switch (strategy) {
+            case EXACT -> count();
+            case CACHED -> countCache.get(countCacheTtlMs, this::count);
+            case ESTIMATED -> estimateCount();
+            case NONE -> null;
+        });
+    }
+
+    @Override
+    public void invalidateCount() {
+        countCache.invalidate();
+    }
+
+    private Long estimateCount() {
+
+        long estimate = DBUtiles.estimateRowCount(em, "departments");
+
+        if (estimate < 0) {
+            log.debug("No statistics for departments yet , counting rows 🔖");
+            return count();
+        }
+
+        return estimate;
+    }
+
+
+    /***
+     * Hibernate already drops the query results through the table's update timestamp ,
+     * and the entity region after a bulk delete commits ; evicting right away keeps
+     * this transaction and concurrent readers from being served deleted rows .
+     */
+    private void evictFromSecondLevelCache(List<Long> departmentsIds) {
+
+        Cache cache = em.getEntityManagerFactory().getCache();
+
+        departmentsIds.forEach(id -> cache.evict(Department.class, id));
+
+        evictQueryCache();
+    }
+
+    private void evictQueryCache() {
+        em.getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getCache()
+            .evictQueryRegion(Department.QUERY_CACHE_REGION);
+    }
 }
@@ -0,0 +1,390 @@
+package io.hahn_software.emrs.dao.repositories;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import io.hahn_software.emrs.dao.cache.EmployeeNameCache;
+import io.hahn_software.emrs.dao.cache.EmployeeNameIndex;
+import io.hahn_software.emrs.dao.cache.OrgChartCache;
+import io.hahn_software.emrs.dao.cache.OrgChartIndex.ReportingLine;
+import io.hahn_software.emrs.dao.interfaces.EmployeeCopyDaoInterface;
+import io.hahn_software.emrs.dtos.UpsertResult;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.ConflictPolicy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Bulk ingest path for large employee imports .
+ *
+ * Ids come from the entity's block allocator , rows are streamed with a single text
+ * COPY into a transaction scoped staging table , then moved into employees with one
+ * INSERT ... SELECT , so the whole import costs a handful of round trips instead of
+ * one INSERT per row .
+ *
+ * Creates with an onConflict policy go through {@link #upsertEmployees} , a single
+ * INSERT ... ON CONFLICT (employeeID) ... RETURNING per chunk .
+ */
+@Data
+@Slf4j
+@Repository
+public class EmployeeCopyRepo implements EmployeeCopyDaoInterface {
+
+
+    private static final String CREATE_STAGING_TABLE =
+        "CREATE TEMP TABLE IF NOT EXISTS employees_staging (" +
+        "   ord bigint NOT NULL," +
+        "   id bigint NOT NULL," +
+        "   fullName varchar(255)," +
+        "   employeeID bigint," +
+        "   jobTitle varchar(255)," +
+        "   employmentStatus smallint," +
+        "   address varchar(255)," +
+        "   phone varchar(255)," +
+        "   email varchar(255)," +
+        "   department_id bigint," +
+        "   manager_id bigint," +
+        "   userId varchar(255)," +
+        "   createdAt timestamp(6) with time zone," +
+        "   updatedAt timestamp(6) with time zone" +
+        ") ON COMMIT DELETE ROWS" ;
+
+    private static final String COPY_INTO_STAGING =
+        "COPY employees_staging (ord, id, fullName, employeeID, jobTitle, employmentStatus, address, phone, email, department_id, manager_id, userId, createdAt, updatedAt) " +
+        "FROM STDIN WITH (FORMAT text)" ;
+
+    private static final String MOVE_FROM_STAGING =
+        "INSERT INTO employees (id, fullName, employeeID, jobTitle, employmentStatus, address, phone, email, department_id, manager_id, userId, createdAt, updatedAt) " +
+        "SELECT id, fullName, employeeID, jobTitle, employmentStatus, address, phone, email, department_id, manager_id, userId, createdAt, updatedAt " +
+        "FROM employees_staging ORDER BY ord" ;
+
+
+    private static final String UPSERT_COLUMNS =
+        "id, fullName, employeeID, jobTitle, employmentStatus, address, phone, email, department_id, manager_id, userId" ;
+
+    /**
+     * One statement per chunk : every column travels as one array parameter , unnest turns them
+     * back into rows , so the statement text (and its server side plan) never depends on the
+     * number of rows . xmax is 0 only for rows this statement inserted .
+     */
+    private static final String UPSERT =
+        "INSERT INTO employees AS e (" + UPSERT_COLUMNS + ", createdAt, updatedAt) " +
+        "SELECT " + UPSERT_COLUMNS + ", now(), now() " +
+        "FROM unnest(?::bigint[], ?::varchar[], ?::bigint[], ?::varchar[], ?::smallint[], ?::varchar[], ?::varchar[], ?::varchar[], ?::bigint[], ?::bigint[], ?::varchar[]) " +
+        "WITH ORDINALITY AS t(" + UPSERT_COLUMNS + ", ord) " +
+        "ORDER BY t.ord " ;
+
+    /**
+     * A manager or account left null keeps the current one , like a partial update does
+     * (the employee_reports triggers follow manager_id).
+     */
+    private static final String ON_CONFLICT_UPDATE =
+        "ON CONFLICT (employeeID) DO UPDATE SET " +
+        "fullName = EXCLUDED.fullName, jobTitle = EXCLUDED.jobTitle, employmentStatus = EXCLUDED.employmentStatus, " +
+        "address = EXCLUDED.address, phone = EXCLUDED.phone, email = EXCLUDED.email, department_id = EXCLUDED.department_id, " +
+        "manager_id = COALESCE(EXCLUDED.manager_id, e.manager_id), userId = COALESCE(EXCLUDED.userId, e.userId), " +
+        "updatedAt = EXCLUDED.updatedAt " +
+        // a re-sent row is a no-op : no new row version , no updatedAt bump
+        "WHERE (e.fullName, e.jobTitle, e.employmentStatus, e.address, e.phone, e.email, e.department_id, e.manager_id, e.userId) IS DISTINCT FROM " +
+        "(EXCLUDED.fullName, EXCLUDED.jobTitle, EXCLUDED.employmentStatus, EXCLUDED.address, EXCLUDED.phone, EXCLUDED.email, EXCLUDED.department_id, " +
+        "COALESCE(EXCLUDED.manager_id, e.manager_id), COALESCE(EXCLUDED.userId, e.userId)) " ;
+
+    private static final String ON_CONFLICT_SKIP =
+        "ON CONFLICT (employeeID) DO NOTHING " ;
+
+    private static final String RETURNING =
+        "RETURNING e.id, e.employeeID, (e.xmax = 0) AS inserted" ;
+
+
+    @Value("${emrs.ingest.upsert.chunk-size:1000}")
+    private int upsertChunkSize = 1000;
+
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Autowired
+    private OrgChartCache orgChartCache;
+
+    @Autowired
+    private EmployeeNameCache employeeNameCache;
+
+
+    @Override
+    public List<Employee> copyEmployees(List<Employee> employees) {
+
+        if (employees == null || employees.isEmpty()) {
+            return employees;
+        }
+
+        SharedSessionContractImplementor session = em.unwrap(SharedSessionContractImplementor.class);
+
+        // pending persists must reach the database before the staging rows
+        session.flush();
+
+        // same block allocator as em.persist , so COPY and the persist loop never collide
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory()
+            .getMappingMetamodel()
+            .getEntityDescriptor(Employee.class)
+            .getGenerator();
+
+        Instant now = Instant.now();
+
+        for (Employee employee : employees) {
+            employee.setId((Long) generator.generate(session, employee, null, EventType.INSERT));
+            employee.setCreatedAt(now);
+            employee.setUpdatedAt(now);
+        }
+
+        List<Employee> copied = session.doReturningWork(connection -> copy(connection, employees));
+
+        orgChartCache.put(OrgChartCache.reportingLines(copied));
+        employeeNameCache.put(EmployeeNameCache.entries(copied));
+
+        return copied;
+    }
+
+
+
+    /**
+     * Writes the employees with INSERT ... ON CONFLICT (employeeID) , one round trip per
+     * {@code emrs.ingest.upsert.chunk-size} rows.
+     *
+     * The employeeIDs must be distinct , a statement can not touch the same row twice.
+     *
+     * @return the rows the database inserted or updated , skipped / unchanged rows are not returned.
+     */
+    @Override
+    public List<UpsertResult.Row> upsertEmployees(List<Employee> employees, ConflictPolicy policy) {
+
+        if (employees == null || employees.isEmpty()) {
+            return List.of();
+        }
+
+        SharedSessionContractImplementor session = em.unwrap(SharedSessionContractImplementor.class);
+
+        session.flush();
+
+        // ids of the rows that turn out to be updates are simply not used
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory()
+            .getMappingMetamodel()
+            .getEntityDescriptor(Employee.class)
+            .getGenerator();
+
+        for (Employee employee : employees) {
+            employee.setId((Long) generator.generate(session, employee, null, EventType.INSERT));
+        }
+
+        String sql = UPSERT + switch (policy) {
+            case UPDATE -> ON_CONFLICT_UPDATE;
+            case SKIP -> ON_CONFLICT_SKIP;
+            case FAIL -> "";
+        } + RETURNING;
+
+        List<UpsertResult.Row> written = session.doReturningWork(connection -> {
+
+            List<UpsertResult.Row> rows = new ArrayList<>(employees.size());
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+
+                for (int from = 0; from < employees.size(); from += upsertChunkSize) {
+
+                    List<Employee> chunk = employees.subList(from, Math.min(from + upsertChunkSize, employees.size()));
+
+                    bindColumns(connection, statement, chunk);
+
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            rows.add(new UpsertResult.Row(
+                                resultSet.getLong(2),
+                                resultSet.getLong(1),
+                                resultSet.getBoolean(3) ? UpsertResult.Outcome.INSERTED : UpsertResult.Outcome.UPDATED
+                            ));
+                        }
+                    }
+                }
+            }
+
+            log.debug("Upserted {} employees , {} rows written 🔖", employees.size(), rows.size());
+
+            return rows;
+        });
+
+        // the row of an update carries the id of the existing employee
+        Map<Long, Employee> sent = employees.stream()
+            .collect(Collectors.toMap(Employee::getEmployeeID, Function.identity()));
+
+        List<ReportingLine> lines = new ArrayList<>();
+        List<EmployeeNameIndex.Entry> entries = new ArrayList<>(written.size());
+
+        for (UpsertResult.Row row : written) {
+
+            Employee employee = sent.get(row.employeeID());
+            Long managerId = employee.getManager() == null ? null : employee.getManager().getId();
+
+            if (managerId != null || employee.getUserId() != null) {
+                lines.add(new ReportingLine(row.id(), managerId, employee.getUserId()));
+            }
+
+            entries.add(new EmployeeNameIndex.Entry(row.id(), employee.getFullName(), row.employeeID()));
+        }
+
+        orgChartCache.put(lines);
+        employeeNameCache.put(entries);
+
+        return written;
+    }
+
+
+
+    private static void bindColumns(Connection connection, PreparedStatement statement, List<Employee> employees) throws SQLException {
+
+        int size = employees.size();
+
+        Long[] ids = new Long[size];
+        String[] fullNames = new String[size];
+        Long[] employeeIDs = new Long[size];
+        String[] jobTitles = new String[size];
+        Short[] statuses = new Short[size];
+        String[] addresses = new String[size];
+        String[] phones = new String[size];
+        String[] emails = new String[size];
+        Long[] departmentIds = new Long[size];
+        Long[] managerIds = new Long[size];
+        String[] userIds = new String[size];
+
+        for (int i = 0; i < size; i++) {
+
+            Employee employee = employees.get(i);
+
+            ids[i] = employee.getId();
+            fullNames[i] = employee.getFullName();
+            employeeIDs[i] = employee.getEmployeeID();
+            jobTitles[i] = employee.getJobTitle();
+            statuses[i] = employee.getEmploymentStatus() == null ? null : (short) employee.getEmploymentStatus().ordinal();
+            addresses[i] = employee.getAddress();
+            phones[i] = employee.getPhone();
+            emails[i] = employee.getEmail();
+            departmentIds[i] = employee.getDepartment() == null ? null : employee.getDepartment().getId();
+            managerIds[i] = employee.getManager() == null ? null : employee.getManager().getId();
+            userIds[i] = employee.getUserId();
+        }
+
+        statement.setArray(1, connection.createArrayOf("bigint", ids));
+        statement.setArray(2, connection.createArrayOf("varchar", fullNames));
+        statement.setArray(3, connection.createArrayOf("bigint", employeeIDs));
+        statement.setArray(4, connection.createArrayOf("varchar", jobTitles));
+        statement.setArray(5, connection.createArrayOf("smallint", statuses));
+        statement.setArray(6, connection.createArrayOf("varchar", addresses));
+        statement.setArray(7, connection.createArrayOf("varchar", phones));
+        statement.setArray(8, connection.createArrayOf("varchar", emails));
+        statement.setArray(9, connection.createArrayOf("bigint", departmentIds));
+        statement.setArray(10, connection.createArrayOf("bigint", managerIds));
+        statement.setArray(11, connection.createArrayOf("varchar", userIds));
+    }
+
+
+
+    private List<Employee> copy(Connection connection, List<Employee> employees) throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_TABLE);
+            statement.execute("TRUNCATE employees_staging");
+        }
+
+        PGCopyOutputStream copyStream = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_INTO_STAGING);
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(copyStream, StandardCharsets.UTF_8))) {
+
+            for (int i = 0; i < employees.size(); i++) {
+                writeRow(writer, i, employees.get(i));
+            }
+
+        } catch (IOException e) {
+            throw new SQLException("COPY into employees_staging failed", e);
+        }
+
+        log.debug("Copied {} employees into staging 🔖", copyStream.getHandledRowCount());
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(MOVE_FROM_STAGING);
+        }
+
+        return employees;
+    }
+
+
+
+    private static void writeRow(Writer writer, long ord, Employee employee) throws IOException {
+
+        writer.write(Long.toString(ord));
+        writeField(writer, employee.getId());
+        writeField(writer, employee.getFullName());
+        writeField(writer, employee.getEmployeeID());
+        writeField(writer, employee.getJobTitle());
+        writeField(writer, employee.getEmploymentStatus() == null ? null : employee.getEmploymentStatus().ordinal());
+        writeField(writer, employee.getAddress());
+        writeField(writer, employee.getPhone());
+        writeField(writer, employee.getEmail());
+        writeField(writer, employee.getDepartment() == null ? null : employee.getDepartment().getId());
+        writeField(writer, employee.getManager() == null ? null : employee.getManager().getId());
+        writeField(writer, employee.getUserId());
+        writeField(writer, employee.getCreatedAt());
+        writeField(writer, employee.getUpdatedAt());
+        writer.write('\n');
+    }
+
+
+
+    private static void writeField(Writer writer, Object value) throws IOException {
+
+        writer.write('\t');
+
+        if (value == null) {
+            writer.write("\\N");
+            return;
+        }
+
+        String text = value.toString();
+
+        for (int i = 0; i < text.length(); i++) {
+
+            char c = text.charAt(i);
+
+            switch (c) {
+                case '\\' -> writer.write("\\\\");
+                case '\t' -> writer.write("\\t");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                default -> writer.write(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package io.hahn_software.emrs.dao.repositories;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import io.hahn_software.emrs.dao.cache.EmployeeNearCache;
+import io.hahn_software.emrs.dao.cache.EmployeeNameCache;
+import io.hahn_software.emrs.dao.cache.OrgChartCache;
+import io.hahn_software.emrs.dao.interfaces.EmployeePatchDaoInterface;
+import io.hahn_software.emrs.entities.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Applies per employee changes in bulk .
+ *
+ * Patches are grouped by shape (the set of changed columns) , every shape is written with
+ * one UPDATE ... FROM unnest(...) per chunk : each changed column travels as one array
+ * parameter , so 20k patches touching 3 distinct shapes cost 3 round trips instead of 20k
+ * requests . The statement of a shape is built once and reused .
+ */
+@Slf4j
+@Repository
+public class EmployeePatchRepo implements EmployeePatchDaoInterface {
+
+
+    private enum PatchColumn {
+
+        FULL_NAME ("fullName" , "varchar" , Employee::getFullName) ,
+        JOB_TITLE ("jobTitle" , "varchar" , Employee::getJobTitle) ,
+        EMPLOYMENT_STATUS ("employmentStatus" , "smallint" ,
+            employee -> employee.getEmploymentStatus() == null ? null : (short) employee.getEmploymentStatus().ordinal()) ,
+        ADDRESS ("address" , "varchar" , Employee::getAddress) ,
+        PHONE ("phone" , "varchar" , Employee::getPhone) ,
+        EMAIL ("email" , "varchar" , Employee::getEmail) ,
+        DEPARTMENT ("department_id" , "bigint" ,
+            employee -> employee.getDepartment() == null ? null : employee.getDepartment().getId()) ,
+        MANAGER ("manager_id" , "bigint" ,
+            employee -> employee.getManager() == null ? null : employee.getManager().getId()) ,
+        USER_ID ("userId" , "varchar" , Employee::getUserId) ;
+
+
+        private final String column ;
+        private final String arrayType ;
+        private final Function<Employee, Object> value ;
+
+        PatchColumn(String column , String arrayType , Function<Employee, Object> value) {
+            this.column = column ;
+            this.arrayType = arrayType ;
+            this.value = value ;
+        }
+    }
+
+
+    private static final Map<Integer, String> STATEMENTS = new ConcurrentHashMap<>();
+
+
+    @Value("${emrs.patch.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Autowired
+    private EmployeeNearCache employeeNearCache;
+
+    @Autowired
+    private OrgChartCache orgChartCache;
+
+    @Autowired
+    private EmployeeNameCache employeeNameCache;
+
+
+
+    /**
+     * Ids must be distinct , a patch only changes its non null fields.
+     *
+     * @return the ids that exist , and were updated.
+     */
+    @Override
+    public Set<Long> patchEmployees(List<Employee> patches) {
+
+        if (patches == null || patches.isEmpty()) {
+            return Set.of();
+        }
+
+        Map<Integer, List<Employee>> byShape = new LinkedHashMap<>();
+
+        for (Employee patch : patches) {
+
+            int shape = shapeOf(patch);
+
+            if (shape != 0) {
+                byShape.computeIfAbsent(shape, ignored -> new ArrayList<>()).add(patch);
+            }
+        }
+
+        Session session = em.unwrap(Session.class);
+
+        // pending persists / updates of this transaction must reach the database first
+        session.flush();
+
+        Set<Long> updated = session.doReturningWork(connection -> {
+
+            Set<Long> ids = new HashSet<>();
+
+            for (Map.Entry<Integer, List<Employee>> shape : byShape.entrySet()) {
+                ids.addAll(update(connection, shape.getKey(), shape.getValue()));
+            }
+
+            return ids;
+        });
+
+        log.debug("Patched {} employees in {} shapes 🔖", updated.size(), byShape.size());
+
+        employeeNearCache.invalidate(updated);
+        List<Employee> applied = patches.stream().filter(patch -> updated.contains(patch.getId())).toList();
+
+        orgChartCache.put(OrgChartCache.reportingLines(applied));
+        employeeNameCache.put(EmployeeNameCache.entries(applied));
+
+        return updated;
+    }
+
+
+
+    private List<Long> update(Connection connection, int shape, List<Employee> patches) throws SQLException {
+
+        String sql = STATEMENTS.computeIfAbsent(shape, EmployeePatchRepo::buildStatement);
+
+        List<Long> updated = new ArrayList<>(patches.size());
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            for (int from = 0; from < patches.size(); from += chunkSize) {
+
+                List<Employee> chunk = patches.subList(from, Math.min(from + chunkSize, patches.size()));
+
+                int parameter = 1;
+
+                statement.setArray(parameter++, array(connection, "bigint", chunk, Employee::getId));
+
+                for (PatchColumn column : PatchColumn.values()) {
+                    if ((shape & (1 << column.ordinal())) != 0) {
+                        statement.setArray(parameter++, array(connection, column.arrayType, chunk, column.value));
+                    }
+                }
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        updated.add(resultSet.getLong(1));
+                    }
+                }
+            }
+        }
+
+        return updated;
+    }
+
+
+
+    private static String buildStatement(int shape) {
+
+        StringBuilder set = new StringBuilder();
+        StringBuilder arrays = new StringBuilder("?::bigint[]");
+        StringBuilder columns = new StringBuilder("id");
+
+        for (PatchColumn column : PatchColumn.values()) {
+
+            if ((shape & (1 << column.ordinal())) == 0) {
+                continue;
+            }
+
+            set.append(column.column).append(" = v.").append(column.column).append(", ");
+            arrays.append(", ?::").append(column.arrayType).append("[]");
+            columns.append(", ").append(column.column);
+        }
+
+        return "UPDATE employees AS e SET " + set + "updatedAt = now() " +
+               "FROM unnest(" + arrays + ") AS v(" + columns + ") " +
+               "WHERE e.id = v.id " +
+               "RETURNING e.id" ;
+    }
+
+
+
+    private static int shapeOf(Employee patch) {
+
+        int shape = 0;
+
+        for (PatchColumn column : PatchColumn.values()) {
+            if (column.value.apply(patch) != null) {
+                shape |= 1 << column.ordinal();
+            }
+        }
+
+        return shape;
+    }
+
+
+
+    private static Array array(Connection connection, String type, List<Employee> chunk, Function<Employee, Object> value) throws SQLException {
+
+        Object[] values = new Object[chunk.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = value.apply(chunk.get(i));
+        }
+
+        return connection.createArrayOf(type, values);
+    }
+}
@@ -1,18 +1,47 @@
 package io.hahn_software.emrs.dao.repositories;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import io.hahn_software.emrs.dao.cache.CountCache;
+import io.hahn_software.emrs.dao.cache.EmployeeNameCache;
+import io.hahn_software.emrs.dao.cache.EmployeeNameIndex;
+import io.hahn_software.emrs.dao.cache.EmployeeNearCache;
+import io.hahn_software.emrs.dao.cache.OrgChartCache;
+import io.hahn_software.emrs.dao.cache.OrgChartIndex.ReportingLine;
 import io.hahn_software.emrs.dao.interfaces.EmployeeDaoInterface;
+import io.hahn_software.emrs.dao.locks.OrderedRowLocker;
+import io.hahn_software.emrs.dtos.EmployeeFilter;
+import io.hahn_software.emrs.dtos.EmployeeResponse;
 import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.CountStrategy;
+import io.hahn_software.emrs.utils.BatchUtiles;
 import io.hahn_software.emrs.utils.DBUtiles;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,9 +55,45 @@ public class EmployeeRepo implements EmployeeDaoInterface{
     @Value("${hibernate.jdbc.batch_size}")
     private int batchSize = 10;
 
+    @Value("${emrs.pagination.count-cache-ttl-ms:30000}")
+    private long countCacheTtlMs = 30000;
+
+    // ids bound per IN :ids , see BatchUtiles
+    @Value("${emrs.query.in-list-chunk-size:1024}")
+    private int inListChunkSize = 1024;
+
+    private final CountCache countCache = new CountCache("employee");
+
+
+    private static final String TABLE = "employees";
+
+    private static final String SELECT_EMPLOYEE_RESPONSE =
+        "SELECT new io.hahn_software.emrs.dtos.EmployeeResponse(" +
+        "e.id, e.fullName, e.employeeID, e.jobTitle, e.employmentStatus, e.address, e.phone, e.email, " +
+        "e.department.id, e.createdAt, e.updatedAt) " +
+        "FROM Employee e ";
+
+    // employees reporting to :managerId , directly or not , driven by the primary key of the closure
+    private static final String SELECT_REPORT_RESPONSE =
+        SELECT_EMPLOYEE_RESPONSE +
+        "JOIN EmployeeReport r ON r.employeeId = e.id " +
+        "WHERE r.managerId = :managerId ";
+
     @PersistenceContext
     private EntityManager em;
 
+    @Autowired
+    private EmployeeNearCache employeeNearCache;
+
+    @Autowired
+    private OrderedRowLocker rowLocker;
+
+    @Autowired
+    private OrgChartCache orgChartCache;
+
+    @Autowired
+    private EmployeeNameCache employeeNameCache;
+
     @Override
     public List<Employee> insertEmployeeInBatch(List<Employee> employees) {
         
@@ -47,6 +112,11 @@ public class EmployeeRepo implements EmployeeDaoInterface{
             }
         }
 
+        countCache.invalidate();
+        employeeNearCache.invalidate(employees.stream().map(Employee::getId).toList());
+        orgChartCache.put(OrgChartCache.reportingLines(employees));
+        employeeNameCache.put(EmployeeNameCache.entries(employees));
+
         return employees;
     }
 
@@ -59,9 +129,24 @@ public class EmployeeRepo implements EmployeeDaoInterface{
 
         String jpql = "DELETE FROM Employee e WHERE e.id IN :ids";
 
-        return em.createQuery(jpql)
-                .setParameter("ids", employeeIds)
+        int deleted = 0;
+
+        // ascending chunks of ascending ids , locked before they are deleted (see OrderedRowLocker)
+        for (long[] chunk : BatchUtiles.partition(BatchUtiles.sortedDistinct(employeeIds), inListChunkSize)) {
+
+            rowLocker.lock(TABLE, chunk);
+
+            deleted += em.createQuery(jpql)
+                .setParameter("ids", BatchUtiles.boxed(chunk))
                 .executeUpdate();
+        }
+
+        countCache.invalidate();
+        employeeNearCache.invalidate(employeeIds);
+        orgChartCache.remove(employeeIds);
+        employeeNameCache.remove(employeeIds);
+
+        return deleted;
 
     }
 
@@ -74,24 +159,173 @@ public class EmployeeRepo implements EmployeeDaoInterface{
 
         String jpql = "SELECT e FROM Employee e WHERE e.id IN :ids";
 
-        return em.createQuery(jpql, Employee.class)
-                .setParameter("ids", ids)
-                .getResultList();
+        return BatchUtiles.collectInChunks(ids, inListChunkSize, chunk ->
+            em.createQuery(jpql, Employee.class)
+                .setParameter("ids", chunk)
+                .getResultList()
+        );
     }
 
     @Override
     public List<Employee> employeesWithPagination(int page, int pageSize) {
+        return employeesWithPagination(page, pageSize, false);
+    }
+
+    @Override
+    public List<Employee> employeesWithPagination(int page, int pageSize, boolean lookAhead) {
 
         String jpql = "SELECT e FROM Employee e ORDER BY e.id";
 
         TypedQuery<Employee> query = em.createQuery(jpql, Employee.class);
 
         query.setFirstResult(page * pageSize);
-        query.setMaxResults(pageSize);
+        // one extra row tells if there is a next page when no total is computed
+        query.setMaxResults(lookAhead ? pageSize + 1 : pageSize);
 
         return query.getResultList();
     }
 
+    @Override
+    public List<Employee> employeesAfter(Long lastId, int limit) {
+
+        /*
+         * keyset pagination : seek straight to the last seen id through the primary key
+         * index instead of OFFSET , so every page costs the same whatever its depth
+         */
+        TypedQuery<Employee> query;
+
+        if (lastId == null) {
+            query = em.createQuery("SELECT e FROM Employee e ORDER BY e.id", Employee.class);
+        } else {
+            query = em.createQuery("SELECT e FROM Employee e WHERE e.id > :cursor ORDER BY e.id", Employee.class)
+                    .setParameter("cursor", lastId);
+        }
+
+        query.setMaxResults(limit);
+
+        return query.getResultList();
+    }
+
+    /*
+     * Projection read path : the query selects exactly the EmployeeResponse columns ,
+     * department_id straight from the foreign key (no join , no secondary select) , and
+     * nothing is hydrated , snapshotted or registered in the persistence context .
+     */
+
+    @Override
+    public List<EmployeeResponse> findEmployeeResponses(List<Long> ids) {
+
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return BatchUtiles.collectInChunks(ids, inListChunkSize, chunk ->
+            em.createQuery(SELECT_EMPLOYEE_RESPONSE + "WHERE e.id IN :ids", EmployeeResponse.class)
+                .setParameter("ids", chunk)
+                .getResultList()
+        );
+    }
+
+    @Override
+    public List<EmployeeResponse> employeeResponsesWithPagination(int page, int pageSize, boolean lookAhead) {
+
+        TypedQuery<EmployeeResponse> query = em.createQuery(SELECT_EMPLOYEE_RESPONSE + "ORDER BY e.id", EmployeeResponse.class);
+
+        query.setFirstResult(page * pageSize);
+        // one extra row tells if there is a next page when no total is computed
+        query.setMaxResults(lookAhead ? pageSize + 1 : pageSize);
+
+        return query.getResultList();
+    }
+
+    @Override
+    public List<EmployeeResponse> employeeResponsesAfter(Long lastId, int limit) {
+
+        TypedQuery<EmployeeResponse> query;
+
+        if (lastId == null) {
+            query = em.createQuery(SELECT_EMPLOYEE_RESPONSE + "ORDER BY e.id", EmployeeResponse.class);
+        } else {
+            query = em.createQuery(SELECT_EMPLOYEE_RESPONSE + "WHERE e.id > :cursor ORDER BY e.id", EmployeeResponse.class)
+                    .setParameter("cursor", lastId);
+        }
+
+        query.setMaxResults(limit);
+
+        return query.getResultList();
+    }
+
+    /*
+     * Listings scoped to a manager : the visibility scope is part of the query , so pages are
+     * never short and only the rows of the reports are read (see EmployeeReport).
+     */
+
+    @Override
+    public List<EmployeeResponse> reportResponsesWithPagination(long managerId, int page, int pageSize, boolean lookAhead) {
+
+        return em.createQuery(SELECT_REPORT_RESPONSE + "ORDER BY r.employeeId", EmployeeResponse.class)
+            .setParameter("managerId", managerId)
+            .setFirstResult(page * pageSize)
+            // one extra row tells if there is a next page when no total is computed
+            .setMaxResults(lookAhead ? pageSize + 1 : pageSize)
+            .getResultList();
+    }
+
+    @Override
+    public List<EmployeeResponse> reportResponsesAfter(long managerId, Long lastId, int limit) {
+
+        TypedQuery<EmployeeResponse> query;
+
+        if (lastId == null) {
+            query = em.createQuery(SELECT_REPORT_RESPONSE + "ORDER BY r.employeeId", EmployeeResponse.class);
+        } else {
+            query = em.createQuery(SELECT_REPORT_RESPONSE + "AND r.employeeId > :cursor ORDER BY r.employeeId", EmployeeResponse.class)
+                    .setParameter("cursor", lastId);
+        }
+
+        return query
+            .setParameter("managerId", managerId)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    @Override
+    public long countReports(long managerId) {
+
+        return em.createQuery("SELECT COUNT(r.employeeId) FROM EmployeeReport r WHERE r.managerId = :managerId", Long.class)
+            .setParameter("managerId", managerId)
+            .getSingleResult();
+    }
+
+    @Override
+    public long streamEmployeeResponses(int fetchSize, Consumer<EmployeeResponse> consumer) {
+
+        /*
+         * forward-only server side cursor : the driver only keeps fetchSize rows in memory ,
+         * and projected rows never enter the persistence context , so memory does not grow
+         * with the table (the caller must run inside a transaction for pgjdbc to use a cursor)
+         */
+        Session session = em.unwrap(Session.class);
+
+        long rows = 0;
+
+        try (ScrollableResults<EmployeeResponse> results = session
+                .createSelectionQuery(SELECT_EMPLOYEE_RESPONSE + "ORDER BY e.id", EmployeeResponse.class)
+                .setFetchSize(fetchSize)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+
+            while (results.next()) {
+                consumer.accept(results.get());
+                rows++;
+            }
+        }
+
+        log.debug("Streamed {} employees 🔖", rows);
+
+        return rows;
+    }
+
     @Override
     public Long count() {
 
@@ -102,19 +336,52 @@ public class EmployeeRepo implements EmployeeDaoInterface{
         return query.getSingleResult();
     }
 
+    @Override
+    public Long count(CountStrategy strategy) {
+
+        Timer timer = Metrics.timer("emrs.pagination.count", "entity", "employee", "strategy", strategy.name());
+
+        return timer.record(() -> switch (strategy) {
+            case EXACT -> count();
+            case CACHED -> countCache.get(countCacheTtlMs, this::count);
+            case ESTIMATED -> estimateCount();
+            case NONE -> null;
+        });
+    }
+
+    @Override
+    public void invalidateCount() {
+        countCache.invalidate();
+    }
+
+    private Long estimateCount() {
+
+        long estimate = DBUtiles.estimateRowCount(em, "employees");
+
+        if (estimate < 0) {
+            log.debug("No statistics for employees yet , counting rows 🔖");
+            return count();
+        }
+
+        return estimate;
+    }
+
     @Override
     public int updateClientsInBatch(List<Long> employeesIds, Employee employee) {
         
         int totalUpdatedRecords = 0 ;
 
+        long[] ids = BatchUtiles.sortedDistinct(employeesIds) ;
+
         Query query = DBUtiles.buildJPQLQueryDynamicallyForUpdate(employee, em) ;
 
 
-        for (int i = 0; i < employeesIds.size(); i += batchSize) {
-            List<Long> batch = employeesIds.subList(i, Math.min(i + batchSize, employeesIds.size()));
-    
-            
-            query.setParameter("Ids", batch);
+        // ascending chunks of ascending ids , locked before they are updated (see OrderedRowLocker)
+        for (long[] batch : BatchUtiles.partition(ids, inListChunkSize)) {
+
+            rowLocker.lock(TABLE, batch);
+
+            query.setParameter("Ids", BatchUtiles.boxed(batch));
 
             // Execute the update
             int updatedRecords = query.executeUpdate();
@@ -125,8 +392,156 @@ public class EmployeeRepo implements EmployeeDaoInterface{
 
         }
 
+        employeeNearCache.invalidate(employeesIds);
+
+        if (employee.getManager() != null || employee.getUserId() != null) {
+            updateReportingLines(ids, employee, totalUpdatedRecords);
+        }
+
+        if (employee.getFullName() != null || employee.getEmployeeID() != null) {
+            List<EmployeeNameIndex.Entry> names = new ArrayList<>(ids.length);
+
+            for (long id : ids) {
+                names.add(new EmployeeNameIndex.Entry(id, employee.getFullName(), employee.getEmployeeID()));
+            }
+
+            employeeNameCache.put(names);
+        }
+
         return totalUpdatedRecords ;
 
     }
-    
+
+
+
+    /***
+     * Set based variants of the id based bulk operations : the filter becomes the WHERE clause
+     * of a single statement , so no id travels between the client , the service and the database .
+     * Neither the near cache nor the count cache can tell which rows were touched , both are cleared .
+     */
+
+    @Override
+    public long countEmployeesMatching(EmployeeFilter filter) {
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Employee> root = query.from(Employee.class);
+
+        query.select(cb.count(root)).where(matching(cb, root, filter));
+
+        return em.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public int updateEmployeesMatching(EmployeeFilter filter, Employee employee) {
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+        Root<Employee> root = update.from(Employee.class);
+
+        Map<String, Object> changes = DBUtiles.planUpdate(employee).changes();
+
+        changes.forEach(update::set);
+
+        // bulk statements bypass @UpdateTimestamp
+        if (!changes.containsKey("updatedAt")) {
+            update.set("updatedAt", Instant.now());
+        }
+
+        update.where(matching(cb, root, filter));
+
+        int updated = em.createQuery(update).executeUpdate();
+
+        employeeNearCache.invalidateAll();
+
+        if (changes.containsKey("manager") || changes.containsKey("userId")) {
+            orgChartCache.invalidate();
+        }
+
+        if (changes.containsKey("fullName") || changes.containsKey("employeeID")) {
+            employeeNameCache.invalidate();
+        }
+
+        return updated;
+    }
+
+    @Override
+    public int deleteEmployeesMatching(EmployeeFilter filter) {
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaDelete<Employee> delete = cb.createCriteriaDelete(Employee.class);
+        Root<Employee> root = delete.from(Employee.class);
+
+        delete.where(matching(cb, root, filter));
+
+        int deleted = em.createQuery(delete).executeUpdate();
+
+        countCache.invalidate();
+        employeeNearCache.invalidateAll();
+        orgChartCache.invalidate();
+        employeeNameCache.invalidate();
+
+        return deleted;
+    }
+
+    /**
+     * Every id got the same manager / account , unless some of them do not exist : the index
+     * is then reloaded rather than given employees that are not there.
+     */
+    private void updateReportingLines(long[] ids, Employee employee, int updated) {
+
+        if (updated != ids.length) {
+            orgChartCache.invalidate();
+            return;
+        }
+
+        Long managerId = employee.getManager() == null ? null : employee.getManager().getId();
+        List<ReportingLine> lines = new ArrayList<>(ids.length);
+
+        for (long id : ids) {
+            lines.add(new ReportingLine(id, managerId, employee.getUserId()));
+        }
+
+        orgChartCache.put(lines);
+    }
+
+    private static Predicate[] matching(CriteriaBuilder cb, Root<Employee> root, EmployeeFilter filter) {
+
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (filter.getDepartmentId() != null) {
+            // compared on the foreign key , no join
+            predicates.add(cb.equal(root.get("department").get("id"), filter.getDepartmentId()));
+        }
+
+        if (filter.getEmploymentStatus() != null) {
+            predicates.add(cb.equal(root.get("employmentStatus"), filter.getEmploymentStatus()));
+        }
+
+        if (filter.getJobTitle() != null) {
+            predicates.add(cb.equal(root.get("jobTitle"), filter.getJobTitle()));
+        }
+
+        if (filter.getNamePrefix() != null) {
+            predicates.add(cb.like(cb.lower(root.get("fullName")), filter.namePrefixPattern(), '\\'));
+        }
+
+        if (filter.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedFrom()));
+        }
+
+        if (filter.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(root.get("createdAt"), filter.getCreatedTo()));
+        }
+
+        if (filter.getUpdatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("updatedAt"), filter.getUpdatedFrom()));
+        }
+
+        if (filter.getUpdatedTo() != null) {
+            predicates.add(cb.lessThan(root.get("updatedAt"), filter.getUpdatedTo()));
+        }
+
+        return predicates.toArray(Predicate[]::new);
+    }
 }
@@ -0,0 +1,392 @@
+package io.hahn_software.emrs.dao.repositories;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.hahn_software.emrs.dao.interfaces.EmployeeSearchDaoInterface;
+import io.hahn_software.emrs.dtos.EmployeeFilter;
+import io.hahn_software.emrs.dtos.EmployeeMatch;
+import io.hahn_software.emrs.dtos.EmployeeResponse;
+import io.hahn_software.emrs.dtos.EmployeeSearch;
+import io.hahn_software.emrs.dtos.EmployeeSortOrder;
+import io.hahn_software.emrs.enums.EmploymentStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Filtered and sorted employee listings .
+ *
+ * The HQL of a query is written from its shape only (which conditions are set , the sort ,
+ * offset or keyset page , or count) , every value being a named parameter , like the update
+ * plans of DBUtiles . The text of a shape is cached , so the next request of the same shape
+ * binds its values to a query Hibernate already interpreted (query plan cache) and pgjdbc
+ * already prepared .
+ *
+ * Keyset pages compare the sort keys of the rows with those of the last row of the previous
+ * page , the leading key is also bounded on its own so an index on it can drive the scan .
+ *
+ * The number of compiled shapes and the hit ratio of the cache are published as cache.* metrics
+ * with tag cache=employee-search .
+ *
+ * Full-text search is a native query over the generated search_vector column , ranked by ts_rank .
+ */
+@Slf4j
+@Repository
+public class EmployeeSearchRepo implements EmployeeSearchDaoInterface {
+
+
+    /**
+     * Conditions of an {@link EmployeeFilter} , each bound as the parameter of the same name.
+     */
+    private enum Condition {
+
+        // compared on the foreign key , no join
+        DEPARTMENT ("departmentId" , "e.department.id = :departmentId" , EmployeeFilter::getDepartmentId) ,
+
+        EMPLOYMENT_STATUS ("employmentStatus" , "e.employmentStatus = :employmentStatus" , EmployeeFilter::getEmploymentStatus) ,
+
+        JOB_TITLE ("jobTitle" , "e.jobTitle = :jobTitle" , EmployeeFilter::getJobTitle) ,
+
+        // backslash is the escape of namePrefixPattern
+        NAME_PREFIX ("namePrefix" , "lower(e.fullName) like :namePrefix escape '\\'" , EmployeeFilter::namePrefixPattern) ,
+
+        CREATED_FROM ("createdFrom" , "e.createdAt >= :createdFrom" , EmployeeFilter::getCreatedFrom) ,
+
+        CREATED_TO ("createdTo" , "e.createdAt < :createdTo" , EmployeeFilter::getCreatedTo) ,
+
+        UPDATED_FROM ("updatedFrom" , "e.updatedAt >= :updatedFrom" , EmployeeFilter::getUpdatedFrom) ,
+
+        UPDATED_TO ("updatedTo" , "e.updatedAt < :updatedTo" , EmployeeFilter::getUpdatedTo) ;
+
+
+        private final String parameter ;
+        private final String clause ;
+        private final Function<EmployeeFilter, Object> value ;
+
+        Condition(String parameter , String clause , Function<EmployeeFilter, Object> value) {
+            this.parameter = parameter ;
+            this.clause = clause ;
+            this.value = value ;
+        }
+    }
+
+
+    private enum Mode { PAGE , AFTER , COUNT }
+
+
+    /**
+     * Everything the text of a query depends on , never a value.
+     */
+    private record Shape(int conditions, boolean scoped, List<EmployeeSortOrder> keys, Mode mode) {}
+
+
+    private static final String MANAGER_PARAMETER = "managerId";
+    private static final String CURSOR_PARAMETER = "after";
+
+
+    private static final String SELECT_EMPLOYEES =
+        "select new io.hahn_software.emrs.dtos.EmployeeResponse(" +
+        "e.id, e.fullName, e.employeeID, e.jobTitle, e.employmentStatus, e.address, e.phone, e.email, " +
+        "e.department.id, e.createdAt, e.updatedAt) from Employee e";
+
+    private static final String COUNT_EMPLOYEES =
+        "select count(e.id) from Employee e";
+
+    // reports of the manager , directly or not (see EmployeeReport)
+    private static final String OF_MANAGER =
+        "e.id in (select r.employeeId from EmployeeReport r where r.managerId = :" + MANAGER_PARAMETER + ")";
+
+
+    // every employee whose search_vector (see db/migration) matches the query , ranked once
+    private static final String SELECT_MATCHES =
+        "SELECT * FROM (" +
+        "SELECT e.id, e.fullName, e.employeeID, e.jobTitle, e.employmentStatus, e.address, e.phone, e.email, " +
+        "e.department_id, e.createdAt, e.updatedAt, ts_rank(e.search_vector, q.query) AS rank " +
+        "FROM employees e CROSS JOIN websearch_to_tsquery('simple', :text) AS q(query) " +
+        "WHERE e.search_vector @@ q.query ";
+
+    private static final String MATCHES_OF_MANAGER =
+        "AND e.id IN (SELECT r.employee_id FROM employee_reports r WHERE r.manager_id = :managerId) ";
+
+    private static final String MATCHES_AFTER =
+        ") m WHERE m.rank < :lastRank OR (m.rank = :lastRank AND m.id > :lastId) ";
+
+    private static final String MATCHES_FROM_START =
+        ") m ";
+
+    private static final String ORDER_MATCHES =
+        "ORDER BY m.rank DESC, m.id";
+
+
+    private final Cache<Shape, String> statements;
+
+
+    @PersistenceContext
+    private EntityManager em;
+
+
+
+    @Autowired
+    EmployeeSearchRepo(
+        MeterRegistry meterRegistry ,
+        @Value("${emrs.search.statement-cache-size:1000}") long statementCacheSize
+    ) {
+        this.statements = Caffeine.newBuilder()
+            .maximumSize(statementCacheSize)
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, statements, "employee-search");
+    }
+
+
+
+    @Override
+    public List<EmployeeResponse> searchEmployees(EmployeeSearch search, int page, int pageSize, boolean lookAhead) {
+
+        return query(search, Mode.PAGE, EmployeeResponse.class)
+            .setFirstResult(page * pageSize)
+            // one extra row tells if there is a next page when no total is computed
+            .setMaxResults(lookAhead ? pageSize + 1 : pageSize)
+            .getResultList();
+    }
+
+
+
+    @Override
+    public List<EmployeeResponse> searchEmployeesAfter(EmployeeSearch search, Object[] after, int limit) {
+
+        if (after == null || after.length == 0) {
+            return query(search, Mode.PAGE, EmployeeResponse.class)
+                .setMaxResults(limit)
+                .getResultList();
+        }
+
+        List<EmployeeSortOrder> keys = search.keys();
+
+        if (after.length != keys.size()) {
+            throw new IllegalArgumentException("Invalid pagination cursor");
+        }
+
+        TypedQuery<EmployeeResponse> query = query(search, Mode.AFTER, EmployeeResponse.class);
+
+        for (int i = 0; i < after.length; i++) {
+            query.setParameter(CURSOR_PARAMETER + i, after[i]);
+        }
+
+        return query
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+
+
+    @Override
+    public long countEmployees(EmployeeSearch search) {
+        return query(search, Mode.COUNT, Long.class).getSingleResult();
+    }
+
+
+
+    /***
+     * Full-text search , best matches first then by id , read straight into EmployeeResponse
+     * (no entity is loaded).
+     *
+     * The GIN index on search_vector finds the matching rows , which are all ranked before the
+     * page is cut , so a very common word costs as much as its number of matches.
+     *
+     * @param text      web search syntax : words , "quoted phrases" , or , -excluded.
+     * @param managerId only the reports of this manager , null for every employee.
+     * @param lastRank  rank of the last row of the previous page , null for the first page.
+     * @param lastId    id of the last row of the previous page.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<EmployeeMatch> matchEmployees(String text, Long managerId, Float lastRank, Long lastId, int limit) {
+
+        String sql = SELECT_MATCHES
+            + (managerId != null ? MATCHES_OF_MANAGER : "")
+            + (lastRank != null ? MATCHES_AFTER : MATCHES_FROM_START)
+            + ORDER_MATCHES;
+
+        NativeQuery<Object[]> query = em.createNativeQuery(sql)
+            .unwrap(NativeQuery.class)
+            .addScalar("id", StandardBasicTypes.LONG)
+            .addScalar("fullName", StandardBasicTypes.STRING)
+            .addScalar("employeeID", StandardBasicTypes.LONG)
+            .addScalar("jobTitle", StandardBasicTypes.STRING)
+            .addScalar("employmentStatus", StandardBasicTypes.INTEGER)
+            .addScalar("address", StandardBasicTypes.STRING)
+            .addScalar("phone", StandardBasicTypes.STRING)
+            .addScalar("email", StandardBasicTypes.STRING)
+            .addScalar("department_id", StandardBasicTypes.LONG)
+            .addScalar("createdAt", StandardBasicTypes.INSTANT)
+            .addScalar("updatedAt", StandardBasicTypes.INSTANT)
+            .addScalar("rank", StandardBasicTypes.FLOAT);
+
+        query.setParameter("text", text);
+
+        if (managerId != null) {
+            query.setParameter(MANAGER_PARAMETER, managerId);
+        }
+
+        if (lastRank != null) {
+            query.setParameter("lastRank", lastRank);
+            query.setParameter("lastId", lastId);
+        }
+
+        return query
+            .setMaxResults(limit)
+            .getResultList()
+            .stream()
+            .map(EmployeeSearchRepo::toMatch)
+            .toList();
+    }
+
+
+
+    private static EmployeeMatch toMatch(Object[] row) {
+
+        EmployeeResponse employee = new EmployeeResponse(
+            (Long) row[0], (String) row[1], (Long) row[2], (String) row[3],
+            // stored as the ordinal , like every enum of the entity
+            EmploymentStatus.values()[(Integer) row[4]],
+            (String) row[5], (String) row[6], (String) row[7], (Long) row[8],
+            (Instant) row[9], (Instant) row[10]
+        );
+
+        return new EmployeeMatch(employee, (Float) row[11]);
+    }
+
+
+
+    /**
+     * @return the query of the shape of the search , its filter values and scope already bound.
+     */
+    private <T> TypedQuery<T> query(EmployeeSearch search, Mode mode, Class<T> resultType) {
+
+        Shape shape = new Shape(conditionsOf(search.filter()), search.managerId() != null, search.keys(), mode);
+
+        String hql = statements.get(shape, this::compile);
+
+        TypedQuery<T> query = em.createQuery(hql, resultType);
+
+        for (Condition condition : Condition.values()) {
+            if ((shape.conditions() & (1 << condition.ordinal())) != 0) {
+                query.setParameter(condition.parameter, condition.value.apply(search.filter()));
+            }
+        }
+
+        if (shape.scoped()) {
+            query.setParameter(MANAGER_PARAMETER, search.managerId());
+        }
+
+        return query;
+    }
+
+
+
+    private String compile(Shape shape) {
+
+        StringBuilder hql = new StringBuilder(shape.mode() == Mode.COUNT ? COUNT_EMPLOYEES : SELECT_EMPLOYEES);
+
+        List<String> predicates = new ArrayList<>();
+
+        for (Condition condition : Condition.values()) {
+            if ((shape.conditions() & (1 << condition.ordinal())) != 0) {
+                predicates.add(condition.clause);
+            }
+        }
+
+        if (shape.scoped()) {
+            predicates.add(OF_MANAGER);
+        }
+
+        if (shape.mode() == Mode.AFTER) {
+            predicates.add(after(shape.keys()));
+        }
+
+        if (!predicates.isEmpty()) {
+            hql.append(" where ").append(String.join(" and ", predicates));
+        }
+
+        if (shape.mode() != Mode.COUNT) {
+
+            List<String> orders = new ArrayList<>(shape.keys().size());
+
+            for (EmployeeSortOrder key : shape.keys()) {
+                // no nulls first / last : the null ordering of PostgreSQL , so a (column , id) index
+                // is read forward or backward
+                orders.add("e." + key.key().attribute() + (key.descending() ? " desc" : " asc"));
+            }
+
+            hql.append(" order by ").append(String.join(", ", orders));
+        }
+
+        log.debug("Compiled employee search {} : {} 🔖", shape, hql);
+
+        return hql.toString();
+    }
+
+
+
+    /**
+     * Rows after the cursor : k1 > :after0 or (k1 = :after0 and k2 > :after1) or ... ,
+     * with < for descending keys , plus k1 >= :after0 alone.
+     */
+    private static String after(List<EmployeeSortOrder> keys) {
+
+        List<String> alternatives = new ArrayList<>(keys.size());
+        List<String> equalSoFar = new ArrayList<>(keys.size());
+
+        for (int i = 0; i < keys.size(); i++) {
+
+            EmployeeSortOrder key = keys.get(i);
+
+            String column = "e." + key.key().attribute();
+            String value = ":" + CURSOR_PARAMETER + i;
+
+            List<String> alternative = new ArrayList<>(equalSoFar);
+            alternative.add(column + (key.descending() ? " < " : " > ") + value);
+
+            alternatives.add("(" + String.join(" and ", alternative) + ")");
+            equalSoFar.add(column + " = " + value);
+        }
+
+        String bound = "e." + keys.get(0).key().attribute() + (keys.get(0).descending() ? " <= :" : " >= :") + CURSOR_PARAMETER + "0";
+
+        return bound + " and (" + String.join(" or ", alternatives) + ")";
+    }
+
+
+
+    private static int conditionsOf(EmployeeFilter filter) {
+
+        int conditions = 0;
+
+        for (Condition condition : Condition.values()) {
+            if (condition.value.apply(filter) != null) {
+                conditions |= 1 << condition.ordinal();
+            }
+        }
+
+        return conditions;
+    }
+}
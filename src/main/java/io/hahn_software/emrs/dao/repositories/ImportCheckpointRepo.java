@@ -0,0 +1,39 @@
+package io.hahn_software.emrs.dao.repositories;
+
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+
+import io.hahn_software.emrs.dao.interfaces.ImportCheckpointDaoInterface;
+import io.hahn_software.emrs.entities.ImportCheckpoint;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Repository
+public class ImportCheckpointRepo implements ImportCheckpointDaoInterface {
+
+
+    @PersistenceContext
+    private EntityManager em;
+
+
+
+    @Override
+    public List<ImportCheckpoint> findCheckpoints(String importId) {
+
+        return em.createQuery(
+                "SELECT c FROM ImportCheckpoint c WHERE c.importId = :importId ORDER BY c.chunkNo", ImportCheckpoint.class)
+            .setParameter("importId", importId)
+            .getResultList();
+    }
+
+
+
+    /**
+     * Must run in the transaction that wrote the rows of the chunk.
+     */
+    @Override
+    public void saveCheckpoint(ImportCheckpoint checkpoint) {
+        em.persist(checkpoint);
+    }
+}
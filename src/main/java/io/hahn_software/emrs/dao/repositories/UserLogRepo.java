@@ -1,5 +1,8 @@
 package io.hahn_software.emrs.dao.repositories;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import io.hahn_software.emrs.entities.UserLog;
@@ -11,20 +14,31 @@ import jakarta.transaction.Transactional;
 public class UserLogRepo {
     
 
+    @Value("${hibernate.jdbc.batch_size}")
+    private int batchSize = 10;
+
     @PersistenceContext
     private EntityManager em;
 
 
 
-    @Transactional
-    public void save(UserLog userLog) {
-        em.persist(userLog);
-    }
-
+    /**
+     * Inserts the records as JDBC batches , ids come from the pooled
+     * user_log_id_seq so Hibernate can batch the inserts.
+     *
+     * In its own transaction : once UserLogWriter is stopped the records are written on
+     * the caller thread , whose transaction may be a read-only one.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void saveAll(List<UserLog> userLogs) {
 
+        for (int i = 0; i < userLogs.size(); i++) {
+            em.persist(userLogs.get(i));
 
-    @Transactional
-    public void update(UserLog userLog) {
-        em.merge(userLog);
+            if (i > 0 && i % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
     }
 }
@@ -0,0 +1,32 @@
+package io.hahn_software.emrs.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+
+/**
+ * Keyset (seek) variant of {@link PageDTO}.
+ *
+ * Instead of a page number the client sends back {@code nextCursor} as the
+ * {@code after} parameter to get the following page , so every page costs the same
+ * no matter how deep the client is in the listing.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDTO<T> implements Serializable{
+
+    private static final long serialVersionUID = 1L;
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,72 @@
+package io.hahn_software.emrs.dtos;
+
+import java.time.Instant;
+import java.util.Locale;
+
+import io.hahn_software.emrs.enums.EmploymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+
+/**
+ * Selects the employees of a search or of a set based update / delete , conditions left null
+ * are ignored and the others are combined with AND. Ranges are half open : from <= value < to.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeFilter {
+
+    private Long departmentId;
+
+    private EmploymentStatus employmentStatus;
+
+    private String jobTitle;
+
+    /**
+     * Start of the full name , case insensitive.
+     */
+    private String namePrefix;
+
+    private Instant createdFrom;
+
+    private Instant createdTo;
+
+    private Instant updatedFrom;
+
+    private Instant updatedTo;
+
+
+
+    public boolean isEmpty() {
+        return departmentId == null
+            && employmentStatus == null
+            && jobTitle == null
+            && namePrefix == null
+            && createdFrom == null
+            && createdTo == null
+            && updatedFrom == null
+            && updatedTo == null;
+    }
+
+
+
+    /**
+     * @return the LIKE pattern of {@link #namePrefix} , to match against lower(fullName) , a backslash escapes.
+     */
+    public String namePrefixPattern() {
+
+        if (namePrefix == null) {
+            return null;
+        }
+
+        return namePrefix.toLowerCase(Locale.ROOT)
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_") + "%";
+    }
+}
@@ -0,0 +1,11 @@
+package io.hahn_software.emrs.dtos;
+
+
+
+/**
+ * An employee matching a full-text search , with its ts_rank (higher is better).
+ */
+public record EmployeeMatch(
+    EmployeeResponse employee,
+    float rank
+) {}
@@ -0,0 +1,23 @@
+package io.hahn_software.emrs.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+
+/**
+ * One item of a bulk PATCH : the id of the employee and the fields to change ,
+ * fields left null (or absent from the JSON) are not touched.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeePatch {
+
+    private Long id;
+
+    private EmployeeRequest changedFields;
+}
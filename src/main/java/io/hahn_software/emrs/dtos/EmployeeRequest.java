@@ -44,7 +44,11 @@ public class EmployeeRequest {
 
 
     @NotNull(groups = {CreateValidationGroup.class}, message = "Department ID is required for create operation")
-    @NotBlank(groups = {CreateValidationGroup.class , UpdateValidationGroup.class}, message = "Department ID is required")
     private Long departmentId;
+
+
+    private Long managerId;
+
+    private String userId;
     
 }
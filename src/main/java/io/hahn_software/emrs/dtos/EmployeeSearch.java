@@ -0,0 +1,46 @@
+package io.hahn_software.emrs.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.hahn_software.emrs.enums.EmployeeSortKey;
+
+
+
+/**
+ * A filtered and sorted employee listing.
+ *
+ * @param filter    conditions , all of them optional.
+ * @param orders    requested sort , may be empty.
+ * @param managerId only the reports of this manager , null for every employee.
+ */
+public record EmployeeSearch(
+    EmployeeFilter filter,
+    List<EmployeeSortOrder> orders,
+    Long managerId
+) {
+
+
+    public EmployeeSearch {
+        filter = filter != null ? filter : new EmployeeFilter();
+        orders = orders != null ? List.copyOf(orders) : List.of();
+    }
+
+
+
+    /**
+     * The requested sort followed by the id , so the order is total and a keyset cursor
+     * points at exactly one row.
+     */
+    public List<EmployeeSortOrder> keys() {
+
+        if (orders.stream().anyMatch(order -> order.key() == EmployeeSortKey.ID)) {
+            return orders;
+        }
+
+        List<EmployeeSortOrder> keys = new ArrayList<>(orders);
+        keys.add(new EmployeeSortOrder(EmployeeSortKey.ID, false));
+
+        return keys;
+    }
+}
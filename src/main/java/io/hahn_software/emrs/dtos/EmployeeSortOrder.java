@@ -0,0 +1,63 @@
+package io.hahn_software.emrs.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.hahn_software.emrs.enums.EmployeeSortKey;
+
+
+
+/**
+ * One key of the sort of an employee listing.
+ */
+public record EmployeeSortOrder(
+    EmployeeSortKey key,
+    boolean descending
+) {
+
+
+    /**
+     * Sort keys beyond this many rarely narrow anything , and every combination is a query shape.
+     */
+    public static final int MAX_KEYS = 3;
+
+
+
+    /**
+     * @param sort attribute names , a leading '-' sorts descending (e.g. ["jobTitle" , "-createdAt"]).
+     * @throws IllegalArgumentException for an unknown or repeated key , or too many keys.
+     */
+    public static List<EmployeeSortOrder> parse(List<String> sort) {
+
+        if (sort == null || sort.isEmpty()) {
+            return List.of();
+        }
+
+        List<EmployeeSortOrder> orders = new ArrayList<>(sort.size());
+
+        for (String token : sort) {
+
+            String attribute = token == null ? "" : token.trim();
+
+            if (attribute.isEmpty()) {
+                continue;
+            }
+
+            boolean descending = attribute.startsWith("-");
+
+            EmployeeSortKey key = EmployeeSortKey.of(descending ? attribute.substring(1) : attribute);
+
+            if (orders.stream().anyMatch(order -> order.key() == key)) {
+                throw new IllegalArgumentException("Employees are sorted by " + key.attribute() + " twice");
+            }
+
+            orders.add(new EmployeeSortOrder(key, descending));
+        }
+
+        if (orders.size() > MAX_KEYS) {
+            throw new IllegalArgumentException("Employees can be sorted by at most " + MAX_KEYS + " keys");
+        }
+
+        return List.copyOf(orders);
+    }
+}
@@ -0,0 +1,12 @@
+package io.hahn_software.emrs.dtos;
+
+
+
+/**
+ * A typeahead match , just enough to show the employee and open it by id.
+ */
+public record EmployeeSuggestion(
+    Long id,
+    String fullName,
+    Long employeeID
+) {}
@@ -0,0 +1,52 @@
+package io.hahn_software.emrs.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+
+/**
+ * Outcome of a CSV import.
+ *
+ * {@code row} numbers are 1 based data rows (the header is not counted) , only the first
+ * errors are listed , {@code errorsTruncated} tells when some were left out.
+ * {@code importId} / {@code skippedRows} are only set by the parallel import , skipped rows
+ * belong to chunks committed by a previous run of the same import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportReport implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String importId;
+
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private Long skippedRows;
+
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+
+    private boolean errorsTruncated;
+
+
+
+    public record RowError(
+        long row,
+        List<String> messages
+    ) implements Serializable {
+    }
+}
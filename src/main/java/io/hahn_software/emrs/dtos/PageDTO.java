@@ -3,6 +3,9 @@ package io.hahn_software.emrs.dtos;
 import java.io.Serializable;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.hahn_software.emrs.enums.CountStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,10 +13,17 @@ import lombok.NoArgsConstructor;
 
 
 
+/**
+ * Offset pagination page.
+ *
+ * {@code totalElements} / {@code totalPages} depend on the {@link CountStrategy} used :
+ * approximate for ESTIMATED , absent for NONE. {@code hasNext} is always set.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageDTO<T> implements Serializable{
     
     private static final long serialVersionUID = 1L;
@@ -21,6 +31,13 @@ public class PageDTO<T> implements Serializable{
     private List<T> content;          
     private int page;                 
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean hasNext;
+    private CountStrategy countStrategy;
+
+
+    public PageDTO(List<T> content, int page, int size, long totalElements, int totalPages) {
+        this(content, page, size, totalElements, totalPages, page + 1 < totalPages, CountStrategy.EXACT);
+    }
 }
@@ -0,0 +1,49 @@
+package io.hahn_software.emrs.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+
+
+/**
+ * Outcome of a bulk PATCH , one {@link Row} per distinct id , in request order.
+ */
+public record PatchResult(
+    int updated,
+    int notFound,
+    int rejected,
+    List<Row> rows
+) implements Serializable {
+
+
+
+    public enum Outcome {
+
+        UPDATED ,
+
+        NOT_FOUND ,
+
+        /**
+         * A changed field is invalid , nothing of the employee was changed
+         */
+        REJECTED
+    }
+
+
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public record Row(
+        Long id,
+        Outcome outcome,
+        List<String> messages
+    ) implements Serializable {
+    }
+
+
+
+    public int affectedRecords() {
+        return updated;
+    }
+}
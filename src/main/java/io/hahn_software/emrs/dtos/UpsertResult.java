@@ -0,0 +1,59 @@
+package io.hahn_software.emrs.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+
+import io.hahn_software.emrs.enums.ConflictPolicy;
+
+
+
+/**
+ * Outcome of a batch create with an onConflict policy , one {@link Row} per request
+ * element , in request order.
+ *
+ * {@code id} is null for skipped and unchanged rows , the statement does not return them.
+ */
+public record UpsertResult(
+    ConflictPolicy onConflict,
+    int inserted,
+    int updated,
+    int unchanged,
+    int skipped,
+    List<Row> rows
+) implements Serializable {
+
+
+
+    public enum Outcome {
+
+        INSERTED ,
+
+        UPDATED ,
+
+        /**
+         * UPDATE policy , the stored employee already had these values
+         */
+        UNCHANGED ,
+
+        /**
+         * SKIP policy , or an earlier element of the request with the same employeeID
+         * superseded by a later one
+         */
+        SKIPPED
+    }
+
+
+
+    public record Row(
+        Long employeeID,
+        Long id,
+        Outcome outcome
+    ) implements Serializable {
+    }
+
+
+
+    public int affectedRecords() {
+        return inserted + updated;
+    }
+}
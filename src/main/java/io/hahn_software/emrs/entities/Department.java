@@ -3,18 +3,19 @@ package io.hahn_software.emrs.entities;
 import java.time.Instant;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import io.hahn_software.emrs.annotations.BlockSequence;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
@@ -34,11 +35,18 @@ import lombok.NoArgsConstructor;
     }
 )
 @DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Department.CACHE_REGION)
 public class Department {
+
+
+    public static final String CACHE_REGION = "departments" ;
+
+    public static final String QUERY_CACHE_REGION = "departments-queries" ;
+
     
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE , generator = "department_seq")
-    @SequenceGenerator(name = "department_seq" , sequenceName = "department_id_seq"  , allocationSize = 1)
+    @BlockSequence(sequenceName = "department_id_seq")
     private Long id ;
 
 
@@ -4,25 +4,28 @@ import java.time.Instant;
 
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.boot.autoconfigure.batch.BatchProperties.Job;
 
+import io.hahn_software.emrs.annotations.BlockSequence;
 import io.hahn_software.emrs.enums.EmploymentStatus;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
-import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 
 
@@ -34,7 +37,15 @@ import lombok.NoArgsConstructor;
 @Table(
     name = "employees" ,
     indexes = {
-        @Index(columnList = "employeeID" , name = "employee_employeeID_idx")
+        @Index(columnList = "employeeID" , name = "employee_employeeID_idx") ,
+        @Index(columnList = "manager_id" , name = "employee_manager_id_idx") ,
+        // filtered and sorted listings , ties broken by id (lower(fullName) prefix index in db/migration)
+        @Index(columnList = "department_id , id" , name = "employee_department_id_id_idx") ,
+        @Index(columnList = "employmentStatus , id" , name = "employee_employment_status_id_idx") ,
+        @Index(columnList = "jobTitle , id" , name = "employee_job_title_id_idx") ,
+        @Index(columnList = "fullName , id" , name = "employee_full_name_id_idx") ,
+        @Index(columnList = "createdAt , id" , name = "employee_created_at_id_idx") ,
+        @Index(columnList = "updatedAt , id" , name = "employee_updated_at_id_idx")
     },
     uniqueConstraints = {
         @UniqueConstraint(columnNames = {"fullName" , "employeeID"})
@@ -45,8 +56,7 @@ public class Employee implements AbstractBaseEntity{
 
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE , generator = "employee_seq")
-    @SequenceGenerator(name = "employee_seq" , sequenceName = "employee_id_seq"  , allocationSize = 1)
+    @BlockSequence(sequenceName = "employee_id_seq")
     private Long id ;
 
     @Column(nullable = false)
@@ -78,6 +88,24 @@ public class Employee implements AbstractBaseEntity{
     private Department department ;
 
 
+    /**
+     * Direct manager , null for the top of the hierarchy.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "manager_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Employee manager ;
+
+
+    /**
+     * Subject (JWT {@code sub}) of the account of the employee , null when they have none.
+     */
+    @Column(unique = true)
+    private String userId ;
+
+
     @CreationTimestamp
     private Instant createdAt ;
 
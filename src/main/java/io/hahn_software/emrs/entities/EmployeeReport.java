@@ -0,0 +1,67 @@
+package io.hahn_software.emrs.entities;
+
+import java.io.Serializable;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+
+/**
+ * One (manager , report) pair of the reporting closure , direct or not.
+ *
+ * Written by the database only (triggers on employees.manager_id , see db/migration) ,
+ * listings of a manager join it to read their reports and nothing else.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@IdClass(EmployeeReport.Key.class)
+@Table(
+    name = "employee_reports" ,
+    indexes = {
+        @Index(columnList = "employee_id" , name = "employee_reports_employee_id_idx")
+    }
+)
+public class EmployeeReport {
+
+
+    @Id
+    @Column(name = "manager_id")
+    private Long managerId ;
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId ;
+
+
+    /**
+     * 1 for a direct report.
+     */
+    @Column(nullable = false)
+    private Integer depth ;
+
+
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long managerId ;
+        private Long employeeId ;
+    }
+}
@@ -0,0 +1,63 @@
+package io.hahn_software.emrs.entities;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+
+/**
+ * A chunk of a parallel import that has been committed.
+ *
+ * It is written in the same transaction as the rows of the chunk , so a resumed
+ * import skips exactly the chunks that made it to the database.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@IdClass(ImportCheckpoint.Key.class)
+@Table(name = "import_checkpoints")
+public class ImportCheckpoint {
+
+
+    @Id
+    private String importId ;
+
+    @Id
+    private Long chunkNo ;
+
+
+    /**
+     * Rows per chunk of the import , a resumed import must split the file the same way.
+     */
+    private Integer chunkSize ;
+
+    private Integer importedRows ;
+
+    private Integer rejectedRows ;
+
+    private Instant committedAt ;
+
+
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String importId ;
+        private Long chunkNo ;
+    }
+}
@@ -3,12 +3,8 @@ package io.hahn_software.emrs.entities;
 import java.time.Instant;
 import java.time.LocalDateTime;
 
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
-
+import io.hahn_software.emrs.annotations.BlockSequence;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
@@ -34,7 +30,7 @@ public class UserLog {
 
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @BlockSequence(sequenceName = "user_log_id_seq")
     private Long id;
 
 
@@ -52,11 +48,17 @@ public class UserLog {
 
     private String status; 
 
+    private Long durationMs ;
+
+    private Integer affectedRecords ;
+
 
-    @CreationTimestamp
+    /**
+     * Set by the aspect : records are written asynchronously , after the operation
+     * has completed , so the insert time is neither the start nor the end of it.
+     */
     private Instant createdAt ;
 
-    @UpdateTimestamp
     private Instant updatedAt ;
     
 }
@@ -0,0 +1,27 @@
+package io.hahn_software.emrs.enums;
+
+public enum AuditOverflowPolicy {
+
+    /**
+     * The calling request waits until the writer frees a slot
+     */
+
+    BLOCK ,
+
+
+
+    /***
+     * The oldest queued record is discarded to make room
+     */
+
+    DROP_OLDEST ,
+
+
+
+    /**
+     * The record is appended to a local spill file , written to the database
+     * once the queue has drained
+     */
+
+    SPILL
+}
@@ -0,0 +1,43 @@
+package io.hahn_software.emrs.enums;
+
+import java.util.Locale;
+
+public enum ConflictPolicy {
+
+    /**
+     * Rows whose employeeID already exists overwrite the stored employee
+     * (ON CONFLICT DO UPDATE) , identical rows are left untouched
+     */
+
+    UPDATE ,
+
+
+
+    /***
+     * Rows whose employeeID already exists are ignored (ON CONFLICT DO NOTHING)
+     */
+
+    SKIP ,
+
+
+
+    /**
+     * Plain INSERT , the first existing employeeID fails the whole request
+     */
+
+    FAIL ;
+
+
+
+    /**
+     * Parses the onConflict request parameter , case insensitive.
+     */
+    public static ConflictPolicy fromParameter(String value) {
+
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("onConflict must be one of update , skip , fail", e);
+        }
+    }
+}
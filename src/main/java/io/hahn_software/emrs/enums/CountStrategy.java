@@ -0,0 +1,35 @@
+package io.hahn_software.emrs.enums;
+
+public enum CountStrategy {
+
+    /**
+     * SELECT COUNT(*) on every page request
+     */
+
+    EXACT ,
+
+
+
+    /***
+     * Exact count , kept for a short TTL and dropped on every insert / delete
+     */
+
+    CACHED ,
+
+
+
+    /**
+     * Planner estimate (pg_class.reltuples) , falls back to EXACT when the table
+     * was never analyzed
+     */
+
+    ESTIMATED ,
+
+
+
+    /***
+     * No total at all , hasNext comes from fetching one extra row
+     */
+
+    NONE
+}
@@ -0,0 +1,90 @@
+package io.hahn_software.emrs.enums;
+
+import java.time.Instant;
+import java.util.function.Function;
+
+import io.hahn_software.emrs.dtos.EmployeeResponse;
+
+
+
+/**
+ * Columns employee listings can be sorted on , by their attribute name (e.g. sort=-createdAt).
+ *
+ * Every key knows how to read its value from an {@link EmployeeResponse} and back from a
+ * cursor , keyset pages carry the sort key values of their last row.
+ */
+public enum EmployeeSortKey {
+
+    ID ("id" , Long.class , EmployeeResponse::getId , Long::valueOf) ,
+
+    FULL_NAME ("fullName" , String.class , EmployeeResponse::getFullName , value -> value) ,
+
+    EMPLOYEE_ID ("employeeID" , Long.class , EmployeeResponse::getEmployeeID , Long::valueOf) ,
+
+    JOB_TITLE ("jobTitle" , String.class , EmployeeResponse::getJobTitle , value -> value) ,
+
+    EMPLOYMENT_STATUS ("employmentStatus" , EmploymentStatus.class , EmployeeResponse::getEmploymentStatus , EmploymentStatus::valueOf) ,
+
+    CREATED_AT ("createdAt" , Instant.class , EmployeeResponse::getCreatedAt , Instant::parse) ,
+
+    UPDATED_AT ("updatedAt" , Instant.class , EmployeeResponse::getUpdatedAt , Instant::parse) ;
+
+
+
+    private final String attribute ;
+    private final Class<?> type ;
+    private final Function<EmployeeResponse, Object> value ;
+    private final Function<String, Object> parser ;
+
+
+    EmployeeSortKey(String attribute , Class<?> type , Function<EmployeeResponse, Object> value , Function<String, Object> parser) {
+        this.attribute = attribute ;
+        this.type = type ;
+        this.value = value ;
+        this.parser = parser ;
+    }
+
+
+
+    public static EmployeeSortKey of(String attribute) {
+
+        for (EmployeeSortKey key : values()) {
+            if (key.attribute.equals(attribute)) {
+                return key;
+            }
+        }
+
+        throw new IllegalArgumentException("Can not sort employees by " + attribute);
+    }
+
+
+
+    public String attribute() {
+        return attribute;
+    }
+
+
+
+    public Class<?> type() {
+        return type;
+    }
+
+
+
+    public Object valueOf(EmployeeResponse employee) {
+        return value.apply(employee);
+    }
+
+
+
+    /**
+     * @throws IllegalArgumentException when the text is not a value of the key.
+     */
+    public Object parse(String text) {
+        try {
+            return parser.apply(text);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor", e);
+        }
+    }
+}
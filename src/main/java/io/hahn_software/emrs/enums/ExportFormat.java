@@ -0,0 +1,62 @@
+package io.hahn_software.emrs.enums;
+
+import org.springframework.http.MediaType;
+
+import lombok.Getter;
+
+
+@Getter
+public enum ExportFormat {
+
+    /**
+     * One JSON document per line
+     */
+
+    NDJSON ("application/x-ndjson" , "ndjson") ,
+
+
+
+    /***
+     * RFC 4180 comma separated values , with a header row
+     */
+
+    CSV ("text/csv" , "csv") ;
+
+
+
+    private final String mediaType ;
+
+    private final String extension ;
+
+
+    ExportFormat(String mediaType , String extension) {
+        this.mediaType = mediaType ;
+        this.extension = extension ;
+    }
+
+
+
+    /**
+     * Picks the export format from the Accept header , NDJSON being the default
+     * when the client accepts anything .
+     */
+    public static ExportFormat fromAcceptHeader(String accept) {
+
+        if (accept == null || accept.isBlank()) {
+            return NDJSON ;
+        }
+
+        for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+
+            if (mediaType.isCompatibleWith(MediaType.valueOf(NDJSON.mediaType)) && !mediaType.isWildcardType()) {
+                return NDJSON ;
+            }
+
+            if (mediaType.isCompatibleWith(MediaType.valueOf(CSV.mediaType)) && !mediaType.isWildcardType()) {
+                return CSV ;
+            }
+        }
+
+        return NDJSON ;
+    }
+}
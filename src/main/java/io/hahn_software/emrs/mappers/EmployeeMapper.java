@@ -44,6 +44,12 @@ public class EmployeeMapper {
                                 .build()
 
                 )
+                .manager(
+                    employeeRequest.getManagerId() == null
+                        ? null
+                        : Employee.builder().id(employeeRequest.getManagerId()).build()
+                )
+                .userId(employeeRequest.getUserId())
                 .build();
     }
 
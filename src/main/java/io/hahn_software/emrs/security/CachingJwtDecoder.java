@@ -0,0 +1,142 @@
+package io.hahn_software.emrs.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * {@link JwtDecoder} keeping the tokens it already verified .
+ *
+ * SPA clients send the same bearer token for its whole lifetime , so after the first
+ * request the signature check , claim parsing and role mapping are skipped : the entry
+ * (verified Jwt + its authorities) is looked up by the SHA-256 of the raw token and
+ * lives until the token's exp . Tokens without exp are never cached .
+ *
+ * Size bounded , hit / miss / eviction counters are published as cache.* metrics
+ * with tag cache=jwt .
+ */
+@Slf4j
+public class CachingJwtDecoder implements JwtDecoder {
+
+
+    private record VerifiedToken(Jwt jwt, Collection<GrantedAuthority> authorities) {}
+
+
+    private final JwtDecoder delegate;
+    private final Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter;
+    private final Cache<String, VerifiedToken> cache;
+
+
+
+    public CachingJwtDecoder(
+        JwtDecoder delegate ,
+        Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter ,
+        long maxSize ,
+        MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate ;
+        this.authoritiesConverter = authoritiesConverter ;
+
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt");
+    }
+
+
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+
+        String key = hash(token);
+
+        VerifiedToken verified = cache.getIfPresent(key);
+
+        if (verified != null) {
+            return verified.jwt();
+        }
+
+        Jwt jwt = delegate.decode(token);
+
+        if (jwt.getExpiresAt() != null) {
+            cache.put(key, new VerifiedToken(jwt, Set.copyOf(authoritiesConverter.convert(jwt))));
+        }
+
+        return jwt;
+    }
+
+
+
+    /***
+     * Authorities of a token returned by {@link #decode(String)} , converted once per token .
+     */
+    public Converter<Jwt, Collection<GrantedAuthority>> cachedAuthoritiesConverter() {
+        return jwt -> {
+
+            VerifiedToken verified = cache.getIfPresent(hash(jwt.getTokenValue()));
+
+            return verified != null
+                ? verified.authorities()
+                : authoritiesConverter.convert(jwt);
+        };
+    }
+
+
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+
+        } catch (NoSuchAlgorithmException e) {
+            // every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), value.jwt().getExpiresAt());
+            return Math.max(0, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
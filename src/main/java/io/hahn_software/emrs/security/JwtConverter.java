@@ -1,6 +1,11 @@
 package io.hahn_software.emrs.security;
 
 
+import java.util.Collection;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 
 import lombok.extern.slf4j.Slf4j;
@@ -14,8 +19,14 @@ public class JwtConverter extends JwtAuthenticationConverter {
     public static final String AUTHORITY_PREFIX = "ROLE_";
 
     public JwtConverter() {
-        RolesGrantedAuthoritiesConverter grantedAuthoritiesConverter = new RolesGrantedAuthoritiesConverter();
-        grantedAuthoritiesConverter.setAuthorityPrefix(AUTHORITY_PREFIX);
+        this(rolesConverter());
+    }
+
+
+    /***
+     * @param grantedAuthoritiesConverter e.g. the cached authorities of {@link CachingJwtDecoder}
+     */
+    public JwtConverter(Converter<Jwt, Collection<GrantedAuthority>> grantedAuthoritiesConverter) {
 
         setJwtGrantedAuthoritiesConverter(grantedAuthoritiesConverter);
         setPrincipalClaimName(PRINCIPAL_CLAIM_NAME);
@@ -23,4 +34,9 @@ public class JwtConverter extends JwtAuthenticationConverter {
 
         log.debug("Roles Granted {} ✅" , grantedAuthoritiesConverter);
     }
+
+
+    public static RolesGrantedAuthoritiesConverter rolesConverter() {
+        return new RolesGrantedAuthoritiesConverter().setAuthorityPrefix(AUTHORITY_PREFIX);
+    }
 }
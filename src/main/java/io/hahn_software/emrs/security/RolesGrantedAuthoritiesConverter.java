@@ -39,7 +39,7 @@ public class RolesGrantedAuthoritiesConverter implements Converter<Jwt, Collecti
         Map<String, Object> realmAccess = source.getClaim("realm_access");
 
 
-        log.info("Extracted realm_access: {} 🔖", realmAccess);
+        log.debug("Extracted realm_access: {} 🔖", realmAccess);
         
         if (Objects.isNull(realmAccess) || realmAccess.isEmpty()) {
             return Collections.emptyList();
@@ -51,7 +51,7 @@ public class RolesGrantedAuthoritiesConverter implements Converter<Jwt, Collecti
 
         Object roles = realmAccess.get("roles");
 
-        log.info("Extracted roles: {} 🔖", roles);
+        log.debug("Extracted roles: {} 🔖", roles);
 
         if (Objects.isNull(roles) || !(roles instanceof Collection<?>)) {
             return Collections.emptyList();
@@ -67,7 +67,7 @@ public class RolesGrantedAuthoritiesConverter implements Converter<Jwt, Collecti
             .forEach(authorities::add);
 
 
-        log.info("Mapped authorities: {}", authorities);
+        log.debug("Mapped authorities: {}", authorities);
 
         return authorities;
     }
@@ -23,6 +23,8 @@ import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 
 import org.springframework.beans.factory.annotation.Value;
 
@@ -70,7 +72,7 @@ public class SecurityConf {
 
 
     @Bean
-	public SecurityFilterChain securityFilterChain(HttpSecurity http ) throws Exception {
+	public SecurityFilterChain securityFilterChain(HttpSecurity http , CachingJwtDecoder jwtDecoder) throws Exception {
 
 
         http
@@ -84,8 +86,8 @@ public class SecurityConf {
         .oauth2ResourceServer( oauth2 ->
             oauth2.jwt( jwt ->
                 {
-                    jwt.jwtAuthenticationConverter(new JwtConverter()) ;
-                    jwt.decoder(jwtDecoder()) ;
+                    jwt.jwtAuthenticationConverter(new JwtConverter(jwtDecoder.cachedAuthoritiesConverter())) ;
+                    jwt.decoder(jwtDecoder) ;
 
                 }
             )
@@ -103,8 +105,21 @@ public class SecurityConf {
 
 
 
+    /***
+     * Verifies bearer tokens with the realm public key , verified tokens are cached
+     * until they expire (see {@link CachingJwtDecoder}).
+     */
     @Bean
-    public JwtDecoder jwtDecoder() {
+    public CachingJwtDecoder jwtDecoder(
+        MeterRegistry meterRegistry ,
+        @Value("${emrs.security.jwt-cache.max-size:10000}") long maxSize
+    ) {
+        return new CachingJwtDecoder(nimbusJwtDecoder(), JwtConverter.rolesConverter(), maxSize, meterRegistry);
+    }
+
+
+
+    private JwtDecoder nimbusJwtDecoder() {
         try {
 
             ClassPathResource publicKeyResource = new ClassPathResource("key.pub");
@@ -5,17 +5,21 @@ import java.util.List;
 
 import org.hibernate.query.Page;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import io.hahn_software.emrs.annotations.LogUserOperation;
 import io.hahn_software.emrs.dao.repositories.DepartmentRepo;
+import io.hahn_software.emrs.dtos.CursorPageDTO;
 import io.hahn_software.emrs.dtos.DepartmentRequest;
 import io.hahn_software.emrs.dtos.DepartmentResponse;
 import io.hahn_software.emrs.dtos.OperationResult;
 import io.hahn_software.emrs.dtos.PageDTO;
 import io.hahn_software.emrs.entities.Department;
+import io.hahn_software.emrs.enums.CountStrategy;
 import io.hahn_software.emrs.mappers.DepartmentMapper;
-import jakarta.transaction.Transactional;
+import io.hahn_software.emrs.utils.CursorUtiles;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -29,6 +33,13 @@ public class DepartmentService {
     private DepartmentMapper departmentMapper;
 
 
+    /**
+     * Count strategy of paginated listings when the request does not pick one.
+     */
+    @Value("${emrs.pagination.count-strategy:EXACT}")
+    private CountStrategy defaultCountStrategy = CountStrategy.EXACT;
+
+
     DepartmentService(
         DepartmentRepo departmentRepo ,
         DepartmentMapper departmentMapper
@@ -87,6 +98,7 @@ public class DepartmentService {
      * @param departmentIds List of department IDs to find.
      * @return List of DepartmentResponse objects for the found departments.
      */
+    @Transactional(readOnly = true)
     @LogUserOperation
     public List<DepartmentResponse> findDepartments(List<Long> departmentIds) {
         log.info("Finding departments with IDs: {}", departmentIds);
@@ -105,24 +117,73 @@ public class DepartmentService {
     /**
      * Retrieves departments with pagination.
      *
-     * @param page     Page number (starting from 0).
-     * @param pageSize Number of departments per page.
+     * @param page          Page number (starting from 0).
+     * @param pageSize      Number of departments per page.
+     * @param countStrategy How totalElements is computed , null for the configured default.
      * @return List of DepartmentResponse objects for the retrieved departments.
      */
-    public PageDTO<DepartmentResponse> getDepartmentsWithPagination(int page, int pageSize) {
+    @Transactional(readOnly = true)
+    public PageDTO<DepartmentResponse> getDepartmentsWithPagination(int page, int pageSize, CountStrategy countStrategy) {
         
+        CountStrategy strategy = countStrategy != null ? countStrategy : defaultCountStrategy;
+        boolean withTotal = strategy != CountStrategy.NONE;
+
+        log.info("Retrieving departments with pagination - Page: {}, PageSize: {}, Count: {}", page, pageSize, strategy);
 
-        log.info("Retrieving departments with pagination - Page: {}, PageSize: {}", page, pageSize);
+        List<Department> departments = departmentRepo.departmentsWithPagination(page, pageSize, !withTotal);
 
-        List<Department> departments = departmentRepo.departmentsWithPagination(page, pageSize);
+        boolean lookAheadHit = !withTotal && departments.size() > pageSize;
+
+        if (lookAheadHit) {
+            departments = departments.subList(0, pageSize);
+        }
 
         List<DepartmentResponse> content = departmentMapper.toDepartmentResponseList(departments);
 
-        long totalElements = departmentRepo.count();
+        Long totalElements = departmentRepo.count(strategy);
+
+        Integer totalPages = withTotal ? (int) Math.ceil((double) totalElements / pageSize) : null;
+
+        boolean hasNext = withTotal ? (long) (page + 1) * pageSize < totalElements : lookAheadHit;
+
+        return new PageDTO<>(content, page, pageSize, totalElements, totalPages, hasNext, strategy);
+
+    }
+
+
 
-        int totalPages = (int) Math.ceil((double) totalElements / pageSize);
+    /**
+     * Retrieves departments with keyset (cursor) pagination.
+     *
+     * @param after    Opaque cursor returned by the previous page , null or blank for the first page.
+     * @param pageSize Number of departments per page.
+     * @return Page of DepartmentResponse objects with the cursor of the next page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DepartmentResponse> getDepartmentsAfter(String after, int pageSize) {
+
+        log.info("Retrieving departments with cursor pagination - After: {}, PageSize: {}", after, pageSize);
+
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be a positive value");
+        }
+
+        Long lastId = CursorUtiles.decodeId(after);
+
+        List<Department> departments = departmentRepo.departmentsAfter(lastId, pageSize + 1);
+
+        boolean hasNext = departments.size() > pageSize;
+
+        if (hasNext) {
+            departments = departments.subList(0, pageSize);
+        }
+
+        List<DepartmentResponse> content = departmentMapper.toDepartmentResponseList(departments);
 
-        return new PageDTO<>(content, page, pageSize, totalElements, totalPages);
+        String nextCursor = hasNext
+            ? CursorUtiles.encodeId(departments.get(departments.size() - 1).getId())
+            : null;
 
+        return new CursorPageDTO<>(content, pageSize, nextCursor, hasNext);
     }
 }
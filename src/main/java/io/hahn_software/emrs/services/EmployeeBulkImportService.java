@@ -0,0 +1,565 @@
+package io.hahn_software.emrs.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.hahn_software.emrs.annotations.LogUserOperation;
+import io.hahn_software.emrs.dao.repositories.EmployeeCopyRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.dao.repositories.ImportCheckpointRepo;
+import io.hahn_software.emrs.dtos.ImportReport;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.entities.ImportCheckpoint;
+import io.hahn_software.emrs.mappers.EmployeeMapper;
+import io.hahn_software.emrs.utils.CsvUtiles;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+
+/***
+ * Parallel variant of {@link EmployeeImportService} for very large loads .
+ *
+ * The file is tokenized by the calling thread and split into numbered chunks , every chunk
+ * is then bound / validated / mapped on a fork-join pool and written by one of
+ * {@code writer-threads} writers , each writer holding its own pooled connection and
+ * committing its chunk on its own . The rows of a chunk and its {@link ImportCheckpoint}
+ * are committed together , so calling the import again with the same importId skips the
+ * chunks already in the database and resumes with the rest .
+ *
+ * At most {@code max-in-flight-chunks} chunks are read ahead of the writers , which bounds
+ * the heap whatever the size of the file .
+ */
+@Slf4j
+@Service
+public class EmployeeBulkImportService {
+
+
+    private static final Pattern IMPORT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+
+    private final EmployeeRepo employeeRepo;
+    private final EmployeeCopyRepo employeeCopyRepo;
+    private final ImportCheckpointRepo importCheckpointRepo;
+    private final EmployeeMapper employeeMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer readTimer;
+    private final Timer bindTimer;
+    private final Timer writeTimer;
+    private final Timer bindWaitTimer;
+    private final Timer writeWaitTimer;
+
+    private final Counter importedCounter;
+    private final Counter rejectedCounter;
+    private final Counter skippedCounter;
+
+    private final AtomicInteger chunksInFlight = new AtomicInteger();
+
+
+    @Value("${emrs.import.parallel.chunk-size:5000}")
+    private int chunkSize = 5000;
+
+    @Value("${emrs.import.parallel.writer-threads:8}")
+    private int writerThreads = 8;
+
+    @Value("${emrs.import.parallel.bind-parallelism:0}")
+    private int bindParallelism = 0;
+
+    @Value("${emrs.import.parallel.max-in-flight-chunks:32}")
+    private int maxInFlightChunks = 32;
+
+    @Value("${emrs.import.max-reported-errors:1000}")
+    private int maxReportedErrors = 1000;
+
+    @Value("${emrs.import.max-record-chars:65536}")
+    private int maxRecordChars = 65536;
+
+    /**
+     * Chunks of at least this many valid rows are written with COPY.
+     */
+    @Value("${emrs.ingest.copy-threshold:1000}")
+    private int copyThreshold = 1000;
+
+
+    @Autowired
+    EmployeeBulkImportService(
+        EmployeeRepo employeeRepo ,
+        EmployeeCopyRepo employeeCopyRepo ,
+        ImportCheckpointRepo importCheckpointRepo ,
+        EmployeeMapper employeeMapper ,
+        Validator validator ,
+        PlatformTransactionManager transactionManager ,
+        MeterRegistry meterRegistry
+    ) {
+        this.employeeRepo = employeeRepo ;
+        this.employeeCopyRepo = employeeCopyRepo ;
+        this.importCheckpointRepo = importCheckpointRepo ;
+        this.employeeMapper = employeeMapper ;
+        this.validator = validator ;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager) ;
+
+        this.readTimer = meterRegistry.timer("emrs.import.stage", "stage", "read") ;
+        this.bindTimer = meterRegistry.timer("emrs.import.stage", "stage", "bind") ;
+        this.writeTimer = meterRegistry.timer("emrs.import.stage", "stage", "write") ;
+
+        // time a chunk spends queued before a stage picks it up
+        this.bindWaitTimer = meterRegistry.timer("emrs.import.stage.lag", "stage", "bind") ;
+        this.writeWaitTimer = meterRegistry.timer("emrs.import.stage.lag", "stage", "write") ;
+
+        this.importedCounter = meterRegistry.counter("emrs.import.rows", "result", "imported") ;
+        this.rejectedCounter = meterRegistry.counter("emrs.import.rows", "result", "rejected") ;
+        this.skippedCounter = meterRegistry.counter("emrs.import.rows", "result", "skipped") ;
+
+        meterRegistry.gauge("emrs.import.chunks.in-flight", chunksInFlight) ;
+    }
+
+
+
+    /**
+     * Imports a CSV file with the same layout as {@link EmployeeImportService#importEmployees}.
+     *
+     * @param inputStream UTF-8 CSV content , it is closed once read.
+     * @param importId    Id of an interrupted import to resume , null to start a new one.
+     * @return The report , carrying the importId to resume with.
+     * @throws IllegalArgumentException when the header or the importId is invalid , or a record can not
+     *                                  be parsed (broken quote) , the chunks before it stay committed.
+     */
+    @LogUserOperation("Import employees from CSV in parallel")
+    public ImportReport importEmployees(InputStream inputStream, String importId) throws IOException {
+
+        if (importId == null || importId.isBlank()) {
+            importId = UUID.randomUUID().toString();
+        } else if (!IMPORT_ID.matcher(importId).matches()) {
+            throw new IllegalArgumentException("Invalid importId '" + importId + "'");
+        }
+
+        Set<Long> committedChunks = committedChunks(importId);
+
+        Run run = new Run(importId, maxReportedErrors);
+
+        ForkJoinPool bindPool = new ForkJoinPool(
+            bindParallelism > 0 ? bindParallelism : Runtime.getRuntime().availableProcessors());
+
+        ExecutorService writerPool = Executors.newFixedThreadPool(writerThreads, writerThreadFactory(importId));
+
+        Semaphore inFlight = new Semaphore(maxInFlightChunks);
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+        log.info("Parallel import {} started , {} chunks already committed 🔖", importId, committedChunks.size());
+
+        try (CsvUtiles.RecordReader reader = new CsvUtiles.RecordReader(
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)), maxRecordChars)) {
+
+            EmployeeCsvRows.Column[] columns = EmployeeCsvRows.readHeader(reader.next());
+
+            long row = 0 ;
+            long chunkNo = 0 ;
+            boolean endOfFile = false ;
+
+            while (!endOfFile) {
+
+                long readStart = System.nanoTime();
+
+                List<RawRow> chunk = new ArrayList<>(chunkSize);
+
+                while (chunk.size() < chunkSize) {
+
+                    List<String> record;
+
+                    try {
+                        record = reader.next();
+                    } catch (IllegalArgumentException e) {
+                        // the stream can not be resynchronised after a broken quote : the import stops
+                        // and this chunk is neither written nor checkpointed , so the resumed run reads
+                        // it again from the corrected file
+                        run.fail(new IllegalArgumentException("Row " + (row + 1) + " : " + e.getMessage(), e));
+                        break;
+                    }
+
+                    if (record == null) {
+                        endOfFile = true ;
+                        break;
+                    }
+
+                    if (!EmployeeCsvRows.isBlank(record)) {
+                        chunk.add(new RawRow(++row, record));
+                    }
+                }
+
+                readTimer.record(System.nanoTime() - readStart, TimeUnit.NANOSECONDS);
+
+                if (run.failure != null) {
+                    break;
+                }
+
+                if (chunk.isEmpty()) {
+                    continue;
+                }
+
+                long currentChunk = ++chunkNo ;
+
+                run.processed.add(chunk.size());
+
+                if (committedChunks.contains(currentChunk)) {
+                    run.skipped.add(chunk.size());
+                    skippedCounter.increment(chunk.size());
+                    continue;
+                }
+
+                acquire(inFlight);
+                chunksInFlight.incrementAndGet();
+
+                long queuedAt = System.nanoTime();
+
+                pending.add(
+                    CompletableFuture
+                        .supplyAsync(() -> bind(currentChunk, columns, chunk, run, queuedAt), bindPool)
+                        .thenAcceptAsync(bound -> write(bound, run), writerPool)
+                        .whenComplete((ignored, failure) -> {
+                            if (failure != null) {
+                                run.fail(failure);
+                            }
+                            chunksInFlight.decrementAndGet();
+                            inFlight.release();
+                        })
+                );
+
+                // a writer failure (database down ...) stops reading , the chunks already sent are still awaited
+                if (run.failure != null) {
+                    break;
+                }
+
+                pending.removeIf(CompletableFuture::isDone);
+            }
+
+        } finally {
+            awaitAll(pending);
+
+            bindPool.shutdown();
+            writerPool.shutdown();
+        }
+
+        if (run.failure instanceof IllegalArgumentException brokenFile) {
+            throw new IllegalArgumentException(
+                "Import " + importId + " stopped at an unreadable record , fix the file and resume it with the same importId : "
+                    + brokenFile.getMessage(), brokenFile);
+        }
+
+        if (run.failure != null) {
+            throw new IllegalStateException(
+                "Import " + importId + " stopped , resume it with the same importId", run.failure);
+        }
+
+        ImportReport report = run.toReport();
+
+        log.info("Parallel import {} done : {} imported , {} rejected , {} skipped (already committed) ✅",
+            importId, report.getImportedRows(), report.getFailedRows(), report.getSkippedRows());
+
+        return report;
+    }
+
+
+
+    private Set<Long> committedChunks(String importId) {
+
+        List<ImportCheckpoint> checkpoints = transactionTemplate.execute(
+            status -> importCheckpointRepo.findCheckpoints(importId));
+
+        if (checkpoints == null || checkpoints.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        if (checkpoints.stream().anyMatch(checkpoint -> checkpoint.getChunkSize() != chunkSize)) {
+            throw new IllegalArgumentException(
+                "Import " + importId + " was started with another chunk size , it can not be resumed");
+        }
+
+        return checkpoints.stream()
+            .map(ImportCheckpoint::getChunkNo)
+            .collect(Collectors.toSet());
+    }
+
+
+
+    private BoundChunk bind(long chunkNo, EmployeeCsvRows.Column[] columns, List<RawRow> chunk, Run run, long queuedAt) {
+
+        long start = System.nanoTime();
+        bindWaitTimer.record(start - queuedAt, TimeUnit.NANOSECONDS);
+
+        List<PendingRow> valid = new ArrayList<>(chunk.size());
+        int rejected = 0 ;
+
+        for (RawRow rawRow : chunk) {
+
+            EmployeeCsvRows.BoundRow bound = EmployeeCsvRows.bind(rawRow.row(), columns, rawRow.record(), validator);
+
+            if (bound.isValid()) {
+                valid.add(new PendingRow(rawRow.row(), employeeMapper.toEmployee(bound.request())));
+            } else {
+                run.reject(rawRow.row(), bound.errors());
+                rejected++;
+            }
+        }
+
+        long end = System.nanoTime();
+        bindTimer.record(end - start, TimeUnit.NANOSECONDS);
+
+        return new BoundChunk(chunkNo, valid, rejected, end);
+    }
+
+
+
+    private void write(BoundChunk chunk, Run run) {
+
+        long start = System.nanoTime();
+        writeWaitTimer.record(start - chunk.boundAt(), TimeUnit.NANOSECONDS);
+
+        if (run.failure != null) {
+            // the import is stopping , leave the chunk for the resumed run
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                insert(chunk.rows());
+                importCheckpointRepo.saveCheckpoint(checkpoint(run.importId, chunk, chunk.rows().size(), chunk.rejected()));
+            });
+
+            run.imported.add(chunk.rows().size());
+            importedCounter.increment(chunk.rows().size());
+
+        } catch (RuntimeException chunkFailure) {
+
+            log.warn("Chunk {} of import {} was rejected , retrying row by row : {}",
+                chunk.chunkNo(), run.importId, chunkFailure.getMessage());
+
+            replayRowByRow(chunk, run);
+
+        } finally {
+            writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+
+
+    private void replayRowByRow(BoundChunk chunk, Run run) {
+
+        int imported = 0 ;
+        int rejected = chunk.rejected() ;
+
+        for (PendingRow pendingRow : chunk.rows()) {
+            try {
+                // the failed attempt assigned an id , start over from a clean entity
+                pendingRow.employee().setId(null);
+                transactionTemplate.executeWithoutResult(status -> employeeRepo.insertEmployeeInBatch(List.of(pendingRow.employee())));
+                imported++;
+            } catch (RuntimeException rowFailure) {
+                run.reject(pendingRow.row(), List.of(EmployeeCsvRows.rootMessage(rowFailure)));
+                rejected++;
+            }
+        }
+
+        run.imported.add(imported);
+        importedCounter.increment(imported);
+
+        try {
+            int importedInChunk = imported ;
+            int rejectedInChunk = rejected ;
+
+            transactionTemplate.executeWithoutResult(
+                status -> importCheckpointRepo.saveCheckpoint(checkpoint(run.importId, chunk, importedInChunk, rejectedInChunk)));
+
+        } catch (RuntimeException checkpointFailure) {
+            // the database is gone , stop the import , the rows of this chunk may be replayed on resume
+            run.fail(checkpointFailure);
+        }
+    }
+
+
+
+    private void insert(List<PendingRow> rows) {
+
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<Employee> employees = rows.stream()
+            .map(PendingRow::employee)
+            .toList();
+
+        if (employees.size() >= copyThreshold) {
+            employeeCopyRepo.copyEmployees(employees);
+            // COPY bypasses EmployeeRepo , drop its cached count by hand
+            employeeRepo.invalidateCount();
+        } else {
+            employeeRepo.insertEmployeeInBatch(employees);
+        }
+    }
+
+
+
+    private ImportCheckpoint checkpoint(String importId, BoundChunk chunk, int imported, int rejected) {
+        return ImportCheckpoint.builder()
+            .importId(importId)
+            .chunkNo(chunk.chunkNo())
+            .chunkSize(chunkSize)
+            .importedRows(imported)
+            .rejectedRows(rejected)
+            .committedAt(Instant.now())
+            .build();
+    }
+
+
+
+    private static void acquire(Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        }
+    }
+
+
+
+    private static void awaitAll(List<CompletableFuture<Void>> pending) {
+        try {
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            // already recorded on the run
+            log.debug("Import chunk failed : {}", e.getMessage());
+        }
+    }
+
+
+
+    private static ThreadFactory writerThreadFactory(String importId) {
+
+        AtomicInteger count = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, "employee-import-" + importId + "-writer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+
+
+    private record RawRow(long row, List<String> record) {
+    }
+
+    private record PendingRow(long row, Employee employee) {
+    }
+
+    private record BoundChunk(long chunkNo, List<PendingRow> rows, int rejected, long boundAt) {
+    }
+
+
+
+    /**
+     * State of one import , shared by the reader , binders and writers.
+     *
+     * Rows are rejected out of order , only the {@code maxReportedErrors} lowest rows are
+     * kept so a file full of errors does not fill the heap either.
+     */
+    private final class Run {
+
+        private final String importId;
+        private final int maxReportedErrors;
+
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder imported = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+
+        private final PriorityQueue<ImportReport.RowError> errors =
+            new PriorityQueue<>(Comparator.comparingLong(ImportReport.RowError::row).reversed());
+
+        private volatile Throwable failure;
+
+
+        Run(String importId, int maxReportedErrors) {
+            this.importId = importId;
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+
+        void reject(long row, List<String> messages) {
+
+            rejected.increment();
+            rejectedCounter.increment();
+
+            synchronized (errors) {
+                errors.add(new ImportReport.RowError(row, messages));
+
+                if (errors.size() > maxReportedErrors) {
+                    errors.poll();
+                }
+            }
+        }
+
+
+        void fail(Throwable throwable) {
+            if (failure == null) {
+                failure = throwable;
+            }
+        }
+
+
+        ImportReport toReport() {
+
+            List<ImportReport.RowError> sorted;
+
+            synchronized (errors) {
+                sorted = errors.stream()
+                    .sorted(Comparator.comparingLong(ImportReport.RowError::row))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            }
+
+            return ImportReport.builder()
+                .importId(importId)
+                .processedRows(processed.sum())
+                .importedRows(imported.sum())
+                .failedRows(rejected.sum())
+                .skippedRows(skipped.sum())
+                .errors(sorted)
+                .errorsTruncated(rejected.sum() > sorted.size())
+                .build();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package io.hahn_software.emrs.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import io.hahn_software.emrs.dtos.EmployeeRequest;
+import io.hahn_software.emrs.dtos.interfaces.CreateValidationGroup;
+import io.hahn_software.emrs.enums.EmploymentStatus;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+
+/***
+ * Binds the records of an employee CSV file to {@link EmployeeRequest} , shared by the
+ * simple and the parallel import (and the validation by the streamed JSON ingestion) .
+ *
+ * The header names the request fields (case insensitive) , the id / createdAt / updatedAt
+ * columns of the CSV export are ignored so an export can be imported back as is .
+ */
+final class EmployeeCsvRows {
+
+
+    private static final Set<String> IGNORED_COLUMNS = Set.of("id", "createdat", "updatedat");
+
+
+    private EmployeeCsvRows () {}
+
+
+
+    /**
+     * A bound record , {@code errors} is empty when the request can be inserted.
+     */
+    record BoundRow(long row, EmployeeRequest request, List<String> errors) {
+
+        boolean isValid() {
+            return errors.isEmpty();
+        }
+    }
+
+
+
+    /**
+     * @return the column of every header field , null for ignored ones.
+     * @throws IllegalArgumentException when the header is missing , unknown or incomplete.
+     */
+    static Column[] readHeader(List<String> header) {
+
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty , a header row is required");
+        }
+
+        Column[] columns = new Column[header.size()];
+        Set<Column> seen = new HashSet<>();
+
+        for (int i = 0; i < header.size(); i++) {
+
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+
+            if (IGNORED_COLUMNS.contains(name)) {
+                continue;
+            }
+
+            Column column = Column.fromHeader(name);
+
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown column '" + header.get(i) + "'");
+            }
+
+            if (!seen.add(column)) {
+                throw new IllegalArgumentException("Duplicate column '" + header.get(i) + "'");
+            }
+
+            columns[i] = column;
+        }
+
+        if (seen.size() != Column.values().length) {
+            List<String> missing = Arrays.stream(Column.values())
+                .filter(column -> !seen.contains(column))
+                .map(Column::getHeader)
+                .toList();
+
+            throw new IllegalArgumentException("Missing columns " + missing);
+        }
+
+        return columns;
+    }
+
+
+
+    static boolean isBlank(List<String> record) {
+        return record.size() == 1 && record.get(0).isBlank();
+    }
+
+
+
+    /**
+     * Converts the record then validates it against {@link CreateValidationGroup}.
+     */
+    static BoundRow bind(long row, Column[] columns, List<String> record, Validator validator) {
+
+        List<String> errors = new ArrayList<>();
+        EmployeeRequest request = toRequest(columns, record, errors);
+
+        if (errors.isEmpty()) {
+            errors.addAll(validate(request, validator));
+        }
+
+        return new BoundRow(row, request, errors);
+    }
+
+
+
+    /**
+     * @return the messages of the {@link CreateValidationGroup} violations , ordered by field.
+     */
+    static List<String> validate(EmployeeRequest request, Validator validator) {
+
+        return validator.validate(request, CreateValidationGroup.class).stream()
+            .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+            .map(ConstraintViolation::getMessage)
+            .distinct()
+            .toList();
+    }
+
+
+
+    static String rootMessage(Throwable failure) {
+
+        Throwable root = failure;
+
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+
+        return root.getMessage();
+    }
+
+
+
+    private static EmployeeRequest toRequest(Column[] columns, List<String> record, List<String> errors) {
+
+        EmployeeRequest request = new EmployeeRequest();
+
+        if (record.size() != columns.length) {
+            errors.add("Expected " + columns.length + " fields but found " + record.size());
+            return request;
+        }
+
+        for (int i = 0; i < columns.length; i++) {
+
+            if (columns[i] == null) {
+                continue;
+            }
+
+            String value = record.get(i).trim();
+
+            if (value.isEmpty()) {
+                continue;
+            }
+
+            try {
+                columns[i].apply(request, value);
+            } catch (IllegalArgumentException e) {
+                errors.add("Invalid " + columns[i].getHeader() + " '" + value + "'");
+            }
+        }
+
+        return request;
+    }
+
+
+
+    enum Column {
+
+        FULL_NAME("fullName") {
+            void apply(EmployeeRequest request, String value) { request.setFullName(value); }
+        },
+        EMPLOYEE_ID("employeeID") {
+            void apply(EmployeeRequest request, String value) { request.setEmployeeID(Long.valueOf(value)); }
+        },
+        JOB_TITLE("jobTitle") {
+            void apply(EmployeeRequest request, String value) { request.setJobTitle(value); }
+        },
+        EMPLOYMENT_STATUS("employmentStatus") {
+            void apply(EmployeeRequest request, String value) {
+                request.setEmploymentStatus(EmploymentStatus.valueOf(value.toUpperCase(Locale.ROOT)));
+            }
+        },
+        ADDRESS("address") {
+            void apply(EmployeeRequest request, String value) { request.setAddress(value); }
+        },
+        PHONE("phone") {
+            void apply(EmployeeRequest request, String value) { request.setPhone(value); }
+        },
+        EMAIL("email") {
+            void apply(EmployeeRequest request, String value) { request.setEmail(value); }
+        },
+        DEPARTMENT_ID("departmentId") {
+            void apply(EmployeeRequest request, String value) { request.setDepartmentId(Long.valueOf(value)); }
+        };
+
+
+        private final String header;
+
+        Column(String header) {
+            this.header = header;
+        }
+
+        String getHeader() {
+            return header;
+        }
+
+        abstract void apply(EmployeeRequest request, String value);
+
+
+        static Column fromHeader(String lowerCaseName) {
+
+            // the export names the department column "department"
+            if (lowerCaseName.equals("department")) {
+                return DEPARTMENT_ID;
+            }
+
+            for (Column column : values()) {
+                if (column.header.toLowerCase(Locale.ROOT).equals(lowerCaseName)) {
+                    return column;
+                }
+            }
+
+            return null;
+        }
+    }
+}
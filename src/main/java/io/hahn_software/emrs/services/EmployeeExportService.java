@@ -0,0 +1,121 @@
+package io.hahn_software.emrs.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.dtos.EmployeeResponse;
+import io.hahn_software.emrs.enums.ExportFormat;
+import io.hahn_software.emrs.utils.CsvUtiles;
+import lombok.extern.slf4j.Slf4j;
+
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class EmployeeExportService {
+
+
+    private static final String[] CSV_HEADER = {
+        "id", "fullName", "employeeID", "jobTitle", "employmentStatus",
+        "address", "phone", "email", "department", "createdAt", "updatedAt"
+    };
+
+
+    private final EmployeeRepo employeeRepo;
+    private final ObjectWriter employeeWriter;
+
+
+    @Value("${emrs.export.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+
+    @Autowired
+    EmployeeExportService(
+        EmployeeRepo employeeRepo ,
+        ObjectMapper objectMapper
+    ) {
+        this.employeeRepo = employeeRepo ;
+
+        this.employeeWriter = objectMapper.writerFor(EmployeeResponse.class) ;
+    }
+
+
+
+    /**
+     * Streams every employee to the given output stream , row by row.
+     *
+     * @param format       NDJSON or CSV.
+     * @param outputStream Response body , it is flushed but not closed.
+     * @return Number of exported employees.
+     */
+    public long exportEmployees(ExportFormat format, OutputStream outputStream) throws IOException {
+
+        log.info("Exporting employees as {} with fetch size {}", format, fetchSize);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        if (format == ExportFormat.CSV) {
+            CsvUtiles.writeRow(writer, (Object[]) CSV_HEADER);
+        }
+
+        long rows;
+
+        try {
+            rows = employeeRepo.streamEmployeeResponses(fetchSize, employee -> {
+                try {
+                    writeEmployee(writer, format, employee);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // client went away , no need to keep reading the table
+            throw e.getCause();
+        }
+
+        writer.flush();
+
+        log.info("Exported {} employees ✅", rows);
+
+        return rows;
+    }
+
+
+
+    private void writeEmployee(Writer writer, ExportFormat format, EmployeeResponse employee) throws IOException {
+
+        if (format == ExportFormat.CSV) {
+            CsvUtiles.writeRow(writer,
+                employee.getId(),
+                employee.getFullName(),
+                employee.getEmployeeID(),
+                employee.getJobTitle(),
+                employee.getEmploymentStatus(),
+                employee.getAddress(),
+                employee.getPhone(),
+                employee.getEmail(),
+                employee.getDepartment(),
+                employee.getCreatedAt(),
+                employee.getUpdatedAt()
+            );
+            return;
+        }
+
+        writer.write(employeeWriter.writeValueAsString(employee));
+        writer.write('\n');
+    }
+}
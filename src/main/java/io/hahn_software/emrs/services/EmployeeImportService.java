@@ -0,0 +1,379 @@
+package io.hahn_software.emrs.services;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hahn_software.emrs.annotations.LogUserOperation;
+import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.dtos.EmployeeRequest;
+import io.hahn_software.emrs.dtos.EmployeeResponse;
+import io.hahn_software.emrs.dtos.ImportReport;
+import io.hahn_software.emrs.dtos.interfaces.CreateValidationGroup;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.mappers.EmployeeMapper;
+import io.hahn_software.emrs.utils.CsvUtiles;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+
+/***
+ * Imports employees from a CSV upload or a streamed JSON array .
+ *
+ * The input is read record by record and only one chunk of valid rows is held at a time ,
+ * each chunk is inserted through {@link EmployeeRepo#insertEmployeeInBatch} in its own
+ * transaction , so memory stays flat whatever the size of the upload . A chunk the database
+ * rejects is replayed row by row to tell which rows are at fault , the others are kept .
+ */
+@Slf4j
+@Service
+public class EmployeeImportService {
+
+
+    private final EmployeeRepo employeeRepo;
+    private final EmployeeMapper employeeMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+
+    @Value("${emrs.import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${emrs.import.max-reported-errors:1000}")
+    private int maxReportedErrors = 1000;
+
+    @Value("${emrs.import.max-record-chars:65536}")
+    private int maxRecordChars = 65536;
+
+    /**
+     * Elements of a streamed JSON array committed per transaction , a multiple of the JDBC batch size.
+     */
+    @Value("${emrs.ingest.stream.chunk-size:500}")
+    private int streamChunkSize = 500;
+
+
+
+    /**
+     * Told about every row as soon as its fate is known , lets callers stream their response.
+     */
+    private interface Listener {
+
+        default void created(EmployeeResponse employee) {}
+
+        default void rejected(ImportReport.RowError error) {}
+    }
+
+
+    private static final Listener NO_LISTENER = new Listener() {};
+
+
+    @Autowired
+    EmployeeImportService(
+        EmployeeRepo employeeRepo ,
+        EmployeeMapper employeeMapper ,
+        Validator validator ,
+        PlatformTransactionManager transactionManager ,
+        ObjectMapper objectMapper
+    ) {
+        this.employeeRepo = employeeRepo ;
+        this.employeeMapper = employeeMapper ;
+        this.validator = validator ;
+        this.objectMapper = objectMapper ;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager) ;
+    }
+
+
+
+    /**
+     * Imports every row of a CSV file whose header names the {@link EmployeeRequest} fields
+     * (a file produced by the CSV export is accepted as is).
+     *
+     * @param inputStream UTF-8 CSV content , it is closed once read.
+     * @return How many rows were imported and why the others were not.
+     * @throws IllegalArgumentException when the header is missing , unknown or incomplete.
+     */
+    @LogUserOperation("Import employees from CSV")
+    public ImportReport importEmployees(InputStream inputStream) throws IOException {
+
+        ImportReport report = new ImportReport();
+
+        try (CsvUtiles.RecordReader reader = new CsvUtiles.RecordReader(
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)), maxRecordChars)) {
+
+            EmployeeCsvRows.Column[] columns = EmployeeCsvRows.readHeader(reader.next());
+
+            List<PendingRow> chunk = new ArrayList<>(chunkSize);
+            long row = 0 ;
+
+            List<String> record;
+
+            while ((record = nextRecord(reader, report, row, NO_LISTENER)) != null) {
+
+                if (EmployeeCsvRows.isBlank(record)) {
+                    continue;
+                }
+
+                row++;
+                report.setProcessedRows(report.getProcessedRows() + 1);
+
+                EmployeeCsvRows.BoundRow bound = EmployeeCsvRows.bind(row, columns, record, validator);
+
+                if (!bound.isValid()) {
+                    reject(report, row, bound.errors(), NO_LISTENER);
+                    continue;
+                }
+
+                chunk.add(new PendingRow(row, employeeMapper.toEmployee(bound.request())));
+
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, report, NO_LISTENER);
+                }
+            }
+
+            flush(chunk, report, NO_LISTENER);
+        }
+
+        log.info("Imported {} of {} employees , {} rejected ✅",
+            report.getImportedRows(), report.getProcessedRows(), report.getFailedRows());
+
+        return report;
+    }
+
+
+
+    /**
+     * Streaming counterpart of {@link EmployeeService#createEmployeesInBatch} : the JSON array
+     * is read element by element , every element is validated against {@link CreateValidationGroup}
+     * and valid ones are committed in chunks of {@code emrs.ingest.stream.chunk-size}.
+     *
+     * Invalid elements are skipped and reported , {@code row} being their 1 based position in the
+     * array. A malformed document stops the ingestion , chunks already committed are kept.
+     *
+     * @param inputStream JSON array of {@link EmployeeRequest} , it is closed once read.
+     * @return The summary of the ingestion.
+     * @throws IllegalArgumentException when the body is not a JSON array.
+     */
+    @LogUserOperation("Create employees from a streamed array")
+    public ImportReport ingestEmployees(InputStream inputStream) throws IOException {
+        return ingest(inputStream, NO_LISTENER);
+    }
+
+
+
+    /**
+     * Same as {@link #ingestEmployees(InputStream)} , every created employee and every rejected
+     * element is written to {@code outputStream} as one NDJSON line as soon as it is known
+     * (an {@link EmployeeResponse} , or a {@link ImportReport.RowError} carrying {@code row}).
+     *
+     * @param outputStream Response body , it is flushed but not closed.
+     */
+    @LogUserOperation("Create employees from a streamed array")
+    public ImportReport ingestEmployees(InputStream inputStream, OutputStream outputStream) throws IOException {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        Listener listener = new Listener() {
+
+            @Override
+            public void created(EmployeeResponse employee) {
+                writeLine(writer, employee);
+            }
+
+            @Override
+            public void rejected(ImportReport.RowError error) {
+                writeLine(writer, error);
+            }
+        };
+
+        ImportReport report;
+
+        try {
+            report = ingest(inputStream, listener);
+        } catch (UncheckedIOException e) {
+            // client went away , stop reading its array
+            throw e.getCause();
+        }
+
+        writer.flush();
+
+        return report;
+    }
+
+
+
+    private ImportReport ingest(InputStream inputStream, Listener listener) throws IOException {
+
+        ImportReport report = new ImportReport();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of employees");
+            }
+
+            List<PendingRow> chunk = new ArrayList<>(streamChunkSize);
+            long row = 0 ;
+
+            while (true) {
+
+                EmployeeRequest request;
+
+                try {
+                    JsonToken token = parser.nextToken();
+
+                    if (token == JsonToken.END_ARRAY || token == null) {
+                        break;
+                    }
+
+                    row++;
+                    report.setProcessedRows(report.getProcessedRows() + 1);
+
+                    request = objectMapper.readValue(parser, EmployeeRequest.class);
+
+                } catch (JsonProcessingException e) {
+                    // the parser can not be trusted past a syntax or binding error , stop here
+                    reject(report, row, List.of(e.getOriginalMessage()), listener);
+                    break;
+                }
+
+                List<String> errors = EmployeeCsvRows.validate(request, validator);
+
+                if (!errors.isEmpty()) {
+                    reject(report, row, errors, listener);
+                    continue;
+                }
+
+                chunk.add(new PendingRow(row, employeeMapper.toEmployee(request)));
+
+                if (chunk.size() >= streamChunkSize) {
+                    flush(chunk, report, listener);
+                }
+            }
+
+            flush(chunk, report, listener);
+        }
+
+        log.info("Created {} of {} streamed employees , {} rejected ✅",
+            report.getImportedRows(), report.getProcessedRows(), report.getFailedRows());
+
+        return report;
+    }
+
+
+
+    private void writeLine(Writer writer, Object value) {
+        try {
+            writer.write(objectMapper.writeValueAsString(value));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+
+    private List<String> nextRecord(CsvUtiles.RecordReader reader, ImportReport report, long row, Listener listener) throws IOException {
+        try {
+            return reader.next();
+        } catch (IllegalArgumentException e) {
+            // the stream can not be resynchronised after a broken quote , stop here
+            report.setProcessedRows(report.getProcessedRows() + 1);
+            reject(report, row + 1, List.of(e.getMessage()), listener);
+            return null;
+        }
+    }
+
+
+
+    private void flush(List<PendingRow> chunk, ImportReport report, Listener listener) {
+
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            insert(chunk);
+            report.setImportedRows(report.getImportedRows() + chunk.size());
+
+            for (PendingRow pendingRow : chunk) {
+                listener.created(employeeMapper.toEmployeeResponse(pendingRow.employee()));
+            }
+
+        } catch (RuntimeException chunkFailure) {
+
+            log.warn("Chunk of {} rows starting at row {} was rejected , retrying row by row : {}",
+                chunk.size(), chunk.get(0).row(), chunkFailure.getMessage());
+
+            for (PendingRow pendingRow : chunk) {
+                try {
+                    // persist assigned an id to the failed attempt , start over from a clean entity
+                    pendingRow.employee().setId(null);
+                    insert(List.of(pendingRow));
+                    report.setImportedRows(report.getImportedRows() + 1);
+                } catch (RuntimeException rowFailure) {
+                    reject(report, pendingRow.row(), List.of(EmployeeCsvRows.rootMessage(rowFailure)), listener);
+                    continue;
+                }
+
+                listener.created(employeeMapper.toEmployeeResponse(pendingRow.employee()));
+            }
+        }
+
+        chunk.clear();
+    }
+
+
+
+    private void insert(List<PendingRow> rows) {
+
+        List<Employee> employees = rows.stream()
+            .map(PendingRow::employee)
+            .toList();
+
+        transactionTemplate.executeWithoutResult(status -> employeeRepo.insertEmployeeInBatch(employees));
+    }
+
+
+
+    private void reject(ImportReport report, long row, List<String> messages, Listener listener) {
+
+        ImportReport.RowError error = new ImportReport.RowError(row, messages);
+
+        report.setFailedRows(report.getFailedRows() + 1);
+
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(error);
+        } else {
+            report.setErrorsTruncated(true);
+        }
+
+        listener.rejected(error);
+    }
+
+
+
+    private record PendingRow(long row, Employee employee) {
+    }
+}
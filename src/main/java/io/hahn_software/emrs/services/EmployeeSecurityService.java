@@ -0,0 +1,117 @@
+package io.hahn_software.emrs.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+
+import io.hahn_software.emrs.dao.cache.OrgChartCache;
+import io.hahn_software.emrs.dao.cache.OrgChartIndex;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Answers the manager checks of the {@code @PreAuthorize} expressions of the employee endpoints .
+ *
+ * The caller is the employee whose userId is the "sub" claim of the JWT . Every check is answered
+ * from the in-memory {@link OrgChartIndex} : a hash lookup plus two int
+ * comparisons per employee , no query .
+ */
+@Slf4j
+@Service("employeeSecurityService")
+public class EmployeeSecurityService {
+
+
+    /**
+     * Roles that see every employee , their listings are not scoped to reports.
+     */
+    private static final Set<String> UNSCOPED_AUTHORITIES = Set.of("ROLE_HR_Personnel", "ROLE_Administrator");
+
+
+    private final OrgChartCache orgChartCache;
+
+
+    @Autowired
+    EmployeeSecurityService(OrgChartCache orgChartCache) {
+        this.orgChartCache = orgChartCache ;
+    }
+
+
+
+    /**
+     * @return true when the employee reports to the caller , directly or not.
+     */
+    public boolean isManagerOfEmployee(Long employeeId) {
+        return employeeId != null && isManagerOfEmployees(List.of(employeeId));
+    }
+
+
+
+    /**
+     * @return true when every one of the employees reports to the caller , directly or not.
+     */
+    public boolean isManagerOfEmployees(Collection<Long> employeeIds) {
+
+        Long managerId = currentEmployeeId();
+
+        boolean allowed = managerId != null && orgChartCache.index().isManagerOfAll(managerId, employeeIds);
+
+        log.debug("Manager {} of {} : {} 🔖", managerId, employeeIds, allowed);
+
+        return allowed;
+    }
+
+
+
+    /**
+     * @return true when the caller is an employee , the listings then only show their reports.
+     */
+    public boolean isManager() {
+        return currentEmployeeId() != null;
+    }
+
+
+
+    /**
+     * @return the employee id the listings of the caller are scoped to , null when the caller sees
+     *         everyone , {@link OrgChartIndex#NO_MANAGER} (no report) when the caller is no employee.
+     */
+    public Long scopedManagerId() {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null) {
+            return OrgChartIndex.NO_MANAGER;
+        }
+
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (UNSCOPED_AUTHORITIES.contains(authority.getAuthority())) {
+                return null;
+            }
+        }
+
+        Long employeeId = currentEmployeeId();
+
+        return employeeId != null ? employeeId : OrgChartIndex.NO_MANAGER;
+    }
+
+
+
+    private Long currentEmployeeId() {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
+            return null;
+        }
+
+        return orgChartCache.index().employeeOfUser(jwt.getSubject());
+    }
+}
@@ -1,21 +1,45 @@
 package io.hahn_software.emrs.services;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import io.hahn_software.emrs.annotations.LogUserOperation;
+import io.hahn_software.emrs.dao.cache.EmployeeNearCache;
 import io.hahn_software.emrs.dao.repositories.DepartmentRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeCopyRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeePatchRepo;
 import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeSearchRepo;
+import io.hahn_software.emrs.dtos.CursorPageDTO;
+import io.hahn_software.emrs.dtos.EmployeeFilter;
+import io.hahn_software.emrs.dtos.EmployeeMatch;
+import io.hahn_software.emrs.dtos.EmployeePatch;
 import io.hahn_software.emrs.dtos.EmployeeRequest;
 import io.hahn_software.emrs.dtos.EmployeeResponse;
+import io.hahn_software.emrs.dtos.EmployeeSearch;
+import io.hahn_software.emrs.dtos.EmployeeSortOrder;
 import io.hahn_software.emrs.dtos.OperationResult;
 import io.hahn_software.emrs.dtos.PageDTO;
+import io.hahn_software.emrs.dtos.PatchResult;
+import io.hahn_software.emrs.dtos.UpsertResult;
+import io.hahn_software.emrs.dtos.interfaces.UpdateValidationGroup;
 import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.ConflictPolicy;
+import io.hahn_software.emrs.enums.CountStrategy;
 import io.hahn_software.emrs.mappers.EmployeeMapper;
-import jakarta.transaction.Transactional;
+import io.hahn_software.emrs.utils.CursorUtiles;
+import jakarta.validation.Validator;
 import lombok.Data;
 
 
@@ -26,20 +50,50 @@ public class EmployeeService {
 
 
     private final EmployeeRepo employeeRepo;
+    private final EmployeeCopyRepo employeeCopyRepo;
     private final DepartmentRepo departmentRepo;
     private final EmployeeMapper employeeMapper;
+    private final EmployeeNearCache employeeNearCache;
+    private final EmployeePatchRepo employeePatchRepo;
+    private final EmployeeSearchRepo employeeSearchRepo;
+    private final Validator validator;
+
+
+    /**
+     * Batches of at least this many employees go through PostgreSQL COPY
+     * instead of the persist loop.
+     */
+    @Value("${emrs.ingest.copy-threshold:1000}")
+    private int copyThreshold = 1000;
+
+
+    /**
+     * Count strategy of paginated listings when the request does not pick one.
+     */
+    @Value("${emrs.pagination.count-strategy:EXACT}")
+    private CountStrategy defaultCountStrategy = CountStrategy.EXACT;
 
 
     @Autowired
     EmployeeService(
         EmployeeRepo employeeRepo ,
+        EmployeeCopyRepo employeeCopyRepo ,
         DepartmentRepo departmentRepo ,
-        EmployeeMapper employeeMapper
+        EmployeeMapper employeeMapper ,
+        EmployeeNearCache employeeNearCache ,
+        EmployeePatchRepo employeePatchRepo ,
+        EmployeeSearchRepo employeeSearchRepo ,
+        Validator validator
     ) {
         this.departmentRepo = departmentRepo ;
         this.employeeRepo = employeeRepo ;
+        this.employeeCopyRepo = employeeCopyRepo ;
 
         this.employeeMapper = employeeMapper ;
+        this.employeeNearCache = employeeNearCache ;
+        this.employeePatchRepo = employeePatchRepo ;
+        this.employeeSearchRepo = employeeSearchRepo ;
+        this.validator = validator ;
     }
     
 
@@ -50,14 +104,103 @@ public class EmployeeService {
         // Map EmployeeRequest list to Employee list
         List<Employee> employees = employeeMapper.toEmployeeList(employeeRequests);
 
-        // Save all employees in batch
-        List<Employee> savedEmployees = employeeRepo.insertEmployeeInBatch(employees);
+        // Save all employees in batch , large imports are streamed with COPY
+        List<Employee> savedEmployees;
+
+        if (employees.size() >= copyThreshold) {
+            savedEmployees = employeeCopyRepo.copyEmployees(employees);
+            // COPY bypasses EmployeeRepo , drop its cached count by hand
+            employeeRepo.invalidateCount();
+        } else {
+            savedEmployees = employeeRepo.insertEmployeeInBatch(employees);
+        }
 
         return employeeMapper.toEmployeeResponseList(savedEmployees);
     }
 
 
 
+    /**
+     * Creates the employees , an employeeID that already exists is handled according to
+     * {@code policy} instead of failing the whole batch.
+     *
+     * When the request repeats an employeeID , UPDATE keeps its last element and SKIP its first ,
+     * the others are reported as SKIPPED. FAIL keeps them all and fails on the duplicate.
+     *
+     * @return The outcome of every element , in request order.
+     */
+    @LogUserOperation("Upsert employees in batch")
+    public UpsertResult upsertEmployeesInBatch(List<EmployeeRequest> employeeRequests, ConflictPolicy policy) {
+
+        List<Employee> employees = employeeMapper.toEmployeeList(employeeRequests);
+
+        // index of the element that is written for every employeeID
+        Map<Long, Integer> kept = new HashMap<>();
+
+        for (int i = 0; i < employees.size(); i++) {
+            if (policy == ConflictPolicy.UPDATE) {
+                kept.put(employees.get(i).getEmployeeID(), i);
+            } else {
+                kept.putIfAbsent(employees.get(i).getEmployeeID(), i);
+            }
+        }
+
+        List<Employee> toWrite = new ArrayList<>(kept.size());
+
+        for (int i = 0; i < employees.size(); i++) {
+            if (policy == ConflictPolicy.FAIL || kept.get(employees.get(i).getEmployeeID()) == i) {
+                toWrite.add(employees.get(i));
+            }
+        }
+
+        Map<Long, UpsertResult.Row> written = new HashMap<>();
+
+        employeeCopyRepo.upsertEmployees(toWrite, policy)
+            .forEach(row -> written.put(row.employeeID(), row));
+
+        List<UpsertResult.Row> rows = new ArrayList<>(employees.size());
+        int[] counts = new int[UpsertResult.Outcome.values().length];
+
+        for (int i = 0; i < employees.size(); i++) {
+
+            Long employeeID = employees.get(i).getEmployeeID();
+
+            UpsertResult.Row row;
+
+            if (policy != ConflictPolicy.FAIL && kept.get(employeeID) != i) {
+                row = new UpsertResult.Row(employeeID, null, UpsertResult.Outcome.SKIPPED);
+            } else if (written.containsKey(employeeID)) {
+                row = written.get(employeeID);
+            } else {
+                row = new UpsertResult.Row(employeeID, null,
+                    policy == ConflictPolicy.UPDATE ? UpsertResult.Outcome.UNCHANGED : UpsertResult.Outcome.SKIPPED);
+            }
+
+            rows.add(row);
+            counts[row.outcome().ordinal()]++;
+        }
+
+        // the statement bypasses EmployeeRepo , drop what it cached by hand
+        employeeRepo.invalidateCount();
+        employeeNearCache.invalidate(
+            written.values().stream()
+                .filter(row -> row.outcome() == UpsertResult.Outcome.UPDATED)
+                .map(UpsertResult.Row::id)
+                .toList()
+        );
+
+        return new UpsertResult(
+            policy,
+            counts[UpsertResult.Outcome.INSERTED.ordinal()],
+            counts[UpsertResult.Outcome.UPDATED.ordinal()],
+            counts[UpsertResult.Outcome.UNCHANGED.ordinal()],
+            counts[UpsertResult.Outcome.SKIPPED.ordinal()],
+            rows
+        );
+    }
+
+
+
     /**
      * Delete employees by their IDs.
      *
@@ -83,17 +226,38 @@ public class EmployeeService {
      * @param ids List of employee IDs.
      * @return List of EmployeeResponse DTOs.
      */
+    @Transactional(readOnly = true)
     @LogUserOperation
     public List<EmployeeResponse> findEmployees(List<Long> ids) {
         if (ids == null || ids.isEmpty()) {
             return Collections.emptyList();
         }
 
-        // Find employees by IDs
-        List<Employee> employees = employeeRepo.findEmployees(ids);
+        // Serve what we can from memory , one IN query for the rest
+        Map<Long, EmployeeResponse> found = new HashMap<>(employeeNearCache.getAllPresent(ids));
+
+        List<Long> misses = ids.stream()
+            .distinct()
+            .filter(id -> !found.containsKey(id))
+            .toList();
+
+        if (!misses.isEmpty()) {
+
+            // Captured before the read , rows read before a concurrent commit are not cached
+            long readEpoch = employeeNearCache.epoch();
+
+            // Projected straight into EmployeeResponse DTOs
+            List<EmployeeResponse> loaded = employeeRepo.findEmployeeResponses(misses);
+
+            employeeNearCache.putAll(loaded, readEpoch);
+            loaded.forEach(employee -> found.put(employee.getId(), employee));
+        }
 
-        // Map employees to EmployeeResponse DTOs
-        return employeeMapper.toEmployeeResponseList(employees);
+        return ids.stream()
+            .distinct()
+            .map(found::get)
+            .filter(Objects::nonNull)
+            .toList();
     }
 
 
@@ -101,26 +265,300 @@ public class EmployeeService {
     /**
      * Get employees with pagination.
      *
-     * @param page     Page number (starting from 0).
-     * @param pageSize Number of employees per page.
+     * @param page          Page number (starting from 0).
+     * @param pageSize      Number of employees per page.
+     * @param countStrategy How totalElements is computed , null for the configured default.
      * @return List of EmployeeResponse DTOs.
      */
-    public PageDTO<EmployeeResponse> getEmployeesWithPagination(int page, int pageSize) {
+    @Transactional(readOnly = true)
+    public PageDTO<EmployeeResponse> getEmployeesWithPagination(int page, int pageSize, CountStrategy countStrategy) {
+        if (page < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Page and pageSize must be positive values");
+        }
+
+        CountStrategy strategy = countStrategy != null ? countStrategy : defaultCountStrategy;
+        boolean withTotal = strategy != CountStrategy.NONE;
+
+        // Fetch employees with pagination , plus one row to compute hasNext when there is no total
+        List<EmployeeResponse> content = employeeRepo.employeeResponsesWithPagination(page, pageSize, !withTotal);
+
+        boolean lookAheadHit = !withTotal && content.size() > pageSize;
+
+        if (lookAheadHit) {
+            content = content.subList(0, pageSize);
+        }
+
+
+        Long totalElements = employeeRepo.count(strategy);
+
+        Integer totalPages = withTotal ? (int) Math.ceil((double) totalElements / pageSize) : null;
+
+        boolean hasNext = withTotal ? (long) (page + 1) * pageSize < totalElements : lookAheadHit;
+
+        return new PageDTO<>(content, page, pageSize, totalElements, totalPages, hasNext, strategy);
+    }
+
+
+
+    /**
+     * Get employees with keyset (cursor) pagination.
+     *
+     * @param after    Opaque cursor returned by the previous page , null or blank for the first page.
+     * @param pageSize Number of employees per page.
+     * @return Page of EmployeeResponse DTOs with the cursor of the next page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeResponse> getEmployeesAfter(String after, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be a positive value");
+        }
+
+        Long lastId = CursorUtiles.decodeId(after);
+
+        // Fetch one extra row to know if there is a next page without a count query
+        List<EmployeeResponse> content = employeeRepo.employeeResponsesAfter(lastId, pageSize + 1);
+
+        boolean hasNext = content.size() > pageSize;
+
+        if (hasNext) {
+            content = content.subList(0, pageSize);
+        }
+
+        String nextCursor = hasNext
+            ? CursorUtiles.encodeId(content.get(content.size() - 1).getId())
+            : null;
+
+        return new CursorPageDTO<>(content, pageSize, nextCursor, hasNext);
+    }
+
+
+
+    /**
+     * Filtered and sorted page of employees , ties broken by id.
+     *
+     * @param search        Conditions , sort and manager scope of the listing.
+     * @param page          Page number (starting from 0).
+     * @param pageSize      Number of employees per page.
+     * @param countStrategy EXACT counts the matching employees , NONE skips the count , null for the configured default.
+     */
+    @Transactional(readOnly = true)
+    public PageDTO<EmployeeResponse> searchEmployees(EmployeeSearch search, int page, int pageSize, CountStrategy countStrategy) {
+        if (page < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Page and pageSize must be positive values");
+        }
+
+        // a filtered total can not be read from the estimate of the whole table
+        CountStrategy strategy = (countStrategy != null ? countStrategy : defaultCountStrategy) == CountStrategy.NONE
+            ? CountStrategy.NONE
+            : CountStrategy.EXACT;
+
+        boolean withTotal = strategy == CountStrategy.EXACT;
+
+        List<EmployeeResponse> content = employeeSearchRepo.searchEmployees(search, page, pageSize, !withTotal);
+
+        boolean lookAheadHit = !withTotal && content.size() > pageSize;
+
+        if (lookAheadHit) {
+            content = content.subList(0, pageSize);
+        }
+
+        Long totalElements = withTotal ? employeeSearchRepo.countEmployees(search) : null;
+
+        Integer totalPages = withTotal ? (int) Math.ceil((double) totalElements / pageSize) : null;
+
+        boolean hasNext = withTotal ? (long) (page + 1) * pageSize < totalElements : lookAheadHit;
+
+        return new PageDTO<>(content, page, pageSize, totalElements, totalPages, hasNext, strategy);
+    }
+
+
+
+    /**
+     * Keyset page of a filtered and sorted listing , the cursor carries the sort key values of
+     * the last row so it is only valid for the same sort.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeResponse> searchEmployeesAfter(EmployeeSearch search, String after, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be a positive value");
+        }
+
+        List<EmployeeSortOrder> keys = search.keys();
+
+        String[] cursor = CursorUtiles.decode(after);
+
+        if (cursor.length != 0 && cursor.length != keys.size()) {
+            throw new IllegalArgumentException("Invalid pagination cursor");
+        }
+
+        Object[] lastValues = new Object[cursor.length];
+
+        for (int i = 0; i < cursor.length; i++) {
+            lastValues[i] = keys.get(i).key().parse(cursor[i]);
+        }
+
+        // Fetch one extra row to know if there is a next page without a count query
+        List<EmployeeResponse> content = employeeSearchRepo.searchEmployeesAfter(search, lastValues, pageSize + 1);
+
+        boolean hasNext = content.size() > pageSize;
+
+        if (hasNext) {
+            content = content.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+
+        if (hasNext) {
+            EmployeeResponse last = content.get(content.size() - 1);
+
+            nextCursor = CursorUtiles.encode(
+                keys.stream()
+                    .map(order -> String.valueOf(order.key().valueOf(last)))
+                    .toArray(String[]::new)
+            );
+        }
+
+        return new CursorPageDTO<>(content, pageSize, nextCursor, hasNext);
+    }
+
+
+
+    /**
+     * Longest full-text query accepted , every word is a term of the tsquery.
+     */
+    private static final int MAX_SEARCH_TEXT_LENGTH = 256;
+
+
+
+    /**
+     * Full-text search of employees (name , job title , email , address) , best matches first.
+     *
+     * @param text      Words to look for , web search syntax ("quoted phrase" , or , -excluded).
+     * @param managerId Only the reports of this manager , null for every employee.
+     * @param after     Opaque cursor returned by the previous page , null or blank for the first page.
+     * @param pageSize  Number of employees per page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeResponse> searchEmployeesByText(String text, Long managerId, String after, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be a positive value");
+        }
+
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("The search text can not be empty");
+        }
+
+        if (text.length() > MAX_SEARCH_TEXT_LENGTH) {
+            throw new IllegalArgumentException("The search text can not be longer than " + MAX_SEARCH_TEXT_LENGTH + " characters");
+        }
+
+        // the cursor is the (rank , id) of the last row
+        String[] cursor = CursorUtiles.decode(after);
+
+        Float lastRank = null;
+        Long lastId = null;
+
+        if (cursor.length != 0) {
+            if (cursor.length != 2) {
+                throw new IllegalArgumentException("Invalid pagination cursor");
+            }
+
+            try {
+                lastRank = Float.valueOf(cursor[0]);
+                lastId = Long.valueOf(cursor[1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid pagination cursor", e);
+            }
+        }
+
+        // Fetch one extra row to know if there is a next page without a count query
+        List<EmployeeMatch> matches = employeeSearchRepo.matchEmployees(text, managerId, lastRank, lastId, pageSize + 1);
+
+        boolean hasNext = matches.size() > pageSize;
+
+        if (hasNext) {
+            matches = matches.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+
+        if (hasNext) {
+            EmployeeMatch last = matches.get(matches.size() - 1);
+            nextCursor = CursorUtiles.encode(String.valueOf(last.rank()), String.valueOf(last.employee().getId()));
+        }
+
+        List<EmployeeResponse> content = matches.stream().map(EmployeeMatch::employee).toList();
+
+        return new CursorPageDTO<>(content, pageSize, nextCursor, hasNext);
+    }
+
+
+
+    /**
+     * Page of the direct and indirect reports of a manager , ordered by id.
+     *
+     * The scope is a join against the reporting closure , so the page and its exact total only
+     * read the rows of the reports.
+     *
+     * @param countStrategy NONE skips the count , any other counts the reports exactly , null for the configured default.
+     */
+    @Transactional(readOnly = true)
+    public PageDTO<EmployeeResponse> getReportsWithPagination(long managerId, int page, int pageSize, CountStrategy countStrategy) {
         if (page < 0 || pageSize <= 0) {
             throw new IllegalArgumentException("Page and pageSize must be positive values");
         }
 
-        // Fetch employees with pagination
-        List<Employee> employees = employeeRepo.employeesWithPagination(page, pageSize);
+        // the estimate and the cached count are of the whole table , not of the reports of a manager
+        CountStrategy strategy = (countStrategy != null ? countStrategy : defaultCountStrategy) == CountStrategy.NONE
+            ? CountStrategy.NONE
+            : CountStrategy.EXACT;
+
+        boolean withTotal = strategy == CountStrategy.EXACT;
+
+        List<EmployeeResponse> content = employeeRepo.reportResponsesWithPagination(managerId, page, pageSize, !withTotal);
+
+        boolean lookAheadHit = !withTotal && content.size() > pageSize;
+
+        if (lookAheadHit) {
+            content = content.subList(0, pageSize);
+        }
+
+        Long totalElements = withTotal ? employeeRepo.countReports(managerId) : null;
+
+        Integer totalPages = withTotal ? (int) Math.ceil((double) totalElements / pageSize) : null;
+
+        boolean hasNext = withTotal ? (long) (page + 1) * pageSize < totalElements : lookAheadHit;
+
+        return new PageDTO<>(content, page, pageSize, totalElements, totalPages, hasNext, strategy);
+    }
+
+
+
+    /**
+     * Keyset page of the direct and indirect reports of a manager , same cursors as {@link #getEmployeesAfter}.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeResponse> getReportsAfter(long managerId, String after, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be a positive value");
+        }
+
+        Long lastId = CursorUtiles.decodeId(after);
 
-        List<EmployeeResponse> content = employeeMapper.toEmployeeResponseList(employees) ;
+        // Fetch one extra row to know if there is a next page without a count query
+        List<EmployeeResponse> content = employeeRepo.reportResponsesAfter(managerId, lastId, pageSize + 1);
 
+        boolean hasNext = content.size() > pageSize;
 
-        long totalElements = employeeRepo.count();
+        if (hasNext) {
+            content = content.subList(0, pageSize);
+        }
 
-        int totalPages = (int) Math.ceil((double) totalElements / pageSize);
+        String nextCursor = hasNext
+            ? CursorUtiles.encodeId(content.get(content.size() - 1).getId())
+            : null;
 
-        return new PageDTO<>(content, page, pageSize, totalElements, totalPages);
+        return new CursorPageDTO<>(content, pageSize, nextCursor, hasNext);
     }
 
 
@@ -149,4 +587,200 @@ public class EmployeeService {
         return OperationResult.of(count);
     }
 
+
+
+    /**
+     * Counts the employees a filtered update / delete would touch , nothing is changed.
+     *
+     * @param filter Conditions the employees must all match.
+     * @return Number of matching employees.
+     */
+    @Transactional(readOnly = true)
+    @LogUserOperation("Dry run of a filtered bulk operation")
+    public OperationResult countEmployeesMatching(EmployeeFilter filter) {
+
+        requireCondition(filter);
+
+        long count = employeeRepo.countEmployeesMatching(filter);
+
+        return OperationResult.of(Math.toIntExact(count), "Dry run , no employee was changed.");
+    }
+
+
+
+    /**
+     * Update every employee matching the filter with a single statement.
+     *
+     * @param filter   Conditions the employees must all match.
+     * @param employee Employee object containing the fields to update.
+     * @return Number of employees updated.
+     */
+    @LogUserOperation("Update employees matching a filter")
+    public OperationResult updateEmployeesMatching(EmployeeFilter filter, Employee employee) {
+
+        requireCondition(filter);
+
+        if (employee == null) {
+            throw new IllegalArgumentException("Employee object cannot be null");
+        }
+
+        return OperationResult.of(employeeRepo.updateEmployeesMatching(filter, employee));
+    }
+
+
+
+    /**
+     * Delete every employee matching the filter with a single statement.
+     *
+     * @param filter Conditions the employees must all match.
+     * @return Number of employees deleted.
+     */
+    @LogUserOperation("Delete employees matching a filter")
+    public OperationResult deleteEmployeesMatching(EmployeeFilter filter) {
+
+        requireCondition(filter);
+
+        return OperationResult.of(employeeRepo.deleteEmployeesMatching(filter));
+    }
+
+
+
+    private static void requireCondition(EmployeeFilter filter) {
+
+        // an empty filter would silently target the whole table
+        if (filter == null || filter.isEmpty()) {
+            throw new IllegalArgumentException("Filter needs at least one condition");
+        }
+    }
+
+
+
+    /**
+     * Applies a different set of changes to every employee , see {@link EmployeePatchRepo}.
+     *
+     * Items repeating an id are merged in request order (later fields win). The changed fields of
+     * an item are validated against {@link UpdateValidationGroup} , an item with an invalid field
+     * is rejected as a whole and the others are still applied.
+     *
+     * @param patches {id , changedFields} items.
+     * @return The outcome of every distinct id , in request order.
+     */
+    @LogUserOperation("Patch employees in batch")
+    public PatchResult patchEmployeesInBatch(List<EmployeePatch> patches) {
+
+        if (patches == null || patches.isEmpty()) {
+            throw new IllegalArgumentException("Patches list cannot be null or empty");
+        }
+
+        Map<Long, EmployeeRequest> merged = new LinkedHashMap<>();
+
+        for (EmployeePatch patch : patches) {
+
+            if (patch.getId() == null) {
+                throw new IllegalArgumentException("Every patch needs an id");
+            }
+
+            EmployeeRequest changes = patch.getChangedFields() != null ? patch.getChangedFields() : new EmployeeRequest();
+
+            merged.merge(patch.getId(), changes, EmployeeService::overlay);
+        }
+
+        Map<Long, List<String>> rejected = new HashMap<>();
+        List<Employee> toWrite = new ArrayList<>(merged.size());
+
+        merged.forEach((id, changes) -> {
+
+            List<String> errors = validateChangedFields(changes);
+
+            if (!errors.isEmpty()) {
+                rejected.put(id, errors);
+                return;
+            }
+
+            Employee employee = employeeMapper.toEmployee(changes);
+            employee.setId(id);
+            toWrite.add(employee);
+        });
+
+        Set<Long> updated = employeePatchRepo.patchEmployees(toWrite);
+
+        List<PatchResult.Row> rows = new ArrayList<>(merged.size());
+
+        for (Long id : merged.keySet()) {
+
+            if (rejected.containsKey(id)) {
+                rows.add(new PatchResult.Row(id, PatchResult.Outcome.REJECTED, rejected.get(id)));
+            } else if (updated.contains(id)) {
+                rows.add(new PatchResult.Row(id, PatchResult.Outcome.UPDATED, List.of()));
+            } else {
+                rows.add(new PatchResult.Row(id, PatchResult.Outcome.NOT_FOUND, List.of()));
+            }
+        }
+
+        return new PatchResult(updated.size(), merged.size() - updated.size() - rejected.size(), rejected.size(), rows);
+    }
+
+
+
+    private List<String> validateChangedFields(EmployeeRequest changes) {
+
+        List<String> errors = new ArrayList<>();
+        boolean changed = false;
+
+        for (Map.Entry<String, Object> field : changedFields(changes).entrySet()) {
+
+            if (field.getValue() == null) {
+                continue;
+            }
+
+            changed = true;
+
+            validator.validateProperty(changes, field.getKey(), UpdateValidationGroup.class)
+                .forEach(violation -> errors.add(violation.getMessage()));
+        }
+
+        if (!changed) {
+            errors.add("No field to change");
+        }
+
+        return errors;
+    }
+
+
+
+    private static Map<String, Object> changedFields(EmployeeRequest changes) {
+
+        Map<String, Object> fields = new LinkedHashMap<>();
+
+        fields.put("fullName", changes.getFullName());
+        fields.put("employeeID", changes.getEmployeeID());
+        fields.put("jobTitle", changes.getJobTitle());
+        fields.put("employmentStatus", changes.getEmploymentStatus());
+        fields.put("address", changes.getAddress());
+        fields.put("phone", changes.getPhone());
+        fields.put("email", changes.getEmail());
+        fields.put("departmentId", changes.getDepartmentId());
+        fields.put("managerId", changes.getManagerId());
+        fields.put("userId", changes.getUserId());
+
+        return fields;
+    }
+
+
+
+    private static EmployeeRequest overlay(EmployeeRequest base, EmployeeRequest changes) {
+
+        return new EmployeeRequest(
+            changes.getFullName() != null ? changes.getFullName() : base.getFullName(),
+            changes.getEmployeeID() != null ? changes.getEmployeeID() : base.getEmployeeID(),
+            changes.getJobTitle() != null ? changes.getJobTitle() : base.getJobTitle(),
+            changes.getEmploymentStatus() != null ? changes.getEmploymentStatus() : base.getEmploymentStatus(),
+            changes.getAddress() != null ? changes.getAddress() : base.getAddress(),
+            changes.getPhone() != null ? changes.getPhone() : base.getPhone(),
+            changes.getEmail() != null ? changes.getEmail() : base.getEmail(),
+            changes.getDepartmentId() != null ? changes.getDepartmentId() : base.getDepartmentId(),
+            changes.getManagerId() != null ? changes.getManagerId() : base.getManagerId(),
+            changes.getUserId() != null ? changes.getUserId() : base.getUserId()
+        );
+    }
 }
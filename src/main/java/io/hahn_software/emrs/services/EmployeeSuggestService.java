@@ -0,0 +1,92 @@
+package io.hahn_software.emrs.services;
+
+import java.util.List;
+import java.util.function.LongPredicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.hahn_software.emrs.dao.cache.EmployeeNameCache;
+import io.hahn_software.emrs.dao.cache.OrgChartCache;
+import io.hahn_software.emrs.dao.cache.OrgChartIndex;
+import io.hahn_software.emrs.dtos.EmployeeSuggestion;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Name typeahead (GET /employees/suggest) , answered from the in-memory
+ * {@link io.hahn_software.emrs.dao.cache.EmployeeNameIndex} : no query per keystroke .
+ *
+ * A manager only gets their reports , read from the {@link io.hahn_software.emrs.dao.cache.OrgChartIndex} .
+ */
+@Slf4j
+@Service
+public class EmployeeSuggestService {
+
+
+    /**
+     * Shortest prefix answered , a single character matches too much to be useful.
+     */
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final int MAX_PREFIX_LENGTH = 100;
+
+
+    @Value("${emrs.suggest.max-results:20}")
+    private int maxResults = 20;
+
+
+    private final EmployeeNameCache employeeNameCache;
+    private final OrgChartCache orgChartCache;
+
+
+    @Autowired
+    EmployeeSuggestService(
+        EmployeeNameCache employeeNameCache ,
+        OrgChartCache orgChartCache
+    ) {
+        this.employeeNameCache = employeeNameCache ;
+        this.orgChartCache = orgChartCache ;
+    }
+
+
+
+    /**
+     * @param prefix    start of the words of a name , or of an employeeID.
+     * @param managerId only the reports of this manager , null for every employee.
+     * @param limit     number of suggestions , at most emrs.suggest.max-results.
+     * @throws IllegalArgumentException for a prefix or a limit out of bounds.
+     * @throws IllegalStateException    while the index is being built for the first time.
+     */
+    public List<EmployeeSuggestion> suggestEmployees(String prefix, Long managerId, int limit) {
+
+        String trimmed = prefix == null ? "" : prefix.trim();
+
+        if (trimmed.length() < MIN_PREFIX_LENGTH || trimmed.length() > MAX_PREFIX_LENGTH) {
+            throw new IllegalArgumentException(
+                "The prefix must have between " + MIN_PREFIX_LENGTH + " and " + MAX_PREFIX_LENGTH + " characters"
+            );
+        }
+
+        if (limit <= 0 || limit > maxResults) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxResults);
+        }
+
+        if (!employeeNameCache.isLoaded()) {
+            throw new IllegalStateException("Employee suggestions are not available yet");
+        }
+
+        LongPredicate accept = id -> true;
+
+        if (managerId != null) {
+            // subtree interval check , O(1) per candidate and nothing copied per keystroke
+            OrgChartIndex orgChart = orgChartCache.index();
+            long manager = managerId;
+            accept = id -> orgChart.isManagerOf(manager, id);
+        }
+
+        return employeeNameCache.index().suggest(trimmed, limit, accept);
+    }
+}
@@ -0,0 +1,339 @@
+package io.hahn_software.emrs.services;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hahn_software.emrs.dao.repositories.UserLogRepo;
+import io.hahn_software.emrs.entities.UserLog;
+import io.hahn_software.emrs.enums.AuditOverflowPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Background writer of the user operation logs .
+ *
+ * The aspect only enqueues the final record of each operation ; a single thread
+ * drains the bounded queue and inserts the records by JDBC batches . When the queue
+ * is full the configured {@link AuditOverflowPolicy} applies , and on shutdown
+ * (after the web server stopped taking requests) everything left is flushed .
+ */
+@Slf4j
+@Component
+public class UserLogWriter implements SmartLifecycle {
+
+
+    private final UserLogRepo userLogRepo;
+
+    private final ObjectMapper objectMapper;
+
+    private final BlockingQueue<UserLog> queue;
+
+    private final AuditOverflowPolicy overflowPolicy;
+
+    private final Counter writtenRecords;
+    private final Counter droppedRecords;
+    private final Counter spilledRecords;
+
+
+    @Value("${emrs.audit.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${emrs.audit.flush-interval-ms:200}")
+    private long flushIntervalMs = 200;
+
+    @Value("${emrs.audit.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMs = 30000;
+
+    @Value("${emrs.audit.spill-file:audit-spill.ndjson}")
+    private Path spillFile = Path.of("audit-spill.ndjson");
+
+
+    private final Object spillLock = new Object();
+
+    private BufferedWriter spillWriter;
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+
+
+    @Autowired
+    UserLogWriter(
+        UserLogRepo userLogRepo ,
+        ObjectMapper objectMapper ,
+        MeterRegistry meterRegistry ,
+        @Value("${emrs.audit.queue-capacity:10000}") int queueCapacity ,
+        @Value("${emrs.audit.overflow-policy:BLOCK}") AuditOverflowPolicy overflowPolicy
+    ) {
+        this.userLogRepo = userLogRepo ;
+        this.objectMapper = objectMapper ;
+
+        this.queue = new ArrayBlockingQueue<>(queueCapacity) ;
+        this.overflowPolicy = overflowPolicy ;
+
+        this.writtenRecords = meterRegistry.counter("emrs.audit.records", "outcome", "written") ;
+        this.droppedRecords = meterRegistry.counter("emrs.audit.records", "outcome", "dropped") ;
+        this.spilledRecords = meterRegistry.counter("emrs.audit.records", "outcome", "spilled") ;
+
+        meterRegistry.gauge("emrs.audit.queue.size", queue, BlockingQueue::size) ;
+    }
+
+
+
+    /**
+     * Queues the final record of an operation , never touches the database.
+     */
+    public void submit(UserLog userLog) {
+
+        if (!running) {
+            // the pipeline is already stopped (shutdown) , do not lose the record
+            write(List.of(userLog));
+            return;
+        }
+
+        if (queue.offer(userLog)) {
+            return;
+        }
+
+        switch (overflowPolicy) {
+
+            case BLOCK -> {
+                try {
+                    queue.put(userLog);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    spill(List.of(userLog));
+                }
+            }
+
+            case DROP_OLDEST -> {
+                while (!queue.offer(userLog)) {
+                    if (queue.poll() != null) {
+                        droppedRecords.increment();
+                    }
+                }
+            }
+
+            case SPILL -> spill(List.of(userLog));
+        }
+    }
+
+
+
+    @Override
+    public void start() {
+
+        running = true;
+
+        worker = new Thread(this::drainLoop, "user-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+
+        log.info("User log writer started , overflow policy {} 🔖", overflowPolicy);
+    }
+
+
+
+    @Override
+    public void stop() {
+
+        running = false;
+
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // whatever the worker could not write in time is written by the stopping thread
+        List<UserLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        write(remaining);
+
+        replaySpill();
+
+        log.info("User log writer stopped , all records flushed ✅");
+    }
+
+
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+
+
+    /**
+     * Stops after the web server (higher phases stop first) so the records of the
+     * last requests are still written.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+
+
+    private void drainLoop() {
+
+        List<UserLog> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+
+            try {
+                UserLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+
+                if (first == null) {
+                    replaySpill();
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                write(batch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("User log writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+
+
+    private void write(List<UserLog> batch) {
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            userLogRepo.saveAll(batch);
+            writtenRecords.increment(batch.size());
+
+        } catch (RuntimeException e) {
+
+            log.error("Could not write {} user logs", batch.size(), e);
+
+            if (overflowPolicy == AuditOverflowPolicy.SPILL) {
+                // ids were assigned by the failed attempt , let the next one allocate new ones
+                batch.forEach(userLog -> userLog.setId(null));
+                spill(batch);
+            } else {
+                droppedRecords.increment(batch.size());
+            }
+        }
+    }
+
+
+
+    private void spill(List<UserLog> userLogs) {
+
+        synchronized (spillLock) {
+            try {
+                if (spillWriter == null) {
+                    spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+
+                for (UserLog userLog : userLogs) {
+                    spillWriter.write(objectMapper.writeValueAsString(userLog));
+                    spillWriter.newLine();
+                }
+
+                spillWriter.flush();
+                spilledRecords.increment(userLogs.size());
+
+            } catch (IOException e) {
+                log.error("Could not spill {} user logs to {}", userLogs.size(), spillFile, e);
+                droppedRecords.increment(userLogs.size());
+            }
+        }
+    }
+
+
+
+    /**
+     * Moves the spill file aside (new spills go to a fresh file) and writes its
+     * records back to the database.
+     */
+    private void replaySpill() {
+
+        Path replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+
+        synchronized (spillLock) {
+            try {
+                if (spillWriter != null) {
+                    spillWriter.close();
+                    spillWriter = null;
+                }
+
+                // a replay file left by a failed replay is replayed before rotating again
+                if (!Files.exists(replayFile)) {
+
+                    if (!Files.exists(spillFile) || Files.size(spillFile) == 0) {
+                        return;
+                    }
+
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+
+            } catch (IOException e) {
+                log.error("Could not rotate the spill file {}", spillFile, e);
+                return;
+            }
+        }
+
+        List<UserLog> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+
+                batch.add(objectMapper.readValue(line, UserLog.class));
+
+                if (batch.size() == batchSize) {
+                    write(new ArrayList<>(batch));
+                    batch.clear();
+                }
+            }
+
+            write(batch);
+
+            Files.delete(replayFile);
+
+        } catch (IOException e) {
+            log.error("Could not replay the spill file {}", replayFile, e);
+        }
+    }
+}
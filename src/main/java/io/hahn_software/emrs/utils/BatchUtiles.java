@@ -0,0 +1,129 @@
+package io.hahn_software.emrs.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+
+/***
+ * Splits id lists bound to {@code IN :ids} into chunks of a bounded size .
+ *
+ * Together with hibernate.query.in_clause_parameter_padding (the list is padded to the next
+ * power of two) a lookup only ever produces log2(chunk size) distinct SQL strings , so the
+ * query plan cache of Hibernate and the prepared statements of pgjdbc are reused , and a
+ * list of 100k ids does not hit the 65535 bind parameters limit of the driver .
+ */
+public class BatchUtiles {
+
+    private BatchUtiles () {}
+
+
+
+    public static <T> List<List<T>> partition(List<T> items, int chunkSize) {
+
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+
+        if (items == null || items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<List<T>> chunks = new ArrayList<>((items.size() + chunkSize - 1) / chunkSize);
+
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(from + chunkSize, items.size())));
+        }
+
+        return chunks;
+    }
+
+
+
+    /**
+     * Runs a lookup chunk by chunk , results are concatenated in chunk order.
+     */
+    public static <T, R> List<R> collectInChunks(List<T> items, int chunkSize, Function<List<T>, List<R>> lookup) {
+
+        List<List<T>> chunks = partition(items, chunkSize);
+
+        if (chunks.size() == 1) {
+            return lookup.apply(chunks.get(0));
+        }
+
+        List<R> results = new ArrayList<>(items == null ? 0 : items.size());
+
+        for (List<T> chunk : chunks) {
+            results.addAll(lookup.apply(chunk));
+        }
+
+        return results;
+    }
+
+
+
+    /**
+     * Runs a bulk update / delete chunk by chunk.
+     *
+     * @return the sum of the affected rows.
+     */
+    public static <T> int sumInChunks(List<T> items, int chunkSize, ToIntFunction<List<T>> statement) {
+
+        int affected = 0;
+
+        for (List<T> chunk : partition(items, chunkSize)) {
+            affected += statement.applyAsInt(chunk);
+        }
+
+        return affected;
+    }
+
+
+
+    /**
+     * Ids in ascending order without duplicates , bulk writes taking their row locks in this
+     * order can not deadlock with each other.
+     */
+    public static long[] sortedDistinct(Collection<Long> ids) {
+
+        if (ids == null || ids.isEmpty()) {
+            return new long[0];
+        }
+
+        return ids.stream()
+            .mapToLong(Long::longValue)
+            .sorted()
+            .distinct()
+            .toArray();
+    }
+
+
+
+    public static List<long[]> partition(long[] ids, int chunkSize) {
+
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+
+        List<long[]> chunks = new ArrayList<>((ids.length + chunkSize - 1) / chunkSize);
+
+        for (int from = 0; from < ids.length; from += chunkSize) {
+            chunks.add(ids.length <= chunkSize ? ids : Arrays.copyOfRange(ids, from, Math.min(from + chunkSize, ids.length)));
+        }
+
+        return chunks;
+    }
+
+
+
+    /**
+     * For the JPQL parameters , which only take collections.
+     */
+    public static List<Long> boxed(long[] ids) {
+        return Arrays.stream(ids).boxed().toList();
+    }
+}
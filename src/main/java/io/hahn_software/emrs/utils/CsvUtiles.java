@@ -0,0 +1,235 @@
+package io.hahn_software.emrs.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+
+public class CsvUtiles {
+
+    private static final char SEPARATOR = ',' ;
+
+    private static final char QUOTE = '"' ;
+
+    private CsvUtiles () {}
+
+
+
+    /***
+     * Writes one RFC 4180 record , null values are written as empty fields .
+     */
+    public static void writeRow(Writer writer, Object... values) throws IOException {
+
+        for (int i = 0; i < values.length; i++) {
+
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+
+            if (values[i] != null) {
+                writer.write(escape(values[i].toString()));
+            }
+        }
+
+        writer.write("\r\n");
+    }
+
+
+
+    public static String escape(String value) {
+
+        boolean needsQuotes = false ;
+
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == SEPARATOR || c == QUOTE || c == '\n' || c == '\r' ;
+        }
+
+        if (!needsQuotes) {
+            return value ;
+        }
+
+        return QUOTE + value.replace("\"", "\"\"") + QUOTE ;
+    }
+
+
+
+    /***
+     * Reads RFC 4180 records one at a time from a character stream , quoted fields may
+     * contain separators , escaped quotes and line breaks .
+     *
+     * Only the current record is kept in memory , and a record longer than
+     * {@code maxRecordChars} is rejected , so an unbalanced quote can not pull the rest
+     * of the upload into the heap .
+     */
+    public static final class RecordReader implements Closeable {
+
+        private static final int BUFFER_SIZE = 64 * 1024 ;
+
+        private final Reader reader ;
+        private final int maxRecordChars ;
+
+        private final char[] buffer = new char[BUFFER_SIZE] ;
+        private int position ;
+        private int limit ;
+
+        private final StringBuilder field = new StringBuilder() ;
+        private long lineNumber = 1 ;
+        private boolean bomChecked ;
+
+
+        public RecordReader(Reader reader, int maxRecordChars) {
+            this.reader = reader ;
+            this.maxRecordChars = maxRecordChars ;
+        }
+
+
+
+        /**
+         * @return the fields of the next record , or null at the end of the stream.
+         * @throws IllegalArgumentException when the record is malformed or too long.
+         */
+        public List<String> next() throws IOException {
+
+            skipByteOrderMark();
+
+            int c = read();
+
+            if (c == -1) {
+                return null;
+            }
+
+            List<String> fields = new ArrayList<>();
+            int recordChars = 0 ;
+            boolean quoted = false ;
+            boolean wasQuoted = false ;
+
+            field.setLength(0);
+
+            while (true) {
+
+                if (++recordChars > maxRecordChars) {
+                    throw new IllegalArgumentException("Record at line " + lineNumber + " is longer than " + maxRecordChars + " characters");
+                }
+
+                if (quoted) {
+
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Unterminated quoted field at line " + lineNumber);
+                    }
+
+                    if (c == QUOTE) {
+                        int following = peek();
+
+                        if (following == QUOTE) {
+                            read();
+                            field.append(QUOTE);
+                        } else {
+                            quoted = false ;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            lineNumber++;
+                        }
+                        field.append((char) c);
+                    }
+
+                } else if (c == QUOTE && field.length() == 0 && !wasQuoted) {
+                    quoted = true ;
+                    wasQuoted = true ;
+
+                } else if (c == SEPARATOR) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    wasQuoted = false ;
+
+                } else if (c == '\r' || c == '\n' || c == -1) {
+
+                    if (c == '\r' && peek() == '\n') {
+                        read();
+                    }
+                    if (c != -1) {
+                        lineNumber++;
+                    }
+
+                    fields.add(field.toString());
+                    return fields;
+
+                } else {
+                    field.append((char) c);
+                }
+
+                c = read();
+            }
+        }
+
+
+
+        /**
+         * @return the line the next record starts on (1 based).
+         */
+        public long getLineNumber() {
+            return lineNumber ;
+        }
+
+
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+
+
+        private void skipByteOrderMark() throws IOException {
+
+            if (bomChecked) {
+                return;
+            }
+
+            bomChecked = true ;
+
+            if (peek() == '\uFEFF') {
+                read();
+            }
+        }
+
+
+        private int read() throws IOException {
+
+            if (position == limit && !fill()) {
+                return -1;
+            }
+
+            return buffer[position++];
+        }
+
+
+        private int peek() throws IOException {
+
+            if (position == limit && !fill()) {
+                return -1;
+            }
+
+            return buffer[position];
+        }
+
+
+        private boolean fill() throws IOException {
+
+            int read = reader.read(buffer, 0, buffer.length);
+
+            if (read <= 0) {
+                return false;
+            }
+
+            position = 0 ;
+            limit = read ;
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.hahn_software.emrs.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+/***
+ * Encodes / decodes the opaque cursors used by keyset pagination .
+ *
+ * A cursor is the list of sort key values of the last row of a page , each value
+ * base64url encoded and joined with a '.' , so clients can not (and should not)
+ * build them by hand .
+ */
+@Slf4j
+public class CursorUtiles {
+
+    private static final String SEPARATOR = "." ;
+
+    private static final Pattern SEPARATOR_PATTERN = Pattern.compile(Pattern.quote(SEPARATOR));
+
+    private CursorUtiles () {}
+
+
+
+    public static String encode(String... keys) {
+
+        if (keys == null || keys.length == 0) {
+            throw new IllegalArgumentException("A cursor needs at least one key");
+        }
+
+        StringBuilder cursor = new StringBuilder();
+
+        for (String key : keys) {
+
+            if (cursor.length() > 0) {
+                cursor.append(SEPARATOR);
+            }
+
+            cursor.append(
+                Base64.getUrlEncoder()
+                    .withoutPadding()
+                    .encodeToString(key.getBytes(StandardCharsets.UTF_8))
+            );
+        }
+
+        return cursor.toString();
+    }
+
+
+
+    public static String[] decode(String cursor) {
+
+        if (cursor == null || cursor.isBlank()) {
+            return new String[0];
+        }
+
+        try {
+            return Arrays.stream(SEPARATOR_PATTERN.split(cursor))
+                .map(part -> new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8))
+                .toArray(String[]::new);
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected malformed cursor : {}", cursor);
+            throw new IllegalArgumentException("Invalid pagination cursor", e);
+        }
+    }
+
+
+
+    public static String encodeId(Long id) {
+        return encode(String.valueOf(id));
+    }
+
+
+
+    /**
+     * @return the id carried by the cursor , or null when the cursor is empty (first page)
+     */
+    public static Long decodeId(String cursor) {
+
+        String[] keys = decode(cursor);
+
+        if (keys.length == 0) {
+            return null;
+        }
+
+        if (keys.length != 1) {
+            throw new IllegalArgumentException("Invalid pagination cursor");
+        }
+
+        try {
+            return Long.valueOf(keys[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor", e);
+        }
+    }
+}
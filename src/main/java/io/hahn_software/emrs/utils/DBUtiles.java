@@ -1,18 +1,31 @@
 package io.hahn_software.emrs.utils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 import io.hahn_software.emrs.entities.AbstractBaseEntity;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
 import jakarta.persistence.Query;
+import jakarta.persistence.Transient;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -52,102 +65,321 @@ public class DBUtiles {
 
 
 
+    /***
+     * Row count estimate kept by PostgreSQL's statistics (pg_class.reltuples) ,
+     * the table is resolved through the connection's search_path .
+     *
+     * @return the estimate , or -1 when the table is unknown or was never vacuumed / analyzed
+     */
+    public static long estimateRowCount(EntityManager em, String table) {
+
+        List<?> estimate = em.createNativeQuery("SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = to_regclass(:table)")
+            .setParameter("table", table)
+            .getResultList();
+
+        return estimate.isEmpty() ? -1 : ((Number) estimate.get(0)).longValue();
+    }
+
+
+
+    /***
+     * Per entity class metadata used by the partial update path , built once by reflection :
+     * the updatable fields (declared , non static , not the id , not a collection) with a
+     * MethodHandle getter each , and the getter of the id .
+     */
+    private static final ClassValue<EntityMetadata> ENTITY_METADATA = new ClassValue<>() {
+        @Override
+        protected EntityMetadata computeValue(Class<?> type) {
+            return EntityMetadata.of(type);
+        }
+    };
+
+
+    /***
+     * Compiled update plans , keyed by entity class + bitmask of the non-null fields .
+     * Each plan is registered once as a named query so Hibernate parses its JPQL only once .
+     */
+    private static final Map<PlanKey, UpdatePlan> UPDATE_PLANS = new ConcurrentHashMap<>();
+
+
+
     private static boolean isEntityWithNullId(Object obj) {
-    
-        try {
-            // Check if the class is annotated as an entity (assuming a JPA Entity in jakarta package)
-            if (obj.getClass().isAnnotationPresent(Entity.class)) {
-                log.info("Object is not an entity: {}", obj.getClass().getName());
-                
-
-                Field idField = obj.getClass().getDeclaredField("id");
-                idField.setAccessible(true);
-                
-                Object idValue = idField.get(obj);
-                
-                if (idValue != null) {
-                    return false;  // `id` field is non-null, so it's a valid entity with a valid ID
-                } else {
-                    log.info("Entity {} has a null id", obj.getClass().getName());
-                }
-                return true;
-            }
-    
-            // Check for `id` field and validate if it is non-null
-            
-            
-            
-            
-        } catch (NoSuchFieldException e) {
-            log.warn("No id field found in entity {}", obj.getClass().getName(), e);
-        } catch (IllegalAccessException e) {
-            log.warn("Unable to access id field for entity {}", obj.getClass().getName(), e);
+
+        EntityMetadata metadata = ENTITY_METADATA.get(obj.getClass());
+
+        if (!metadata.entity() || metadata.idGetter() == null) {
+            return false;
         }
-    
-        return false; // Either `id` is null or entity check failed
+
+        if (metadata.read(metadata.idGetter(), obj) == null) {
+            log.info("Entity {} has a null id", metadata.entityName());
+            return true;
+        }
+
+        return false;
     }
 
 
-    
-    private static Set<String> getValidateFieldNames(Field[] fields) {
-        
-        // @ Validate field names to prevent injection and errors
-        return Arrays.stream(fields)
-            .map(Field::getName)
-            .collect(Collectors.toSet());
+
+    private static boolean isUpdatableValue(Object value) {
+        // legacy rule : 0 is how the api clients send "not set" for numeric fields
+        return value != null
+            && !(value instanceof Number number && number.intValue() == 0)
+            && !isEntityWithNullId(value);
+    }
+
+
+
+    /***
+     * Resolves the update plan (JPQL + parameter names) matching the non-null fields of
+     * the given entity , together with the values to bind .
+     * Only the first call for a given shape pays for building the JPQL .
+     */
+    public static PlannedUpdate planUpdate(AbstractBaseEntity entity) {
+
+        EntityMetadata metadata = ENTITY_METADATA.get(entity.getClass());
+        UpdatableField[] fields = metadata.fields();
+
+        Object[] values = new Object[fields.length];
+        long mask = 0L;
+
+        for (int i = 0; i < fields.length; i++) {
+
+            Object value = metadata.read(fields[i].getter(), entity);
+
+            if (isUpdatableValue(value)) {
+                values[i] = value;
+                mask |= 1L << i;
+            }
+        }
+
+        if (mask == 0L) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+
+        UpdatePlan plan = UPDATE_PLANS.computeIfAbsent(
+            new PlanKey(entity.getClass(), mask),
+            key -> UpdatePlan.compile(metadata, key.mask())
+        );
+
+        return new PlannedUpdate(plan, values);
     }
 
+
+
     // Build the JPQL query dynamically based on non-null fields
     public static Query buildJPQLQueryDynamicallyForUpdate(
             AbstractBaseEntity entity ,
             EntityManager em 
         ) {
-        
 
-        // Get the entity class
-        Class<?> entityClass = entity.getClass();
-
-        // Retrieve the entity name dynamically
-        Entity entityAnnotation = entityClass.getAnnotation(Entity.class);
-        String entityName = (entityAnnotation != null && !entityAnnotation.name().isEmpty()) 
-                            ? entityAnnotation.name() 
-                            : entityClass.getSimpleName();
-
-        StringBuilder jpql = new StringBuilder("UPDATE " + entityName + " c SET ");
-        Map<String, Object> params = new HashMap<>();
-
-        for (Map.Entry<String, Object> entry : DBUtiles.convertToMap(entity).entrySet()) {
-            
-            String fieldName = entry.getKey();
-            Object value = entry.getValue();
-            
-            // Check if the field is a valid field and if the value is not null
-            if (DBUtiles.getValidateFieldNames(entity.getClass().getDeclaredFields()).contains(fieldName) && value != null) {
-                
-                if (DBUtiles.isEntityWithNullId(value)) {
-                    continue;
+        PlannedUpdate update = planUpdate(entity);
+        UpdatePlan plan = update.plan();
+
+        //? Register the plan on first use , afterwards the parsed query is reused as is
+        plan.registerOn(em);
+
+        Query query = em.createNamedQuery(plan.queryName());
+
+        //$ Set parameters for non-null fields
+        Object[] values = update.values();
+        UpdatableField[] fields = plan.metadata().fields();
+
+        for (int i = 0; i < fields.length; i++) {
+            if ((plan.mask() & (1L << i)) != 0) {
+                query.setParameter(fields[i].name(), values[i]);
+            }
+        }
+
+        return query ;
+    }
+
+
+
+    /***
+     * Number of update shapes compiled so far .
+     */
+    public static int cachedUpdatePlans() {
+        return UPDATE_PLANS.size();
+    }
+
+
+
+    public record PlannedUpdate(UpdatePlan plan, Object[] values) {
+
+        /***
+         * The fields to update by name , for callers building their own statement .
+         */
+        public Map<String, Object> changes() {
+
+            Map<String, Object> changes = new LinkedHashMap<>();
+            UpdatableField[] fields = plan.metadata().fields();
+
+            for (int i = 0; i < fields.length; i++) {
+                if ((plan.mask() & (1L << i)) != 0) {
+                    changes.put(fields[i].name(), values[i]);
+                }
+            }
+
+            return changes;
+        }
+    }
+
+
+
+    private record PlanKey(Class<?> entityClass, long mask) {}
+
+
+
+    private record UpdatableField(String name, MethodHandle getter) {}
+
+
+
+    private record EntityMetadata(
+        boolean entity ,
+        String entityName ,
+        MethodHandle idGetter ,
+        UpdatableField[] fields
+    ) {
+
+        static EntityMetadata of(Class<?> type) {
+
+            Entity entityAnnotation = type.getAnnotation(Entity.class);
+
+            String entityName = (entityAnnotation != null && !entityAnnotation.name().isEmpty())
+                                ? entityAnnotation.name()
+                                : type.getSimpleName();
+
+            // plain values (String , Instant , enums ...) only need to be told apart from entities
+            if (entityAnnotation == null && !AbstractBaseEntity.class.isAssignableFrom(type)) {
+                return new EntityMetadata(false, entityName, null, new UpdatableField[0]);
+            }
+
+            MethodHandle idGetter = null;
+            List<UpdatableField> fields = new ArrayList<>();
+
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+
+                for (Field field : type.getDeclaredFields()) {
+
+                    if (Modifier.isStatic(field.getModifiers())
+                        || field.isSynthetic()
+                        || field.getName().startsWith("$$_")    // Exclude Hibernate internal fields
+                        || field.isAnnotationPresent(Transient.class)
+                        || Collection.class.isAssignableFrom(field.getType())) {
+                        continue;
+                    }
+
+                    MethodHandle getter = lookup.unreflectGetter(field)
+                        .asType(MethodType.methodType(Object.class, Object.class));
+
+                    if (field.isAnnotationPresent(Id.class)) {
+                        idGetter = getter;
+                        continue;
+                    }
+
+                    fields.add(new UpdatableField(field.getName(), getter));
+                }
+
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Unable to access fields of " + type.getName(), e);
+            }
+
+            if (fields.size() > Long.SIZE) {
+                throw new IllegalStateException("Too many updatable fields in " + type.getName());
+            }
+
+            return new EntityMetadata(
+                entityAnnotation != null ,
+                entityName ,
+                idGetter ,
+                fields.toArray(UpdatableField[]::new)
+            );
+        }
+
+
+        Object read(MethodHandle getter, Object target) {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Unable to read a field of " + entityName, e);
+            }
+        }
+    }
+
+
+
+    public static final class UpdatePlan {
+
+        private final EntityMetadata metadata;
+        private final long mask;
+        private final String jpql;
+        private final String queryName;
+
+        // the factories this plan was added to as a named query , usually just one
+        private final Set<EntityManagerFactory> registeredOn = Collections.newSetFromMap(new WeakHashMap<>());
+        private volatile EntityManagerFactory lastFactory;
+
+
+        private UpdatePlan(EntityMetadata metadata, long mask, String jpql) {
+            this.metadata = metadata ;
+            this.mask = mask ;
+            this.jpql = jpql ;
+            this.queryName = "DBUtiles.update." + metadata.entityName() + "." + Long.toHexString(mask) ;
+        }
+
+
+        static UpdatePlan compile(EntityMetadata metadata, long mask) {
+
+            StringBuilder jpql = new StringBuilder("UPDATE " + metadata.entityName() + " c SET ");
+            UpdatableField[] fields = metadata.fields();
+
+            for (int i = 0; i < fields.length; i++) {
+                if ((mask & (1L << i)) != 0) {
+                    jpql.append("c.").append(fields[i].name()).append(" = :").append(fields[i].name()).append(", ");
                 }
-                
-                jpql.append("c.").append(fieldName).append(" = :").append(fieldName).append(", ");
-                params.put(fieldName, value);
             }
+
+            jpql.setLength(jpql.length() - 2);  // Remove last comma
+            jpql.append(" WHERE c.id IN :Ids");
+
+            log.info("JPQL {} : 📑" , jpql);
+
+            return new UpdatePlan(metadata, mask, jpql.toString());
         }
 
-        jpql.setLength(jpql.length() - 2);  // Remove last comma
-        jpql.append(" WHERE c.id IN :Ids");
 
+        private EntityMetadata metadata() {
+            return metadata;
+        }
 
-        log.info("JPQL {} : 📑" , jpql);
+        public long mask() {
+            return mask;
+        }
 
+        public String jpql() {
+            return jpql;
+        }
 
-        //? Create the query with the base JPQL
-        Query query = em.createQuery(jpql.toString());
-    
-        //$ Set parameters for non-null fields
-        for (Map.Entry<String, Object> param : params.entrySet()) {
-            query.setParameter(param.getKey(), param.getValue());
+        public String queryName() {
+            return queryName;
         }
 
-        return query ;
+        void registerOn(EntityManager em) {
+
+            EntityManagerFactory factory = em.getEntityManagerFactory();
+
+            if (factory == lastFactory) {
+                return;
+            }
+
+            synchronized (this) {
+                if (registeredOn.add(factory)) {
+                    factory.addNamedQuery(queryName, em.createQuery(jpql));
+                }
+                lastFactory = factory;
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -20,10 +20,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import io.hahn_software.emrs.dtos.CursorPageDTO;
 import io.hahn_software.emrs.dtos.DepartmentRequest;
 import io.hahn_software.emrs.dtos.DepartmentResponse;
 import io.hahn_software.emrs.dtos.OperationResult;
 import io.hahn_software.emrs.dtos.PageDTO;
+import io.hahn_software.emrs.enums.CountStrategy;
 import io.hahn_software.emrs.services.DepartmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -193,10 +195,59 @@ public class DepartmentController {
     )
     public ResponseEntity<PageDTO<DepartmentResponse>> getDepartmentsWithPagination(
         @RequestParam int page,
+        @RequestParam int pageSize,
+        @Parameter(
+            description = "How totalElements is computed : EXACT , CACHED (short TTL) or ESTIMATED (planner statistics) , defaults to the server setting"
+        )
+        @RequestParam(required = false) CountStrategy count,
+        @Parameter(
+            description = "false to skip the total entirely , only hasNext is returned"
+        )
+        @RequestParam(defaultValue = "true") boolean withTotal
+    ) {
+        CountStrategy countStrategy = withTotal ? count : CountStrategy.NONE;
+
+        return ResponseEntity.ok(
+            departmentService.getDepartmentsWithPagination(page, pageSize, countStrategy)
+        );
+    }
+
+
+
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator')")
+    @Operation(
+        summary = "Get departments with cursor pagination",
+        description = "Retrieves departments ordered by id using keyset pagination. Pass an empty `after` for the first page, then the `nextCursor` of the previous page."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Departments retrieved successfully",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = CursorPageDTO.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid input provided",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    public ResponseEntity<CursorPageDTO<DepartmentResponse>> getDepartmentsWithCursor(
+        @Parameter(
+            description = "Opaque cursor of the last page , empty for the first page",
+            example = ""
+        )
+        @RequestParam(required = false) String after,
         @RequestParam int pageSize
     ) {
         return ResponseEntity.ok(
-            departmentService.getDepartmentsWithPagination(page, pageSize)
+            departmentService.getDepartmentsAfter(after, pageSize)
         );
     }
 }
@@ -1,35 +1,64 @@
 package io.hahn_software.emrs.web;
 
+import java.io.IOException;
 import java.util.List;
 
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import io.hahn_software.emrs.dtos.CursorPageDTO;
+import io.hahn_software.emrs.dtos.EmployeeFilter;
+import io.hahn_software.emrs.dtos.EmployeePatch;
 import io.hahn_software.emrs.dtos.EmployeeRequest;
 import io.hahn_software.emrs.dtos.EmployeeResponse;
+import io.hahn_software.emrs.dtos.EmployeeSearch;
+import io.hahn_software.emrs.dtos.EmployeeSortOrder;
+import io.hahn_software.emrs.dtos.EmployeeSuggestion;
+import io.hahn_software.emrs.dtos.ImportReport;
 import io.hahn_software.emrs.dtos.OperationResult;
 import io.hahn_software.emrs.dtos.PageDTO;
+import io.hahn_software.emrs.dtos.PatchResult;
+import io.hahn_software.emrs.dtos.UpsertResult;
 import io.hahn_software.emrs.dtos.interfaces.CreateValidationGroup;
 import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.ConflictPolicy;
+import io.hahn_software.emrs.enums.CountStrategy;
+import io.hahn_software.emrs.enums.ExportFormat;
+import io.hahn_software.emrs.services.EmployeeBulkImportService;
+import io.hahn_software.emrs.services.EmployeeExportService;
+import io.hahn_software.emrs.services.EmployeeImportService;
+import io.hahn_software.emrs.services.EmployeeSecurityService;
 import io.hahn_software.emrs.services.EmployeeService;
+import io.hahn_software.emrs.services.EmployeeSuggestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -41,9 +70,31 @@ public class EmployeeController {
 
     private final EmployeeService employeeService;
 
+    private final EmployeeExportService employeeExportService;
+
+    private final EmployeeImportService employeeImportService;
+
+    private final EmployeeBulkImportService employeeBulkImportService;
+
+    private final EmployeeSecurityService employeeSecurityService;
+
+    private final EmployeeSuggestService employeeSuggestService;
+
     @Autowired
-    EmployeeController(EmployeeService employeeService) {
+    EmployeeController(
+        EmployeeService employeeService,
+        EmployeeExportService employeeExportService,
+        EmployeeImportService employeeImportService,
+        EmployeeBulkImportService employeeBulkImportService,
+        EmployeeSecurityService employeeSecurityService,
+        EmployeeSuggestService employeeSuggestService
+    ) {
         this.employeeService = employeeService;
+        this.employeeExportService = employeeExportService;
+        this.employeeImportService = employeeImportService;
+        this.employeeBulkImportService = employeeBulkImportService;
+        this.employeeSecurityService = employeeSecurityService;
+        this.employeeSuggestService = employeeSuggestService;
     }
 
 
@@ -82,6 +133,232 @@ public class EmployeeController {
 
 
 
+    @PostMapping(params = "onConflict")
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator')")
+    @Validated(CreateValidationGroup.class)
+    @Operation(
+        summary = "Create employees in batch , handling existing employeeIDs",
+        description = "Creates multiple employees with one INSERT ... ON CONFLICT (employeeID) per chunk. "
+                    + "onConflict=update overwrites existing employees , skip ignores them , fail rejects the whole batch. "
+                    + "Re-sending the same batch is idempotent , the response tells the outcome of every element."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Employees written",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = UpsertResult.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid input provided",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    @ApiResponse(
+        responseCode = "409",
+        description = "onConflict=fail and an employeeID already exists",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    public ResponseEntity<UpsertResult> upsertEmployees(
+        @Parameter(
+            description = "What to do with an employeeID that already exists : update , skip or fail",
+            required = true,
+            schema = @Schema(type = "string", allowableValues = { "update", "skip", "fail" })
+        )
+        @RequestParam String onConflict,
+        @RequestBody @Valid List<EmployeeRequest> employeeRequests
+    ) {
+        ConflictPolicy policy;
+
+        try {
+            policy = ConflictPolicy.fromParameter(onConflict);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        try {
+            return ResponseEntity.ok(employeeService.upsertEmployeesInBatch(employeeRequests, policy));
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "An employeeID of the batch already exists", e);
+        }
+    }
+
+
+
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator')")
+    @Operation(
+        summary = "Create employees from a streamed array",
+        description = "Same body as POST /employees , read element by element and committed in chunks so very large arrays use constant memory. "
+                    + "Invalid elements are skipped and listed in the returned summary.",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = EmployeeRequest.class, type = "array")
+            )
+        )
+    )
+    @ApiResponse(
+        responseCode = "201",
+        description = "Array processed , see the summary for rejected elements",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = ImportReport.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "The body is not a JSON array",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    public ResponseEntity<ImportReport> createEmployeesFromStream(
+        HttpServletRequest request
+    ) throws IOException {
+
+        try {
+            return new ResponseEntity<>(employeeImportService.ingestEmployees(request.getInputStream()), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+
+
+    @PostMapping(value = "/stream", params = "echo=true", consumes = MediaType.APPLICATION_JSON_VALUE, produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator')")
+    @Operation(
+        summary = "Create employees from a streamed array and stream them back",
+        description = "Same as POST /employees/stream , but every created employee is streamed back as one NDJSON line as soon as its chunk is committed. "
+                    + "Rejected elements are written as lines carrying their row and messages."
+    )
+    @ApiResponse(
+        responseCode = "201",
+        description = "Array processed",
+        content = @Content(
+            mediaType = "application/x-ndjson",
+            schema = @Schema(implementation = EmployeeResponse.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    public ResponseEntity<StreamingResponseBody> createEmployeesFromStreamWithEcho(
+        HttpServletRequest request
+    ) {
+        StreamingResponseBody body = outputStream -> employeeImportService.ingestEmployees(request.getInputStream(), outputStream);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .contentType(MediaType.parseMediaType(ExportFormat.NDJSON.getMediaType()))
+                .body(body);
+    }
+
+
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator')")
+    @Operation(
+        summary = "Import employees from a CSV file",
+        description = "Reads the uploaded CSV as a stream and inserts valid rows in chunks. "
+                    + "The header names the employee fields (fullName , employeeID , jobTitle , employmentStatus , address , phone , email , departmentId) , "
+                    + "a file produced by the CSV export is accepted as is. Rejected rows are listed in the report.",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(ref = "#/components/requestBodies/FileUploadRequest")
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "File processed , see the report for rejected rows",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = ImportReport.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Missing file or invalid header",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    public ResponseEntity<ImportReport> importEmployees(
+        @RequestPart("file") MultipartFile file
+    ) throws IOException {
+
+        if (file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The uploaded file is empty");
+        }
+
+        try {
+            return ResponseEntity.ok(employeeImportService.importEmployees(file.getInputStream()));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+
+
+    @PostMapping(value = "/import/parallel", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator')")
+    @Operation(
+        summary = "Import a very large CSV file in parallel",
+        description = "Same file layout as /employees/import. Chunks are validated on all cores and written concurrently over several connections , "
+                    + "each chunk is committed on its own. If the import stops , post the same file again with the returned importId to resume "
+                    + "after the last committed chunks.",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(ref = "#/components/requestBodies/FileUploadRequest")
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "File processed , see the report for rejected rows",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = ImportReport.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Missing file , invalid header or importId",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error , the import can be resumed",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    public ResponseEntity<ImportReport> importEmployeesInParallel(
+        @RequestPart("file") MultipartFile file,
+        @Parameter(
+            description = "importId of an interrupted import to resume , empty to start a new one"
+        )
+        @RequestParam(required = false) String importId
+    ) throws IOException {
+
+        if (file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The uploaded file is empty");
+        }
+
+        try {
+            return ResponseEntity.ok(employeeBulkImportService.importEmployees(file.getInputStream(), importId));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+
+
     @DeleteMapping("/{employeeIds}")
     @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator')")
     @Operation(
@@ -123,11 +400,50 @@ public class EmployeeController {
 
 
 
+    @GetMapping(value = "/export", produces = { "application/x-ndjson", "text/csv" })
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator')")
+    @Operation(
+        summary = "Export all employees",
+        description = "Streams every employee in a single response , as NDJSON or CSV depending on the Accept header."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Employees exported successfully",
+        content = {
+            @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = EmployeeResponse.class)),
+            @Content(mediaType = "text/csv", schema = @Schema(type = "string"))
+        }
+    )
+    @ApiResponse(
+        responseCode = "406",
+        description = "Unsupported export format",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        ExportFormat format = ExportFormat.fromAcceptHeader(accept);
+
+        StreamingResponseBody body = outputStream -> employeeExportService.exportEmployees(format, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=employees." + format.getExtension())
+                .body(body);
+    }
+
+
+
     @GetMapping("/{employeeIds}")
-    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator') or (hasRole('ROLE_Manager') and @employeeSecurityService.isManagerOfEmployee(#employeeId))")
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator') or (hasRole('ROLE_Manager') and @employeeSecurityService.isManagerOfEmployees(#employeeIds))")
     @Operation(
         summary = "Find employees by IDs",
-        description = "Finds employees with the provided IDs."
+        description = "Finds employees with the provided IDs. A manager can only read their direct and indirect reports."
     )
     @ApiResponse(
         responseCode = "200",
@@ -142,6 +458,11 @@ public class EmployeeController {
         description = "Invalid input provided",
         content = @Content(schema = @Schema(hidden = true))
     )
+    @ApiResponse(
+        responseCode = "403",
+        description = "One of the employees does not report to the manager",
+        content = @Content(schema = @Schema(hidden = true))
+    )
     @ApiResponse(
         responseCode = "500",
         description = "Internal server error",
@@ -162,10 +483,12 @@ public class EmployeeController {
 
 
     @GetMapping
-    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator') or (hasRole('ROLE_Manager') and @employeeSecurityService.isManagerOfEmployee(#employeeId))")
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator') or (hasRole('ROLE_Manager') and @employeeSecurityService.isManager())")
     @Operation(
         summary = "Get employees with pagination",
-        description = "Retrieves employees with pagination."
+        description = "Retrieves employees with pagination , optionally filtered (department , status , job title , name prefix , "
+                    + "creation / update ranges) and sorted on up to 3 keys , e.g. sort=jobTitle&sort=-createdAt. "
+                    + "A manager only gets their direct and indirect reports."
     )
     @ApiResponse(
         responseCode = "200",
@@ -187,15 +510,196 @@ public class EmployeeController {
     )
     public ResponseEntity<PageDTO<EmployeeResponse>> getEmployeesWithPagination(
         @RequestParam int page,
-        @RequestParam int pageSize
+        @RequestParam int pageSize,
+        @Parameter(
+            description = "How totalElements is computed : EXACT , CACHED (short TTL) or ESTIMATED (planner statistics) , defaults to the server setting"
+        )
+        @RequestParam(required = false) CountStrategy count,
+        @Parameter(
+            description = "false to skip the total entirely , only hasNext is returned"
+        )
+        @RequestParam(defaultValue = "true") boolean withTotal,
+        @ParameterObject EmployeeFilter filter,
+        @Parameter(
+            description = "Sort keys (id , fullName , employeeID , jobTitle , employmentStatus , createdAt , updatedAt) , a leading '-' sorts descending"
+        )
+        @RequestParam(required = false) List<String> sort
     ) {
-        PageDTO<EmployeeResponse> employees = employeeService.getEmployeesWithPagination(page, pageSize);
+        Long managerId = employeeSecurityService.scopedManagerId();
+
+        CountStrategy countStrategy = withTotal ? count : CountStrategy.NONE;
+
+        if (!filter.isEmpty() || sort != null) {
+            try {
+                EmployeeSearch search = new EmployeeSearch(filter, EmployeeSortOrder.parse(sort), managerId);
+
+                return ResponseEntity.ok(employeeService.searchEmployees(search, page, pageSize, countStrategy));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+            }
+        }
+
+        if (managerId != null) {
+            return ResponseEntity.ok(employeeService.getReportsWithPagination(managerId, page, pageSize, countStrategy));
+        }
+
+        PageDTO<EmployeeResponse> employees = employeeService.getEmployeesWithPagination(page, pageSize, countStrategy);
 
         return ResponseEntity.ok(employees);
     }
 
 
 
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator') or (hasRole('ROLE_Manager') and @employeeSecurityService.isManager())")
+    @Operation(
+        summary = "Get employees with cursor pagination",
+        description = "Retrieves employees ordered by id using keyset pagination. Pass an empty `after` for the first page, then the `nextCursor` of the previous page. "
+                    + "Takes the same filter and sort as the paginated listing , a cursor is only valid for the sort it was returned with. "
+                    + "A manager only gets their direct and indirect reports."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Employees retrieved successfully",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = CursorPageDTO.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid input provided",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    public ResponseEntity<CursorPageDTO<EmployeeResponse>> getEmployeesWithCursor(
+        @Parameter(
+            description = "Opaque cursor of the last page , empty for the first page",
+            example = ""
+        )
+        @RequestParam(required = false) String after,
+        @RequestParam int pageSize,
+        @ParameterObject EmployeeFilter filter,
+        @Parameter(
+            description = "Sort keys , as for the paginated listing"
+        )
+        @RequestParam(required = false) List<String> sort
+    ) {
+        Long managerId = employeeSecurityService.scopedManagerId();
+
+        if (!filter.isEmpty() || sort != null) {
+            try {
+                EmployeeSearch search = new EmployeeSearch(filter, EmployeeSortOrder.parse(sort), managerId);
+
+                return ResponseEntity.ok(employeeService.searchEmployeesAfter(search, after, pageSize));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+            }
+        }
+
+        CursorPageDTO<EmployeeResponse> employees = managerId != null
+            ? employeeService.getReportsAfter(managerId, after, pageSize)
+            : employeeService.getEmployeesAfter(after, pageSize);
+
+        return ResponseEntity.ok(employees);
+    }
+
+
+
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator') or (hasRole('ROLE_Manager') and @employeeSecurityService.isManager())")
+    @Operation(
+        summary = "Full-text search of employees",
+        description = "Searches the words of `q` in the full name , job title , email and address of employees , best matches first. "
+                    + "Supports \"quoted phrases\" , or , and -excluded words. Pass an empty `after` for the first page, then the `nextCursor` of the previous page. "
+                    + "A manager only gets their direct and indirect reports."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Matching employees retrieved successfully",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = CursorPageDTO.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Empty or too long search text , or invalid cursor",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    public ResponseEntity<CursorPageDTO<EmployeeResponse>> searchEmployees(
+        @Parameter(description = "Words to search , e.g. \"john engineer\"", required = true)
+        @RequestParam String q,
+        @Parameter(
+            description = "Opaque cursor of the last page , empty for the first page",
+            example = ""
+        )
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "20") int pageSize
+    ) {
+        try {
+            return ResponseEntity.ok(
+                employeeService.searchEmployeesByText(q, employeeSecurityService.scopedManagerId(), after, pageSize)
+            );
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+
+
+    @GetMapping("/suggest")
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator') or (hasRole('ROLE_Manager') and @employeeSecurityService.isManager())")
+    @Operation(
+        summary = "Suggest employees as you type",
+        description = "Returns the employees whose name has words starting with every word of `prefix` , or whose employeeID starts with it , "
+                    + "served from memory without a database round trip. A manager only gets their direct and indirect reports."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Suggestions retrieved successfully",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = EmployeeSuggestion.class, type = "array")
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Prefix shorter than 2 or longer than 100 characters , or limit out of bounds",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    @ApiResponse(
+        responseCode = "503",
+        description = "The suggestion index is still being built after a start",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    public ResponseEntity<List<EmployeeSuggestion>> suggestEmployees(
+        @Parameter(description = "Start of a name or of an employeeID , e.g. \"jo sm\"", required = true)
+        @RequestParam String prefix,
+        @RequestParam(defaultValue = "10") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(
+                employeeSuggestService.suggestEmployees(prefix, employeeSecurityService.scopedManagerId(), limit)
+            );
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+
+
+
     @PutMapping
     @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator')")
     @Operation(
@@ -237,4 +741,132 @@ public class EmployeeController {
         OperationResult result = employeeService.updateEmployeesInBatch(employeeIds, employee);
         return ResponseEntity.ok(result);
     }
+
+
+
+    @PutMapping("/by-filter")
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator')")
+    @Operation(
+        summary = "Update employees matching a filter",
+        description = "Updates every employee matching all the given conditions with the fields from the request body , "
+                    + "in a single statement. With dryRun=true only the number of matching employees is returned."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Employees updated successfully , or counted for a dry run",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = OperationResult.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid input provided , or a filter without any condition",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    public ResponseEntity<OperationResult> updateEmployeesMatching(
+        @ParameterObject EmployeeFilter filter,
+        @Parameter(description = "Only count the matching employees")
+        @RequestParam(defaultValue = "false") boolean dryRun,
+        @Parameter(
+            description = "Employee object containing the fields to update",
+            required = true
+        )
+        @Valid @RequestBody Employee employee
+    ) {
+        try {
+            OperationResult result = dryRun
+                ? employeeService.countEmployeesMatching(filter)
+                : employeeService.updateEmployeesMatching(filter, employee);
+
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+
+
+    @DeleteMapping("/by-filter")
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator')")
+    @Operation(
+        summary = "Delete employees matching a filter",
+        description = "Deletes every employee matching all the given conditions in a single statement. "
+                    + "With dryRun=true only the number of matching employees is returned."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Employees deleted successfully , or counted for a dry run",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = OperationResult.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid input provided , or a filter without any condition",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    public ResponseEntity<OperationResult> deleteEmployeesMatching(
+        @ParameterObject EmployeeFilter filter,
+        @Parameter(description = "Only count the matching employees")
+        @RequestParam(defaultValue = "false") boolean dryRun
+    ) {
+        try {
+            OperationResult result = dryRun
+                ? employeeService.countEmployeesMatching(filter)
+                : employeeService.deleteEmployeesMatching(filter);
+
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+
+
+    @PatchMapping
+    @PreAuthorize("hasRole('ROLE_HR_Personnel') or hasRole('ROLE_Administrator')")
+    @Operation(
+        summary = "Patch employees in batch",
+        description = "Applies a different set of changes to every employee : each item carries an id and only the fields to change. "
+                    + "Items changing the same fields are written together , one statement per set of changed fields."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Patches applied , see the result of every id",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = PatchResult.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid input provided",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal server error",
+        content = @Content(schema = @Schema(hidden = true))
+    )
+    public ResponseEntity<PatchResult> patchEmployeesInBatch(
+        @RequestBody List<EmployeePatch> patches
+    ) {
+        try {
+            return ResponseEntity.ok(employeeService.patchEmployeesInBatch(patches));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
 }
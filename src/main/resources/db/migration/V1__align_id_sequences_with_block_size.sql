@@ -0,0 +1,6 @@
+-- Ids are reserved by blocks (pooled-lo) : one nextval hands out `increment` ids
+-- to the application , so the sequences must increment by the configured block
+-- size (emrs.id.block-size.<sequence> , 50 by default).
+
+ALTER SEQUENCE employee_id_seq INCREMENT BY 50;
+ALTER SEQUENCE department_id_seq INCREMENT BY 50;
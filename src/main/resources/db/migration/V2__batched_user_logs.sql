@@ -0,0 +1,9 @@
+-- user_logs ids now come from a pooled sequence (instead of IDENTITY) so the
+-- asynchronous audit writer can insert records in JDBC batches , and each record
+-- carries the duration and the affected rows of the operation.
+
+CREATE SEQUENCE IF NOT EXISTS user_log_id_seq INCREMENT BY 50;
+SELECT setval('user_log_id_seq', COALESCE((SELECT max(id) FROM user_logs), 0) + 1, false);
+
+ALTER TABLE user_logs ADD COLUMN IF NOT EXISTS durationMs bigint;
+ALTER TABLE user_logs ADD COLUMN IF NOT EXISTS affectedRecords integer;
@@ -0,0 +1,13 @@
+-- Chunks committed by the parallel employee import , one row per chunk written in
+-- the same transaction as the employees of the chunk , so an interrupted import
+-- can be resumed with the same importId without inserting a chunk twice.
+
+CREATE TABLE IF NOT EXISTS import_checkpoints (
+    importId varchar(64) NOT NULL,
+    chunkNo bigint NOT NULL,
+    chunkSize integer NOT NULL,
+    importedRows integer NOT NULL,
+    rejectedRows integer NOT NULL,
+    committedAt timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (importId, chunkNo)
+);
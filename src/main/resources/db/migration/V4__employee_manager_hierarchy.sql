@@ -0,0 +1,9 @@
+-- Reporting line of every employee , and the account (JWT subject) of the employees who
+-- log in , used to scope what a manager can read to their (transitive) reports.
+-- Deleting a manager leaves their reports at the top of the hierarchy.
+
+ALTER TABLE employees
+    ADD COLUMN IF NOT EXISTS manager_id bigint REFERENCES employees (id) ON DELETE SET NULL,
+    ADD COLUMN IF NOT EXISTS userId varchar(255) UNIQUE;
+
+CREATE INDEX IF NOT EXISTS employee_manager_id_idx ON employees (manager_id);
@@ -0,0 +1,97 @@
+-- Reporting closure : one row (manager_id , employee_id , depth) for every manager of an
+-- employee , direct (depth 1) or not . Listings of a manager join it on its primary key ,
+-- so a manager with 40 reports reads 40 index entries and 40 employees whatever the size
+-- of the table .
+--
+-- Kept in sync by triggers on employees.manager_id , so every write path (persist , COPY ,
+-- PATCH , bulk JPQL updates) maintains it . Deleting an employee cascades to its rows , the
+-- ON DELETE SET NULL of its reports detaches their subtrees through the update trigger .
+
+CREATE TABLE IF NOT EXISTS employee_reports (
+    manager_id bigint NOT NULL REFERENCES employees (id) ON DELETE CASCADE,
+    employee_id bigint NOT NULL REFERENCES employees (id) ON DELETE CASCADE,
+    depth integer NOT NULL,
+    PRIMARY KEY (manager_id, employee_id)
+);
+
+CREATE INDEX IF NOT EXISTS employee_reports_employee_id_idx ON employee_reports (employee_id);
+
+
+-- the employee and its subtree get the managers of its new manager , plus the manager itself
+CREATE OR REPLACE FUNCTION employee_reports_attach(employee bigint, manager bigint) RETURNS void AS $$
+    INSERT INTO employee_reports (manager_id, employee_id, depth)
+    SELECT up.manager_id, down.employee_id, up.depth + down.depth + 1
+    FROM (
+        SELECT manager_id, depth FROM employee_reports WHERE employee_id = manager
+        UNION ALL SELECT manager, 0
+    ) AS up
+    CROSS JOIN (
+        SELECT employee_id, depth FROM employee_reports WHERE manager_id = employee
+        UNION ALL SELECT employee, 0
+    ) AS down
+    ON CONFLICT (manager_id, employee_id) DO NOTHING;
+$$ LANGUAGE sql;
+
+
+-- the employee and its subtree lose the managers above the employee
+CREATE OR REPLACE FUNCTION employee_reports_detach(employee bigint) RETURNS void AS $$
+    DELETE FROM employee_reports
+    WHERE manager_id IN (SELECT manager_id FROM employee_reports WHERE employee_id = employee)
+      AND (employee_id = employee OR employee_id IN (SELECT employee_id FROM employee_reports WHERE manager_id = employee));
+$$ LANGUAGE sql;
+
+
+CREATE OR REPLACE FUNCTION employee_reports_sync() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.manager_id IS NOT NULL THEN
+        PERFORM employee_reports_detach(NEW.id);
+    END IF;
+
+    IF NEW.manager_id = NEW.id OR EXISTS (
+        SELECT 1 FROM employee_reports WHERE manager_id = NEW.id AND employee_id = NEW.manager_id
+    ) THEN
+        RAISE EXCEPTION 'Employee % can not report to % , who reports to them', NEW.id, NEW.manager_id
+            USING ERRCODE = 'check_violation';
+    END IF;
+
+    IF NEW.manager_id IS NOT NULL THEN
+        PERFORM employee_reports_attach(NEW.id, NEW.manager_id);
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+
+DROP TRIGGER IF EXISTS employee_reports_on_insert ON employees;
+CREATE TRIGGER employee_reports_on_insert
+    AFTER INSERT ON employees
+    FOR EACH ROW WHEN (NEW.manager_id IS NOT NULL)
+    EXECUTE FUNCTION employee_reports_sync();
+
+DROP TRIGGER IF EXISTS employee_reports_on_update ON employees;
+CREATE TRIGGER employee_reports_on_update
+    AFTER UPDATE OF manager_id ON employees
+    FOR EACH ROW WHEN (OLD.manager_id IS DISTINCT FROM NEW.manager_id)
+    EXECUTE FUNCTION employee_reports_sync();
+
+
+-- backfill from the current hierarchy (a reporting cycle stops at the first repeated employee)
+INSERT INTO employee_reports (manager_id, employee_id, depth)
+WITH RECURSIVE chain (manager_id, employee_id, depth, path) AS (
+    SELECT manager_id, id, 1, ARRAY[id]
+    FROM employees
+    WHERE manager_id IS NOT NULL
+  UNION ALL
+    SELECT e.manager_id, c.employee_id, c.depth + 1, c.path || c.manager_id
+    FROM chain c
+    JOIN employees e ON e.id = c.manager_id
+    WHERE e.manager_id IS NOT NULL AND NOT c.manager_id = ANY(c.path)
+)
+SELECT manager_id, employee_id, min(depth)
+FROM chain
+WHERE manager_id <> employee_id
+GROUP BY manager_id, employee_id
+ON CONFLICT (manager_id, employee_id) DO NOTHING;
+
+ANALYZE employee_reports;
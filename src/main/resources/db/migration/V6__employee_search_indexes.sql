@@ -0,0 +1,16 @@
+-- Indexes of the filtered and sorted listings (GET /employees with filter / sort params) .
+-- Each one leads with a filter or sort column and ends with the id , the tie breaker of
+-- every sort , so a keyset page on (column , id) is a single index range scan and a filter
+-- on the column comes back already ordered by id .
+
+CREATE INDEX IF NOT EXISTS employee_department_id_id_idx ON employees (department_id, id);
+CREATE INDEX IF NOT EXISTS employee_employment_status_id_idx ON employees (employmentStatus, id);
+CREATE INDEX IF NOT EXISTS employee_job_title_id_idx ON employees (jobTitle, id);
+CREATE INDEX IF NOT EXISTS employee_full_name_id_idx ON employees (fullName, id);
+CREATE INDEX IF NOT EXISTS employee_created_at_id_idx ON employees (createdAt, id);
+CREATE INDEX IF NOT EXISTS employee_updated_at_id_idx ON employees (updatedAt, id);
+
+-- name prefix filter : lower(fullName) LIKE 'abc%' , usable whatever the collation
+CREATE INDEX IF NOT EXISTS employee_full_name_prefix_idx ON employees (lower(fullName) text_pattern_ops);
+
+ANALYZE employees;
@@ -0,0 +1,22 @@
+-- Full-text search over employees (GET /employees/search) : a stored tsvector generated from
+-- the searchable columns , weighted so a hit in the name ranks above one in the job title ,
+-- the email or the address , and a GIN index to find the matching rows .
+--
+-- The 'simple' configuration lowercases words without stemming or stop words , names and
+-- emails are not English prose . Being generated , the column is kept up to date by every
+-- write path (persist , COPY , PATCH , bulk JPQL updates) and is not mapped by the entity .
+--
+-- Adding a stored generated column rewrites the table , run it in a maintenance window on
+-- large tables .
+
+ALTER TABLE employees
+    ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(fullName, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(jobTitle, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(email, '')), 'C') ||
+        setweight(to_tsvector('simple', coalesce(address, '')), 'D')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS employee_search_vector_idx ON employees USING gin (search_vector);
+
+ANALYZE employees;
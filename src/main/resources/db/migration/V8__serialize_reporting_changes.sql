@@ -0,0 +1,34 @@
+-- Serializes the changes of the reporting hierarchy (see V5__employee_reporting_closure.sql) .
+--
+-- The cycle check and the detach / attach of employee_reports read the closure under READ
+-- COMMITTED : two transactions setting A.manager = B and B.manager = A both passed the check
+-- and committed a cycle , a subtree moved while its parent moved got stale or missing rows .
+--
+-- Every insert / update of employees.manager_id now takes one transaction scoped advisory
+-- lock before reading the closure , the statements that follow run on a snapshot taken after
+-- the previous holder committed . Writes that do not touch manager_id are not affected , a
+-- transaction changing many managers (COPY , bulk update) takes the lock once .
+
+CREATE OR REPLACE FUNCTION employee_reports_sync() RETURNS trigger AS $$
+BEGIN
+    -- key of the reporting hierarchy , held until commit / rollback
+    PERFORM pg_advisory_xact_lock(7261001);
+
+    IF TG_OP = 'UPDATE' AND OLD.manager_id IS NOT NULL THEN
+        PERFORM employee_reports_detach(NEW.id);
+    END IF;
+
+    IF NEW.manager_id = NEW.id OR EXISTS (
+        SELECT 1 FROM employee_reports WHERE manager_id = NEW.id AND employee_id = NEW.manager_id
+    ) THEN
+        RAISE EXCEPTION 'Employee % can not report to % , who reports to them', NEW.id, NEW.manager_id
+            USING ERRCODE = 'check_violation';
+    END IF;
+
+    IF NEW.manager_id IS NOT NULL THEN
+        PERFORM employee_reports_attach(NEW.id, NEW.manager_id);
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
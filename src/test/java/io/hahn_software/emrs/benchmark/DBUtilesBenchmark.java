@@ -0,0 +1,160 @@
+package io.hahn_software.emrs.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.hahn_software.emrs.entities.Department;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.EmploymentStatus;
+import io.hahn_software.emrs.utils.DBUtiles;
+import jakarta.persistence.Entity;
+
+
+
+/***
+ * Cost of turning a partial Employee into an update statement + its parameters ,
+ * as done for every PUT /employees .
+ *
+ * {@code legacyPlan} is a copy of the reflection based algorithm DBUtiles used before
+ * the plans were cached , {@code cachedPlan} is the current one . The legacy path also
+ * handed a new JPQL string to Hibernate on every call (one more HQL parse) , which is not
+ * measured here since it needs a session factory .
+ *
+ * Run with : ./mvnw -P benchmark test-compile exec:exec -Djmh.include=DBUtilesBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DBUtilesBenchmark {
+
+
+    private Employee employee;
+
+
+    @Setup
+    public void setup() {
+        employee = Employee.builder()
+            .fullName("Jane Doe")
+            .jobTitle("Engineer")
+            .employmentStatus(EmploymentStatus.FULL_TIME)
+            .phone("0600000000")
+            .department(Department.builder().id(3L).build())
+            .build();
+    }
+
+
+
+    @Benchmark
+    public Object cachedPlan() {
+        return DBUtiles.planUpdate(employee);
+    }
+
+
+
+    @Benchmark
+    public Object legacyPlan() {
+        return LegacyPlanner.plan(employee);
+    }
+
+
+
+    static final class LegacyPlanner {
+
+        private LegacyPlanner() {}
+
+
+        static Object[] plan(Object entity) {
+
+            Class<?> entityClass = entity.getClass();
+            Entity entityAnnotation = entityClass.getAnnotation(Entity.class);
+            String entityName = (entityAnnotation != null && !entityAnnotation.name().isEmpty())
+                                ? entityAnnotation.name()
+                                : entityClass.getSimpleName();
+
+            StringBuilder jpql = new StringBuilder("UPDATE " + entityName + " c SET ");
+            Map<String, Object> params = new HashMap<>();
+
+            for (Map.Entry<String, Object> entry : convertToMap(entity).entrySet()) {
+
+                String fieldName = entry.getKey();
+                Object value = entry.getValue();
+
+                if (fieldNames(entity.getClass().getDeclaredFields()).contains(fieldName) && value != null) {
+
+                    if (isEntityWithNullId(value)) {
+                        continue;
+                    }
+
+                    jpql.append("c.").append(fieldName).append(" = :").append(fieldName).append(", ");
+                    params.put(fieldName, value);
+                }
+            }
+
+            jpql.setLength(jpql.length() - 2);
+            jpql.append(" WHERE c.id IN :Ids");
+
+            return new Object[] { jpql.toString(), params };
+        }
+
+
+        private static Map<String, Object> convertToMap(Object entity) {
+            Map<String, Object> map = new HashMap<>();
+
+            Arrays.stream(entity.getClass().getDeclaredFields())
+                .filter(field -> !field.getName().startsWith("$$_"))
+                .forEach(field -> {
+                    field.setAccessible(true);
+                    try {
+                        Object value = field.get(entity);
+                        if (value != null && !(value instanceof Number && ((Number) value).intValue() == 0)) {
+                            map.put(field.getName(), value);
+                        }
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+
+            return map;
+        }
+
+
+        private static boolean isEntityWithNullId(Object obj) {
+            try {
+                if (obj.getClass().isAnnotationPresent(Entity.class)) {
+                    Field idField = obj.getClass().getDeclaredField("id");
+                    idField.setAccessible(true);
+                    return idField.get(obj) == null;
+                }
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                return false;
+            }
+            return false;
+        }
+
+
+        private static Set<String> fieldNames(Field[] fields) {
+            return Arrays.stream(fields)
+                .map(Field::getName)
+                .collect(Collectors.toSet());
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package io.hahn_software.emrs.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.hahn_software.emrs.dao.repositories.DepartmentRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeCopyRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.dtos.CursorPageDTO;
+import io.hahn_software.emrs.dtos.EmployeeResponse;
+import io.hahn_software.emrs.entities.Department;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.EmploymentStatus;
+import io.hahn_software.emrs.services.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Latency of GET /employees/search (service and repository , no HTTP) over a synthetic table of
+ * 1M employees built from small vocabularies , so common words match many rows and rare
+ * combinations few : reports p50 / p95 / p99 of the first page and of the next page .
+ *
+ * Disabled by default , run it with :
+ *   DB_HOST=... DB_NAME=... DB_SCHEMA=... ./mvnw test -Demrs.benchmark=true -Dtest=EmployeeFullTextSearchBenchmarkTest
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "emrs.benchmark", matches = "true")
+class EmployeeFullTextSearchBenchmarkTest {
+
+
+    private static final int ROWS = Integer.getInteger("emrs.benchmark.rows", 1_000_000);
+    private static final int COPY_CHUNK = 50_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARM_UP = 200;
+    private static final int SAMPLES = 2_000;
+
+
+    private static final String[] FIRST_NAMES = {
+        "james", "mary", "john", "patricia", "robert", "jennifer", "michael", "linda", "william", "elizabeth",
+        "david", "barbara", "richard", "susan", "joseph", "jessica", "thomas", "sarah", "charles", "karen",
+        "omar", "fatima", "youssef", "amina", "hamza", "salma", "mehdi", "khadija", "yassine", "imane"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "smith", "johnson", "williams", "brown", "jones", "garcia", "miller", "davis", "rodriguez", "martinez",
+        "hernandez", "lopez", "gonzalez", "wilson", "anderson", "taylor", "moore", "jackson", "martin", "lee",
+        "alaoui", "benali", "chraibi", "el amrani", "idrissi", "tazi", "berrada", "fassi", "bennani", "kettani"
+    };
+
+    private static final String[] JOB_TITLES = {
+        "software engineer", "data engineer", "product manager", "sales representative", "accountant",
+        "hr specialist", "designer", "support agent", "site reliability engineer", "legal counsel"
+    };
+
+    private static final String[] STREETS = {
+        "maple", "oak", "pine", "cedar", "elm", "hassan", "mohammed", "atlas", "ocean", "garden"
+    };
+
+    private static final String[] QUERIES = {
+        "engineer", "john", "john smith", "alaoui engineer", "\"product manager\" mary",
+        "oak designer", "accountant -smith", "fatima or imane", "legal counsel berrada", "cedar"
+    };
+
+
+    private EmployeeService employeeService;
+    private EmployeeRepo employeeRepo;
+    private EmployeeCopyRepo employeeCopyRepo;
+    private DepartmentRepo departmentRepo;
+    private SessionFactory sessionFactory;
+    private TransactionTemplate transactionTemplate;
+
+    private List<Long> ids;
+
+
+    @Autowired
+    EmployeeFullTextSearchBenchmarkTest(
+        EmployeeService employeeService ,
+        EmployeeRepo employeeRepo ,
+        EmployeeCopyRepo employeeCopyRepo ,
+        DepartmentRepo departmentRepo ,
+        EntityManagerFactory entityManagerFactory ,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.employeeService = employeeService ;
+        this.employeeRepo = employeeRepo ;
+        this.employeeCopyRepo = employeeCopyRepo ;
+        this.departmentRepo = departmentRepo ;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class) ;
+        this.transactionTemplate = new TransactionTemplate(transactionManager) ;
+    }
+
+
+
+    @BeforeEach
+    void setUp() {
+
+        Department department = transactionTemplate.execute(status ->
+            departmentRepo.insertDepartmentInBatch(
+                List.of(Department.builder().name("full-text-" + System.nanoTime()).build())
+            ).get(0)
+        );
+
+        long firstEmployeeID = ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_000_000_000L);
+
+        ids = new ArrayList<>(ROWS);
+
+        for (int from = 0; from < ROWS; from += COPY_CHUNK) {
+
+            List<Employee> employees = new ArrayList<>(COPY_CHUNK);
+
+            for (int i = from; i < Math.min(from + COPY_CHUNK, ROWS); i++) {
+                employees.add(employee(department, firstEmployeeID + i));
+            }
+
+            ids.addAll(transactionTemplate.execute(status ->
+                employeeCopyRepo.copyEmployees(employees).stream().map(Employee::getId).toList()
+            ));
+        }
+
+        try (Session session = sessionFactory.openSession()) {
+            session.doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ANALYZE employees");
+                }
+            });
+        }
+    }
+
+
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> employeeRepo.deleteEmployees(ids));
+    }
+
+
+
+    @Test
+    void benchmarkFullTextSearchLatency() {
+
+        for (int i = 0; i < WARM_UP; i++) {
+            search(QUERIES[i % QUERIES.length], null);
+        }
+
+        long[] firstPages = new long[SAMPLES];
+        long[] nextPages = new long[SAMPLES];
+
+        for (int i = 0; i < SAMPLES; i++) {
+
+            String text = QUERIES[i % QUERIES.length];
+
+            long start = System.nanoTime();
+            CursorPageDTO<EmployeeResponse> page = search(text, null);
+            firstPages[i] = System.nanoTime() - start;
+
+            assertFalse(page.getContent().isEmpty(), "No match for " + text);
+
+            if (page.isHasNext()) {
+                start = System.nanoTime();
+                search(text, page.getNextCursor());
+                nextPages[i] = System.nanoTime() - start;
+            }
+        }
+
+        log.info("Full-text search over {} employees , first page : {} 📊", ROWS, percentiles(firstPages));
+        log.info("Full-text search over {} employees , next page : {} 📊", ROWS, percentiles(nextPages));
+    }
+
+
+
+    private CursorPageDTO<EmployeeResponse> search(String text, String after) {
+        return employeeService.searchEmployeesByText(text, null, after, PAGE_SIZE);
+    }
+
+
+
+    private static String percentiles(long[] nanos) {
+        return String.format("p50 %d us , p95 %d us , p99 %d us , max %d us",
+            percentile(nanos, 50) / 1_000, percentile(nanos, 95) / 1_000,
+            percentile(nanos, 99) / 1_000, percentile(nanos, 100) / 1_000);
+    }
+
+
+
+    private static long percentile(long[] nanos, int percentile) {
+
+        long[] sorted = Arrays.stream(nanos).filter(n -> n > 0).sorted().toArray();
+
+        if (sorted.length == 0) {
+            return 0;
+        }
+
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+
+
+    private static Employee employee(Department department, long employeeID) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+
+        return Employee.builder()
+            .fullName(firstName + " " + lastName)
+            .employeeID(employeeID)
+            .jobTitle(JOB_TITLES[random.nextInt(JOB_TITLES.length)])
+            .employmentStatus(EmploymentStatus.FULL_TIME)
+            .address(random.nextInt(1, 500) + " " + STREETS[random.nextInt(STREETS.length)] + " street")
+            .phone("+100000000")
+            .email(firstName + "." + lastName.replace(' ', '-') + employeeID + "@example.com")
+            .department(Department.builder().id(department.getId()).build())
+            .build();
+    }
+}
@@ -0,0 +1,271 @@
+package io.hahn_software.emrs.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.hahn_software.emrs.dao.repositories.DepartmentRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeCopyRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.entities.Department;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.EmploymentStatus;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Concurrent changes of the reporting hierarchy : the closure maintained by the triggers on
+ * employees.manager_id (see db/migration) must never let two crossed changes commit a cycle ,
+ * and must match manager_id once concurrent moves of a subtree and of its parent committed .
+ *
+ * Two connections interleave their transactions by hand , the second one is started while the
+ * first one still holds its uncommitted change .
+ *
+ * Disabled by default , run it with :
+ *   DB_HOST=... DB_NAME=... DB_SCHEMA=... ./mvnw test -Demrs.benchmark=true -Dtest=EmployeeHierarchyConcurrencyTest
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "emrs.benchmark", matches = "true")
+class EmployeeHierarchyConcurrencyTest {
+
+
+    private static final String SET_MANAGER =
+        "UPDATE employees SET manager_id = ? WHERE id = ?" ;
+
+    // the closure as it should be , recomputed from manager_id (a cycle shows up as manager = employee)
+    private static final String EXPECTED_CLOSURE =
+        "WITH RECURSIVE chain (manager_id, employee_id, depth) AS (" +
+        "    SELECT manager_id, id, 1 FROM employees WHERE id = ANY(?) AND manager_id IS NOT NULL" +
+        "  UNION ALL" +
+        "    SELECT e.manager_id, c.employee_id, c.depth + 1 FROM chain c JOIN employees e ON e.id = c.manager_id" +
+        "    WHERE e.manager_id IS NOT NULL AND c.depth < 64" +
+        ") SELECT manager_id, employee_id, depth FROM chain ORDER BY 1, 2, 3" ;
+
+    private static final String ACTUAL_CLOSURE =
+        "SELECT manager_id, employee_id, depth FROM employee_reports WHERE employee_id = ANY(?) ORDER BY 1, 2, 3" ;
+
+    // time the first transaction keeps its change uncommitted , the second one runs meanwhile
+    private static final long OVERLAP_MILLIS = 300;
+
+
+    private EmployeeRepo employeeRepo;
+    private EmployeeCopyRepo employeeCopyRepo;
+    private DepartmentRepo departmentRepo;
+    private DataSource dataSource;
+    private TransactionTemplate transactionTemplate;
+
+    private List<Long> ids;
+
+
+    @Autowired
+    EmployeeHierarchyConcurrencyTest(
+        EmployeeRepo employeeRepo ,
+        EmployeeCopyRepo employeeCopyRepo ,
+        DepartmentRepo departmentRepo ,
+        DataSource dataSource ,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.employeeRepo = employeeRepo ;
+        this.employeeCopyRepo = employeeCopyRepo ;
+        this.departmentRepo = departmentRepo ;
+        this.dataSource = dataSource ;
+        this.transactionTemplate = new TransactionTemplate(transactionManager) ;
+    }
+
+
+
+    @BeforeEach
+    void setUp() {
+
+        Department department = transactionTemplate.execute(status ->
+            departmentRepo.insertDepartmentInBatch(
+                List.of(Department.builder().name("hierarchy-" + System.nanoTime()).build())
+            ).get(0)
+        );
+
+        long firstEmployeeID = ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_000_000_000L);
+
+        List<Employee> employees = new ArrayList<>();
+
+        for (int i = 0; i < 6; i++) {
+            employees.add(
+                Employee.builder()
+                    .fullName("Hierarchy Employee " + i)
+                    .employeeID(firstEmployeeID + i)
+                    .jobTitle("Engineer")
+                    .employmentStatus(EmploymentStatus.FULL_TIME)
+                    .address("1 Hierarchy Street")
+                    .phone("+100000000")
+                    .email("hierarchy" + i + "@example.com")
+                    .department(Department.builder().id(department.getId()).build())
+                    .build()
+            );
+        }
+
+        ids = transactionTemplate.execute(status ->
+            employeeCopyRepo.copyEmployees(employees).stream().map(Employee::getId).toList()
+        );
+    }
+
+
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> employeeRepo.deleteEmployees(ids));
+    }
+
+
+
+    @Test
+    void crossedManagerChangesNeverCommitACycle() throws Exception {
+
+        long a = ids.get(0);
+        long b = ids.get(1);
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+            () -> overlap(a, b, b, a));
+
+        SQLException cause = (SQLException) failure.getCause().getCause();
+
+        // check_violation of employee_reports_sync
+        assertEquals("23514", cause.getSQLState());
+
+        assertClosureMatchesManagers();
+    }
+
+
+
+    @Test
+    void concurrentMovesOfASubtreeAndItsParentKeepTheClosure() throws Exception {
+
+        long parent = ids.get(0);
+        long manager = ids.get(1);
+        long child = ids.get(2);
+        long grandChild = ids.get(3);
+        long otherParent = ids.get(4);
+        long top = ids.get(5);
+
+        // parent <- manager <- child <- grandChild
+        commit(manager, parent);
+        commit(child, manager);
+        commit(grandChild, child);
+
+        // the subtree of manager moves under otherParent while parent moves under top
+        overlap(manager, otherParent, parent, top);
+
+        assertClosureMatchesManagers();
+    }
+
+
+
+    /**
+     * Sets the manager of the first employee in a transaction left open while the second
+     * change runs on another connection , then commits both.
+     *
+     * @throws ExecutionException when the second change failed.
+     */
+    private void overlap(long first, long firstManager, long second, long secondManager) throws Exception {
+
+        try (Connection firstConnection = dataSource.getConnection()) {
+
+            firstConnection.setAutoCommit(false);
+            setManager(firstConnection, first, firstManager);
+
+            CompletableFuture<Void> secondChange = CompletableFuture.runAsync(() -> {
+                try (Connection secondConnection = dataSource.getConnection()) {
+                    secondConnection.setAutoCommit(false);
+                    try {
+                        setManager(secondConnection, second, secondManager);
+                        secondConnection.commit();
+                    } catch (SQLException e) {
+                        secondConnection.rollback();
+                        throw e;
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            Thread.sleep(OVERLAP_MILLIS);
+            firstConnection.commit();
+
+            secondChange.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+
+
+    private void commit(long employee, long manager) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            setManager(connection, employee, manager);
+        }
+    }
+
+
+
+    private static void setManager(Connection connection, long employee, long manager) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SET_MANAGER)) {
+            statement.setLong(1, manager);
+            statement.setLong(2, employee);
+            statement.executeUpdate();
+        }
+    }
+
+
+
+    private void assertClosureMatchesManagers() throws SQLException {
+
+        try (Connection connection = dataSource.getConnection()) {
+
+            List<String> expected = closure(connection, EXPECTED_CLOSURE);
+            List<String> actual = closure(connection, ACTUAL_CLOSURE);
+
+            log.info("Closure of the hierarchy : {} 📊", actual);
+
+            assertEquals(expected, actual);
+        }
+    }
+
+
+
+    private List<String> closure(Connection connection, String sql) throws SQLException {
+
+        List<String> rows = new ArrayList<>();
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows.add(resultSet.getLong(1) + ">" + resultSet.getLong(2) + "@" + resultSet.getInt(3));
+                }
+            }
+        }
+
+        return rows;
+    }
+}
@@ -0,0 +1,137 @@
+package io.hahn_software.emrs.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.hahn_software.emrs.dao.repositories.DepartmentRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeCopyRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.entities.Department;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.EmploymentStatus;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Compares the persist loop with the COPY ingest path against a real database .
+ *
+ * Disabled by default , run it with :
+ *   DB_HOST=... DB_NAME=... DB_SCHEMA=... ./mvnw test -Demrs.benchmark=true -Dtest=EmployeeIngestBenchmarkTest
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "emrs.benchmark", matches = "true")
+class EmployeeIngestBenchmarkTest {
+
+
+    private static final int ROWS = Integer.getInteger("emrs.benchmark.rows", 50_000);
+
+
+    private EmployeeRepo employeeRepo;
+    private EmployeeCopyRepo employeeCopyRepo;
+    private DepartmentRepo departmentRepo;
+    private TransactionTemplate transactionTemplate;
+
+    private Department department;
+
+
+    @Autowired
+    EmployeeIngestBenchmarkTest(
+        EmployeeRepo employeeRepo ,
+        EmployeeCopyRepo employeeCopyRepo ,
+        DepartmentRepo departmentRepo ,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.employeeRepo = employeeRepo ;
+        this.employeeCopyRepo = employeeCopyRepo ;
+        this.departmentRepo = departmentRepo ;
+        this.transactionTemplate = new TransactionTemplate(transactionManager) ;
+    }
+
+
+
+    @BeforeEach
+    void setUp() {
+        department = transactionTemplate.execute(status ->
+            departmentRepo.insertDepartmentInBatch(
+                List.of(Department.builder().name("benchmark-" + System.nanoTime()).build())
+            ).get(0)
+        );
+    }
+
+
+
+    @Test
+    void benchmarkPersistLoopVersusCopy() {
+
+        long persistMillis = timeInsert("persist loop", employeeRepo::insertEmployeeInBatch);
+        long copyMillis = timeInsert("COPY", employeeCopyRepo::copyEmployees);
+
+        log.info("Ingest of {} employees : persist loop {} ms , COPY {} ms , speedup x{} 📊",
+            ROWS, persistMillis, copyMillis, String.format("%.1f", (double) persistMillis / Math.max(1, copyMillis)));
+    }
+
+
+
+    private long timeInsert(String label, Function<List<Employee>, List<Employee>> insert) {
+
+        List<Employee> employees = generateEmployees();
+
+        long start = System.nanoTime();
+
+        List<Employee> saved = transactionTemplate.execute(status -> insert.apply(employees));
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(ROWS, saved.size());
+        saved.forEach(employee -> assertNotNull(employee.getId()));
+
+        transactionTemplate.executeWithoutResult(status ->
+            employeeRepo.deleteEmployees(saved.stream().map(Employee::getId).toList())
+        );
+
+        log.info("{} : {} rows in {} ms", label, ROWS, elapsedMillis);
+
+        return elapsedMillis;
+    }
+
+
+
+    private List<Employee> generateEmployees() {
+
+        long firstEmployeeID = ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_000_000_000L);
+
+        List<Employee> employees = new ArrayList<>(ROWS);
+
+        for (int i = 0; i < ROWS; i++) {
+            employees.add(
+                Employee.builder()
+                    .fullName("Benchmark Employee " + i)
+                    .employeeID(firstEmployeeID + i)
+                    .jobTitle("Engineer")
+                    .employmentStatus(EmploymentStatus.FULL_TIME)
+                    .address("1 Benchmark Street")
+                    .phone("+100000000")
+                    .email("bench" + i + "@example.com")
+                    .department(Department.builder().id(department.getId()).build())
+                    .build()
+            );
+        }
+
+        return employees;
+    }
+}
@@ -0,0 +1,186 @@
+package io.hahn_software.emrs.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.hahn_software.emrs.dao.repositories.DepartmentRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeCopyRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.entities.Department;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.EmploymentStatus;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Hammers the same employees with concurrent bulk updates , every thread sending the ids in
+ * its own random order and with duplicates : none of the transactions may fail .
+ *
+ * Disabled by default , run it with :
+ *   DB_HOST=... DB_NAME=... DB_SCHEMA=... ./mvnw test -Demrs.benchmark=true -Dtest=EmployeeLockContentionTest
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "emrs.benchmark", matches = "true")
+class EmployeeLockContentionTest {
+
+
+    private static final int ROWS = Integer.getInteger("emrs.benchmark.rows", 200);
+    private static final int THREADS = Integer.getInteger("emrs.benchmark.threads", 16);
+    private static final int ROUNDS = Integer.getInteger("emrs.benchmark.rounds", 50);
+
+
+    private EmployeeRepo employeeRepo;
+    private EmployeeCopyRepo employeeCopyRepo;
+    private DepartmentRepo departmentRepo;
+    private TransactionTemplate transactionTemplate;
+
+    private List<Long> ids;
+
+
+    @Autowired
+    EmployeeLockContentionTest(
+        EmployeeRepo employeeRepo ,
+        EmployeeCopyRepo employeeCopyRepo ,
+        DepartmentRepo departmentRepo ,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.employeeRepo = employeeRepo ;
+        this.employeeCopyRepo = employeeCopyRepo ;
+        this.departmentRepo = departmentRepo ;
+        this.transactionTemplate = new TransactionTemplate(transactionManager) ;
+    }
+
+
+
+    @BeforeEach
+    void setUp() {
+
+        Department department = transactionTemplate.execute(status ->
+            departmentRepo.insertDepartmentInBatch(
+                List.of(Department.builder().name("contention-" + System.nanoTime()).build())
+            ).get(0)
+        );
+
+        long firstEmployeeID = ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_000_000_000L);
+
+        List<Employee> employees = new ArrayList<>(ROWS);
+
+        for (int i = 0; i < ROWS; i++) {
+            employees.add(
+                Employee.builder()
+                    .fullName("Contention Employee " + i)
+                    .employeeID(firstEmployeeID + i)
+                    .jobTitle("Engineer")
+                    .employmentStatus(EmploymentStatus.FULL_TIME)
+                    .address("1 Contention Street")
+                    .phone("+100000000")
+                    .email("contention" + i + "@example.com")
+                    .department(Department.builder().id(department.getId()).build())
+                    .build()
+            );
+        }
+
+        ids = transactionTemplate.execute(status ->
+            employeeCopyRepo.copyEmployees(employees).stream().map(Employee::getId).toList()
+        );
+    }
+
+
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> employeeRepo.deleteEmployees(ids));
+    }
+
+
+
+    @Test
+    void overlappingBulkUpdatesNeverDeadlock() throws InterruptedException {
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        AtomicInteger committed = new AtomicInteger();
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+        for (int thread = 0; thread < THREADS; thread++) {
+
+            int threadNo = thread;
+
+            executor.execute(() -> {
+                try {
+                    start.await();
+
+                    for (int round = 0; round < ROUNDS; round++) {
+
+                        List<Long> shuffled = overlappingIds();
+                        Employee changes = Employee.builder().jobTitle("Engineer " + threadNo + "." + round).build();
+
+                        transactionTemplate.executeWithoutResult(status -> employeeRepo.updateClientsInBatch(shuffled, changes));
+
+                        committed.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    failures.add(e);
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+
+        start.countDown();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.MINUTES));
+
+        long elapsedMillis = (System.nanoTime() - begin) / 1_000_000;
+
+        log.info("{} threads x {} overlapping bulk updates of up to {} employees : {} committed , {} failed in {} ms 📊",
+            THREADS, ROUNDS, ROWS, committed.get(), failures.size(), elapsedMillis);
+
+        failures.forEach(failure -> log.error("Bulk update failed", failure));
+
+        assertEquals(0, failures.size());
+        assertEquals(THREADS * ROUNDS, committed.get());
+    }
+
+
+
+    /**
+     * A random half of the employees , in random order , with a few duplicates.
+     */
+    private List<Long> overlappingIds() {
+
+        List<Long> shuffled = new ArrayList<>(ids);
+        Collections.shuffle(shuffled);
+
+        List<Long> picked = new ArrayList<>(shuffled.subList(0, ROWS / 2));
+        picked.addAll(shuffled.subList(0, ROWS / 10));
+        Collections.shuffle(picked);
+
+        return picked;
+    }
+}
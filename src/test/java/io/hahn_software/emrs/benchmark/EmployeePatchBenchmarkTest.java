@@ -0,0 +1,184 @@
+package io.hahn_software.emrs.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.hahn_software.emrs.dao.repositories.DepartmentRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeCopyRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeePatchRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.entities.Department;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.EmploymentStatus;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Compares one update request per employee with the shape grouped PATCH /employees path
+ * against a real database , every employee getting its own values .
+ *
+ * Disabled by default , run it with :
+ *   DB_HOST=... DB_NAME=... DB_SCHEMA=... ./mvnw test -Demrs.benchmark=true -Dtest=EmployeePatchBenchmarkTest
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "emrs.benchmark", matches = "true")
+class EmployeePatchBenchmarkTest {
+
+
+    private static final int ROWS = Integer.getInteger("emrs.benchmark.rows", 20_000);
+
+
+    private EmployeeRepo employeeRepo;
+    private EmployeeCopyRepo employeeCopyRepo;
+    private EmployeePatchRepo employeePatchRepo;
+    private DepartmentRepo departmentRepo;
+    private TransactionTemplate transactionTemplate;
+
+    private Department department;
+    private List<Long> ids;
+
+
+    @Autowired
+    EmployeePatchBenchmarkTest(
+        EmployeeRepo employeeRepo ,
+        EmployeeCopyRepo employeeCopyRepo ,
+        EmployeePatchRepo employeePatchRepo ,
+        DepartmentRepo departmentRepo ,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.employeeRepo = employeeRepo ;
+        this.employeeCopyRepo = employeeCopyRepo ;
+        this.employeePatchRepo = employeePatchRepo ;
+        this.departmentRepo = departmentRepo ;
+        this.transactionTemplate = new TransactionTemplate(transactionManager) ;
+    }
+
+
+
+    @BeforeEach
+    void setUp() {
+        department = transactionTemplate.execute(status ->
+            departmentRepo.insertDepartmentInBatch(
+                List.of(Department.builder().name("benchmark-" + System.nanoTime()).build())
+            ).get(0)
+        );
+
+        ids = transactionTemplate.execute(status ->
+            employeeCopyRepo.copyEmployees(generateEmployees()).stream().map(Employee::getId).toList()
+        );
+    }
+
+
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> employeeRepo.deleteEmployees(ids));
+    }
+
+
+
+    @Test
+    void benchmarkPerEmployeeUpdatesVersusGroupedPatch() {
+
+        List<Employee> patches = generatePatches();
+
+        long start = System.nanoTime();
+
+        for (Employee patch : patches) {
+            // what a client without the bulk endpoint does : one PUT per employee
+            transactionTemplate.executeWithoutResult(status ->
+                employeeRepo.updateClientsInBatch(List.of(patch.getId()), withoutId(patch))
+            );
+        }
+
+        long perEmployeeMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+
+        Set<Long> updated = transactionTemplate.execute(status -> employeePatchRepo.patchEmployees(generatePatches()));
+
+        long patchMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(ROWS, updated.size());
+
+        log.info("Patch of {} employees : one update per employee {} ms , grouped PATCH {} ms , speedup x{} 📊",
+            ROWS, perEmployeeMillis, patchMillis, String.format("%.1f", (double) perEmployeeMillis / Math.max(1, patchMillis)));
+    }
+
+
+
+    /**
+     * Every employee gets its own values , spread over three shapes.
+     */
+    private List<Employee> generatePatches() {
+
+        List<Employee> patches = new ArrayList<>(ids.size());
+
+        for (int i = 0; i < ids.size(); i++) {
+
+            Employee.EmployeeBuilder patch = Employee.builder().id(ids.get(i));
+
+            switch (i % 3) {
+                case 0 -> patch.jobTitle("Engineer " + System.nanoTime());
+                case 1 -> patch.phone("+1" + ThreadLocalRandom.current().nextLong(100_000_000L, 999_999_999L));
+                default -> patch.email("patched" + i + "@example.com").address(i + " Patched Street");
+            }
+
+            patches.add(patch.build());
+        }
+
+        return patches;
+    }
+
+
+
+    private static Employee withoutId(Employee patch) {
+        return Employee.builder()
+            .jobTitle(patch.getJobTitle())
+            .phone(patch.getPhone())
+            .email(patch.getEmail())
+            .address(patch.getAddress())
+            .build();
+    }
+
+
+
+    private List<Employee> generateEmployees() {
+
+        long firstEmployeeID = ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_000_000_000L);
+
+        List<Employee> employees = new ArrayList<>(ROWS);
+
+        for (int i = 0; i < ROWS; i++) {
+            employees.add(
+                Employee.builder()
+                    .fullName("Benchmark Employee " + i)
+                    .employeeID(firstEmployeeID + i)
+                    .jobTitle("Engineer")
+                    .employmentStatus(EmploymentStatus.FULL_TIME)
+                    .address("1 Benchmark Street")
+                    .phone("+100000000")
+                    .email("bench" + i + "@example.com")
+                    .department(Department.builder().id(department.getId()).build())
+                    .build()
+            );
+        }
+
+        return employees;
+    }
+}
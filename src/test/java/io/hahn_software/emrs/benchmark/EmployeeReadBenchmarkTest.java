@@ -0,0 +1,202 @@
+package io.hahn_software.emrs.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.hahn_software.emrs.dao.repositories.DepartmentRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.dtos.EmployeeResponse;
+import io.hahn_software.emrs.entities.Department;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.EmploymentStatus;
+import io.hahn_software.emrs.mappers.EmployeeMapper;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Compares the entity read path (load managed Employees , then map them) with the
+ * EmployeeResponse projection , in latency and bytes allocated per page , and the
+ * CPU time of the same read in a read-write versus a read-only transaction .
+ *
+ * Disabled by default , run it with :
+ *   DB_HOST=... DB_NAME=... DB_SCHEMA=... ./mvnw test -Demrs.benchmark=true -Dtest=EmployeeReadBenchmarkTest
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "emrs.benchmark", matches = "true")
+class EmployeeReadBenchmarkTest {
+
+
+    private static final int ROWS = Integer.getInteger("emrs.benchmark.rows", 10_000);
+    private static final int PAGE_SIZE = 500;
+    private static final int ROUNDS = 20;
+
+
+    private EmployeeRepo employeeRepo;
+    private DepartmentRepo departmentRepo;
+    private EmployeeMapper employeeMapper;
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    private List<Long> ids;
+
+
+    @Autowired
+    EmployeeReadBenchmarkTest(
+        EmployeeRepo employeeRepo ,
+        DepartmentRepo departmentRepo ,
+        EmployeeMapper employeeMapper ,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.employeeRepo = employeeRepo ;
+        this.departmentRepo = departmentRepo ;
+        this.employeeMapper = employeeMapper ;
+        this.transactionTemplate = new TransactionTemplate(transactionManager) ;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager) ;
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+
+
+    @BeforeEach
+    void setUp() {
+        ids = transactionTemplate.execute(status -> {
+
+            Department department = departmentRepo.insertDepartmentInBatch(
+                List.of(Department.builder().name("benchmark-" + System.nanoTime()).build())
+            ).get(0);
+
+            return employeeRepo.insertEmployeeInBatch(generateEmployees(department)).stream()
+                .map(Employee::getId)
+                .toList();
+        });
+    }
+
+
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> employeeRepo.deleteEmployees(ids));
+    }
+
+
+
+    @Test
+    void benchmarkEntityReadVersusProjection() {
+
+        List<Long> page = ids.subList(0, PAGE_SIZE);
+
+        Measure entities = measure("entities + mapper", () ->
+            employeeMapper.toEmployeeResponseList(employeeRepo.findEmployees(page))
+        );
+
+        Measure projection = measure("projection", () ->
+            employeeRepo.findEmployeeResponses(page)
+        );
+
+        log.info("Read of {} employees : entities {} us / {} KB , projection {} us / {} KB 📊",
+            PAGE_SIZE,
+            entities.micros(), entities.allocatedBytes() / 1024,
+            projection.micros(), projection.allocatedBytes() / 1024);
+    }
+
+
+
+    @Test
+    void benchmarkReadWriteVersusReadOnlyTransaction() {
+
+        List<Long> page = ids.subList(0, PAGE_SIZE);
+
+        Supplier<List<EmployeeResponse>> read = () ->
+            employeeMapper.toEmployeeResponseList(employeeRepo.findEmployees(page));
+
+        Measure readWrite = measure("read-write transaction", transactionTemplate, read);
+        Measure readOnly = measure("read-only transaction", readOnlyTransactionTemplate, read);
+
+        log.info("Read of {} entities : read-write {} us cpu , read-only {} us cpu 📊",
+            PAGE_SIZE, readWrite.cpuMicros(), readOnly.cpuMicros());
+    }
+
+
+
+    private record Measure(long micros, long cpuMicros, long allocatedBytes) {}
+
+
+
+    private Measure measure(String label, Supplier<List<EmployeeResponse>> read) {
+        return measure(label, transactionTemplate, read);
+    }
+
+
+
+    private Measure measure(String label, TransactionTemplate transaction, Supplier<List<EmployeeResponse>> read) {
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        // warm up
+        for (int i = 0; i < ROUNDS; i++) {
+            transaction.execute(status -> read.get());
+        }
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ROUNDS; i++) {
+            List<EmployeeResponse> result = transaction.execute(status -> read.get());
+            assertEquals(PAGE_SIZE, result.size());
+        }
+
+        Measure measure = new Measure(
+            (System.nanoTime() - start) / 1_000 / ROUNDS,
+            (threads.getCurrentThreadCpuTime() - cpuBefore) / 1_000 / ROUNDS,
+            (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / ROUNDS
+        );
+
+        log.info("{} : {} us ({} us cpu) , {} bytes allocated per page",
+            label, measure.micros(), measure.cpuMicros(), measure.allocatedBytes());
+
+        return measure;
+    }
+
+
+
+    private List<Employee> generateEmployees(Department department) {
+
+        long firstEmployeeID = ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_000_000_000L);
+
+        List<Employee> employees = new ArrayList<>(ROWS);
+
+        for (int i = 0; i < ROWS; i++) {
+            employees.add(
+                Employee.builder()
+                    .fullName("Benchmark Reader " + i)
+                    .employeeID(firstEmployeeID + i)
+                    .jobTitle("Engineer")
+                    .employmentStatus(EmploymentStatus.FULL_TIME)
+                    .address("1 Benchmark Street")
+                    .phone("+100000000")
+                    .email("reader" + i + "@example.com")
+                    .department(Department.builder().id(department.getId()).build())
+                    .build()
+            );
+        }
+
+        return employees;
+    }
+}
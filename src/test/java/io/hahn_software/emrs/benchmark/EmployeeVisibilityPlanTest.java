@@ -0,0 +1,203 @@
+package io.hahn_software.emrs.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.hahn_software.emrs.dao.repositories.DepartmentRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeCopyRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.entities.Department;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.EmploymentStatus;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+
+
+/***
+ * Checks the plans of the listings of a manager : with 40 reports in a large table , the page
+ * and its count must be driven by the primary key of the reporting closure , never by a scan
+ * of employees . The SQL is the one Hibernate generates , captured with a statement inspector .
+ *
+ * Disabled by default , run it with :
+ *   DB_HOST=... DB_NAME=... DB_SCHEMA=... ./mvnw test -Demrs.benchmark=true -Dtest=EmployeeVisibilityPlanTest
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "emrs.benchmark", matches = "true")
+class EmployeeVisibilityPlanTest {
+
+
+    private static final int ROWS = Integer.getInteger("emrs.benchmark.rows", 200_000);
+    private static final int REPORTS = 40;
+
+
+    private EmployeeRepo employeeRepo;
+    private EmployeeCopyRepo employeeCopyRepo;
+    private DepartmentRepo departmentRepo;
+    private SessionFactory sessionFactory;
+    private TransactionTemplate transactionTemplate;
+
+    private Long managerId;
+    private List<Long> ids;
+
+
+    @Autowired
+    EmployeeVisibilityPlanTest(
+        EmployeeRepo employeeRepo ,
+        EmployeeCopyRepo employeeCopyRepo ,
+        DepartmentRepo departmentRepo ,
+        EntityManagerFactory entityManagerFactory ,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.employeeRepo = employeeRepo ;
+        this.employeeCopyRepo = employeeCopyRepo ;
+        this.departmentRepo = departmentRepo ;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class) ;
+        this.transactionTemplate = new TransactionTemplate(transactionManager) ;
+    }
+
+
+
+    @BeforeEach
+    void setUp() {
+
+        Department department = transactionTemplate.execute(status ->
+            departmentRepo.insertDepartmentInBatch(
+                List.of(Department.builder().name("visibility-" + System.nanoTime()).build())
+            ).get(0)
+        );
+
+        long firstEmployeeID = ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_000_000_000L);
+
+        managerId = transactionTemplate.execute(status ->
+            employeeCopyRepo.copyEmployees(List.of(employee(department, firstEmployeeID, null))).get(0).getId()
+        );
+
+        List<Employee> employees = new ArrayList<>(ROWS);
+
+        for (int i = 1; i <= ROWS; i++) {
+            employees.add(employee(department, firstEmployeeID + i, i <= REPORTS ? managerId : null));
+        }
+
+        ids = new ArrayList<>(List.of(managerId));
+        ids.addAll(transactionTemplate.execute(status ->
+            employeeCopyRepo.copyEmployees(employees).stream().map(Employee::getId).toList()
+        ));
+
+        try (Session session = sessionFactory.openSession()) {
+            session.doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ANALYZE employees");
+                    statement.execute("ANALYZE employee_reports");
+                }
+            });
+        }
+    }
+
+
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> employeeRepo.deleteEmployees(ids));
+    }
+
+
+
+    @Test
+    void listingsOfAManagerOnlyReadTheirReports() {
+
+        List<String> statements = new ArrayList<>();
+
+        try (Session session = sessionFactory.withOptions()
+                .statementInspector(sql -> { statements.add(sql); return sql; })
+                .openSession()) {
+
+            EmployeeRepo probe = new EmployeeRepo();
+            probe.setEm(session);
+
+            assertEquals(20, probe.reportResponsesWithPagination(managerId, 0, 20, false).size());
+            assertEquals(REPORTS, probe.countReports(managerId));
+
+            session.doWork(connection -> {
+
+                String pagePlan = explain(connection, statements.get(0), managerId, 20);
+                String countPlan = explain(connection, statements.get(1), managerId);
+
+                log.info("Page of the reports of a manager over {} employees :\n{}", ROWS, pagePlan);
+                log.info("Count of the reports of a manager over {} employees :\n{}", ROWS, countPlan);
+
+                assertTrue(pagePlan.contains("employee_reports_pkey"));
+                assertTrue(pagePlan.contains("employees_pkey"));
+                assertFalse(pagePlan.contains("Seq Scan"));
+
+                assertTrue(countPlan.contains("employee_reports_pkey"));
+                assertFalse(countPlan.contains("Seq Scan"));
+            });
+        }
+    }
+
+
+
+    /**
+     * The parameters are bound in order , as many as the statement has placeholders.
+     */
+    private static String explain(Connection connection, String sql, Object... parameters) throws SQLException {
+
+        long placeholders = sql.replaceAll("(?s)/\\*.*?\\*/", "").chars().filter(c -> c == '?').count();
+
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+
+            for (int i = 0; i < placeholders; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+
+            StringBuilder plan = new StringBuilder();
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+
+            return plan.toString();
+        }
+    }
+
+
+
+    private static Employee employee(Department department, long employeeID, Long managerId) {
+        return Employee.builder()
+            .fullName("Visibility Employee " + employeeID)
+            .employeeID(employeeID)
+            .jobTitle("Engineer")
+            .employmentStatus(EmploymentStatus.FULL_TIME)
+            .address("1 Visibility Street")
+            .phone("+100000000")
+            .email("visibility" + employeeID + "@example.com")
+            .department(Department.builder().id(department.getId()).build())
+            .manager(managerId == null ? null : Employee.builder().id(managerId).build())
+            .build();
+    }
+}
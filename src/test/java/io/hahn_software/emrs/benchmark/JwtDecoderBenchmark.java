@@ -0,0 +1,101 @@
+package io.hahn_software.emrs.benchmark;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import io.hahn_software.emrs.security.CachingJwtDecoder;
+import io.hahn_software.emrs.security.JwtConverter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+
+
+/***
+ * Cost of authenticating one request with a bearer token the client already used :
+ * decoding (signature + claims) and mapping its realm roles to authorities .
+ *
+ * {@code nimbus} is what every request paid before , {@code cached} goes through
+ * {@link CachingJwtDecoder} with the token already verified once .
+ *
+ * Run with : ./mvnw -P benchmark test-compile exec:exec -Djmh.include=JwtDecoderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtDecoderBenchmark {
+
+
+    private String token;
+
+    private JwtDecoder nimbusDecoder;
+    private CachingJwtDecoder cachingDecoder;
+
+
+    @Setup
+    public void setup() throws Exception {
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .subject("4b6a7c1e-0000-4000-8000-000000000001")
+            .claim("preferred_username", "hr")
+            .claim("realm_access", Map.of("roles", List.of("HR_Personnel", "offline_access", "uma_authorization")))
+            .issueTime(new Date())
+            .expirationTime(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+            .build();
+
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), claims);
+        jwt.sign(new RSASSASigner((RSAPrivateKey) keyPair.getPrivate()));
+        token = jwt.serialize();
+
+        nimbusDecoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+        cachingDecoder = new CachingJwtDecoder(nimbusDecoder, JwtConverter.rolesConverter(), 10_000, new SimpleMeterRegistry());
+        cachingDecoder.decode(token);
+    }
+
+
+
+    @Benchmark
+    public Object nimbus() {
+        Jwt jwt = nimbusDecoder.decode(token);
+        return JwtConverter.rolesConverter().convert(jwt);
+    }
+
+
+
+    @Benchmark
+    public Object cached() {
+        Jwt jwt = cachingDecoder.decode(token);
+        return cachingDecoder.cachedAuthoritiesConverter().convert(jwt);
+    }
+}
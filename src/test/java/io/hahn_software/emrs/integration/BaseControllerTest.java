@@ -33,6 +33,9 @@ public abstract class BaseControllerTest {
             case "PUT":
                 requestBuilder = MockMvcRequestBuilders.put(url);
                 break;
+            case "PATCH":
+                requestBuilder = MockMvcRequestBuilders.patch(url);
+                break;
             case "GET":
                 requestBuilder = MockMvcRequestBuilders.get(url);
                 break;
@@ -43,6 +46,16 @@ public abstract class BaseControllerTest {
                 throw new IllegalArgumentException("Unsupported HTTP method: " + httpMethod);
         }
 
+        return withOAuthToken(requestBuilder, role)
+                .contentType(MediaType.APPLICATION_JSON);
+
+
+    }
+
+
+
+    protected MockHttpServletRequestBuilder withOAuthToken(MockHttpServletRequestBuilder requestBuilder, String role) {
+
         // Define the roles list
         List<String> roles = List.of(
             role,
@@ -68,9 +81,6 @@ public abstract class BaseControllerTest {
         
         // Add the authentication to the security context using RequestPostProcessor
         return requestBuilder
-                .with(SecurityMockMvcRequestPostProcessors.authentication(authentication)) // Use authentication() directly
-                .contentType(MediaType.APPLICATION_JSON);
-
-
+                .with(SecurityMockMvcRequestPostProcessors.authentication(authentication)) ; // Use authentication() directly
     }
 }
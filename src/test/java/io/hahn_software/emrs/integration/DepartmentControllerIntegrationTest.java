@@ -20,6 +20,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.hahn_software.emrs.dtos.CursorPageDTO;
 import io.hahn_software.emrs.dtos.DepartmentRequest;
 import io.hahn_software.emrs.dtos.DepartmentResponse;
 import io.hahn_software.emrs.dtos.OperationResult;
@@ -200,9 +201,9 @@ class DepartmentControllerIntegrationTest extends BaseControllerTest{
                             .build()
         ));
         pageDTO.setTotalPages(1);
-        pageDTO.setTotalElements(2);
+        pageDTO.setTotalElements(2L);
 
-        when(departmentService.getDepartmentsWithPagination(page, pageSize))
+        when(departmentService.getDepartmentsWithPagination(page, pageSize, null))
                 .thenReturn(pageDTO);
 
         MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
@@ -218,4 +219,49 @@ class DepartmentControllerIntegrationTest extends BaseControllerTest{
                 .andExpect(MockMvcResultMatchers.jsonPath("$.totalPages").value(1))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.totalElements").value(2));
     }
+
+
+
+    @Test
+    void testAdministratorCanGetDepartmentsWithCursor() throws Exception {
+
+        CursorPageDTO<DepartmentResponse> cursorPage = new CursorPageDTO<>(
+            List.of(
+                DepartmentResponse.builder()
+                                .id(3L)
+                                .name("IT")
+                                .build()
+            ),
+            10,
+            null,
+            false
+        );
+
+        when(departmentService.getDepartmentsAfter("Mg", 10))
+                .thenReturn(cursorPage);
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.GET, "/departments", "HR_Personnel"
+        ).param("after", "Mg")
+         .param("pageSize", "10");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].name").value("IT"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").value(false));
+    }
+
+
+
+    @Test
+    void testManagerCannotGetDepartmentsWithCursor() throws Exception {
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.GET, "/departments", "Manager"
+        ).param("after", "")
+         .param("pageSize", "10");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
 }
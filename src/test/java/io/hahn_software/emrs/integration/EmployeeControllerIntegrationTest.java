@@ -1,33 +1,59 @@
 package io.hahn_software.emrs.integration;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.hahn_software.emrs.dtos.CursorPageDTO;
 import io.hahn_software.emrs.dtos.DepartmentResponse;
+import io.hahn_software.emrs.dtos.EmployeeFilter;
+import io.hahn_software.emrs.dtos.EmployeePatch;
 import io.hahn_software.emrs.dtos.EmployeeRequest;
 import io.hahn_software.emrs.dtos.EmployeeResponse;
+import io.hahn_software.emrs.dtos.EmployeeSearch;
+import io.hahn_software.emrs.dtos.EmployeeSortOrder;
+import io.hahn_software.emrs.dtos.EmployeeSuggestion;
+import io.hahn_software.emrs.dtos.ImportReport;
 import io.hahn_software.emrs.dtos.OperationResult;
 import io.hahn_software.emrs.dtos.PageDTO;
+import io.hahn_software.emrs.dtos.PatchResult;
+import io.hahn_software.emrs.dtos.UpsertResult;
 import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.ConflictPolicy;
+import io.hahn_software.emrs.enums.EmployeeSortKey;
+import io.hahn_software.emrs.enums.CountStrategy;
 import io.hahn_software.emrs.enums.EmploymentStatus;
+import io.hahn_software.emrs.enums.ExportFormat;
+import io.hahn_software.emrs.services.EmployeeBulkImportService;
+import io.hahn_software.emrs.services.EmployeeExportService;
+import io.hahn_software.emrs.services.EmployeeImportService;
+import io.hahn_software.emrs.services.EmployeeSecurityService;
 import io.hahn_software.emrs.services.EmployeeService;
+import io.hahn_software.emrs.services.EmployeeSuggestService;
 import lombok.extern.slf4j.Slf4j;
 
 @AutoConfigureMockMvc
@@ -42,6 +68,21 @@ class EmployeeControllerIntegrationTest extends BaseControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeExportService employeeExportService;
+
+    @MockBean
+    private EmployeeImportService employeeImportService;
+
+    @MockBean
+    private EmployeeBulkImportService employeeBulkImportService;
+
+    @MockBean
+    private EmployeeSecurityService employeeSecurityService;
+
+    @MockBean
+    private EmployeeSuggestService employeeSuggestService;
+
     @Autowired
     EmployeeControllerIntegrationTest(
         MockMvc mockMvc,
@@ -52,6 +93,13 @@ class EmployeeControllerIntegrationTest extends BaseControllerTest {
     }
 
 
+    @BeforeEach
+    void seeEveryEmployeeByDefault() {
+        // a mocked Long would be 0 , the id of no manager , and scope every listing to nobody
+        when(employeeSecurityService.scopedManagerId()).thenReturn(null);
+    }
+
+
     private EmployeeRequest createEmployeeRequest() {
         EmployeeRequest request = new EmployeeRequest();
         request.setFullName("John Doe");
@@ -66,6 +114,14 @@ class EmployeeControllerIntegrationTest extends BaseControllerTest {
     }
 
 
+    private EmployeeRequest changes(String phone, String jobTitle) {
+        EmployeeRequest request = new EmployeeRequest();
+        request.setPhone(phone);
+        request.setJobTitle(jobTitle);
+        return request;
+    }
+
+
     private EmployeeResponse createEmployeeResponse() {
         return EmployeeResponse.builder()
                 .id(1L)
@@ -221,6 +277,63 @@ class EmployeeControllerIntegrationTest extends BaseControllerTest {
 
 
 
+    @Test
+    void testManagerCanFindTheirReports() throws Exception {
+
+        when(employeeSecurityService.isManagerOfEmployees(List.of(1L, 2L))).thenReturn(true);
+        when(employeeService.findEmployees(List.of(1L, 2L))).thenReturn(List.of(createEmployeeResponse()));
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.GET, "/employees/1,2", "Manager"
+        );
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].fullName").value("John Doe"));
+    }
+
+
+
+    @Test
+    void testManagerCannotFindEmployeesOutsideTheirReports() throws Exception {
+
+        when(employeeSecurityService.isManagerOfEmployees(List.of(1L, 3L))).thenReturn(false);
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.GET, "/employees/1,3", "Manager"
+        );
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        verify(employeeService, times(0)).findEmployees(anyList());
+    }
+
+
+
+    @Test
+    void testManagerPagesOnlyThroughTheirReports() throws Exception {
+
+        PageDTO<EmployeeResponse> pageDTO = new PageDTO<>(List.of(createEmployeeResponse()), 0, 10, 1, 1);
+
+        when(employeeSecurityService.isManager()).thenReturn(true);
+        when(employeeSecurityService.scopedManagerId()).thenReturn(7L);
+        when(employeeService.getReportsWithPagination(7L, 0, 10, null)).thenReturn(pageDTO);
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.GET, "/employees", "Manager"
+        ).param("page", "0")
+         .param("pageSize", "10");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].fullName").value("John Doe"));
+
+        verify(employeeService, times(0)).getEmployeesWithPagination(0, 10, null);
+    }
+
+
+
     /***
      * 
      * Pageination Tests
@@ -243,7 +356,7 @@ class EmployeeControllerIntegrationTest extends BaseControllerTest {
                 totalPages
         );
 
-        when(employeeService.getEmployeesWithPagination(page, pageSize))
+        when(employeeService.getEmployeesWithPagination(page, pageSize, null))
                 .thenReturn(pageDTO);
 
         MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
@@ -258,6 +371,451 @@ class EmployeeControllerIntegrationTest extends BaseControllerTest {
     }
 
 
+    @Test
+    void testAdministratorCanGetEmployeesWithoutTotal() throws Exception {
+
+        int page = 0;
+        int pageSize = 1;
+
+        PageDTO<EmployeeResponse> pageDTO = PageDTO.<EmployeeResponse>builder()
+                .content(List.of(createEmployeeResponse()))
+                .page(page)
+                .size(pageSize)
+                .hasNext(true)
+                .countStrategy(CountStrategy.NONE)
+                .build();
+
+        when(employeeService.getEmployeesWithPagination(page, pageSize, CountStrategy.NONE))
+                .thenReturn(pageDTO);
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.GET, "/employees", "Administrator"
+        ).param("page", String.valueOf(page))
+         .param("pageSize", String.valueOf(pageSize))
+         .param("withTotal", "false");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalElements").doesNotExist());
+
+        verify(employeeService, times(1)).getEmployeesWithPagination(page, pageSize, CountStrategy.NONE);
+    }
+
+
+    @Test
+    void testAdministratorCanSearchEmployeesWithFilterAndSort() throws Exception {
+
+        PageDTO<EmployeeResponse> pageDTO = new PageDTO<>(List.of(createEmployeeResponse()), 0, 10, 1, 1);
+
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setJobTitle("Software Engineer");
+        filter.setNamePrefix("jo");
+
+        EmployeeSearch search = new EmployeeSearch(
+            filter,
+            List.of(new EmployeeSortOrder(EmployeeSortKey.JOB_TITLE, false), new EmployeeSortOrder(EmployeeSortKey.CREATED_AT, true)),
+            null
+        );
+
+        when(employeeService.searchEmployees(search, 0, 10, null)).thenReturn(pageDTO);
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.GET, "/employees", "Administrator"
+        ).param("page", "0")
+         .param("pageSize", "10")
+         .param("jobTitle", "Software Engineer")
+         .param("namePrefix", "jo")
+         .param("sort", "jobTitle", "-createdAt");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].fullName").value("John Doe"));
+
+        verify(employeeService, times(0)).getEmployeesWithPagination(0, 10, null);
+    }
+
+
+    @Test
+    void testSearchRejectsAnUnknownSortKey() throws Exception {
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.GET, "/employees", "Administrator"
+        ).param("page", "0")
+         .param("pageSize", "10")
+         .param("sort", "-salary");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+
+    @Test
+    void testManagerSearchesOnlyTheirReports() throws Exception {
+
+        CursorPageDTO<EmployeeResponse> cursorPage = new CursorPageDTO<>(List.of(createEmployeeResponse()), 20, null, false);
+
+        when(employeeSecurityService.isManager()).thenReturn(true);
+        when(employeeSecurityService.scopedManagerId()).thenReturn(7L);
+        when(employeeService.searchEmployeesByText("john engineer", 7L, null, 20)).thenReturn(cursorPage);
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.GET, "/employees/search", "Manager"
+        ).param("q", "john engineer");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].fullName").value("John Doe"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").value(false));
+    }
+
+
+    @Test
+    void testHrPersonnelGetsSuggestionsAsTheyType() throws Exception {
+
+        when(employeeSuggestService.suggestEmployees("jo sm", null, 5))
+                .thenReturn(List.of(new EmployeeSuggestion(1L, "John Smith", 1001L)));
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.GET, "/employees/suggest", "HR_Personnel"
+        ).param("prefix", "jo sm")
+         .param("limit", "5");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].fullName").value("John Smith"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].employeeID").value(1001));
+
+        when(employeeSuggestService.suggestEmployees("j", null, 10))
+                .thenThrow(new IllegalArgumentException("The prefix must have between 2 and 100 characters"));
+
+        mockMvc.perform(prepareRequestWithOAuthToken(HttpMethod.GET, "/employees/suggest", "HR_Personnel").param("prefix", "j"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+
+    @Test
+    void testAdministratorCanGetEmployeesWithCursor() throws Exception {
+
+        int pageSize = 1;
+
+        CursorPageDTO<EmployeeResponse> cursorPage = new CursorPageDTO<>(
+                List.of(createEmployeeResponse()),
+                pageSize,
+                "MQ",
+                true
+        );
+
+        when(employeeService.getEmployeesAfter("", pageSize))
+                .thenReturn(cursorPage);
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.GET, "/employees", "Administrator"
+        ).param("after", "")
+         .param("pageSize", String.valueOf(pageSize));
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].fullName").value("John Doe"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value("MQ"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").value(true));
+
+        verify(employeeService, times(1)).getEmployeesAfter("", pageSize);
+    }
+
+
+
+    @Test
+    void testAdministratorCanExportEmployeesAsCsv() throws Exception {
+
+        when(employeeExportService.exportEmployees(eq(ExportFormat.CSV), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    OutputStream outputStream = invocation.getArgument(1);
+                    outputStream.write("id,fullName\r\n1,John Doe\r\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.GET, "/employees/export", "Administrator"
+        ).accept("text/csv");
+
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(MockMvcResultMatchers.content().string("id,fullName\r\n1,John Doe\r\n"));
+    }
+
+
+    @Test
+    void testManagerCannotExportEmployees() throws Exception {
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.GET, "/employees/export", "Manager"
+        ).accept("application/x-ndjson");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
+
+
+    @Test
+    void testAdministratorCanUpsertEmployees() throws Exception {
+
+        UpsertResult result = new UpsertResult(ConflictPolicy.UPDATE, 0, 1, 0, 0,
+                List.of(new UpsertResult.Row(12345L, 1L, UpsertResult.Outcome.UPDATED)));
+
+        when(employeeService.upsertEmployeesInBatch(anyList(), eq(ConflictPolicy.UPDATE))).thenReturn(result);
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.POST, "/employees?onConflict=update", "Administrator"
+        ).content(objectMapper.writeValueAsString(List.of(createEmployeeRequest())));
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.updated").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rows[0].outcome").value("UPDATED"));
+    }
+
+
+    @Test
+    void testUnknownConflictPolicyIsRejected() throws Exception {
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.POST, "/employees?onConflict=merge", "Administrator"
+        ).content(objectMapper.writeValueAsString(List.of(createEmployeeRequest())));
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+
+    @Test
+    void testFilteredUpdateBindsTheFilterFromTheQueryString() throws Exception {
+
+        EmployeeFilter filter = EmployeeFilter.builder()
+                .departmentId(12L)
+                .employmentStatus(EmploymentStatus.TEMPORARY)
+                .createdFrom(Instant.parse("2026-01-01T00:00:00Z"))
+                .build();
+
+        Employee employee = Employee.builder()
+                .employmentStatus(EmploymentStatus.FULL_TIME)
+                .build();
+
+        when(employeeService.updateEmployeesMatching(eq(filter), any(Employee.class))).thenReturn(OperationResult.of(42));
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.PUT, "/employees/by-filter?departmentId=12&employmentStatus=TEMPORARY&createdFrom=2026-01-01T00:00:00Z", "HR_Personnel"
+        ).content(objectMapper.writeValueAsString(employee));
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.affectedRecords").value(42));
+    }
+
+
+    @Test
+    void testFilteredDeleteDryRunOnlyCounts() throws Exception {
+
+        EmployeeFilter filter = EmployeeFilter.builder().jobTitle("Intern").build();
+
+        when(employeeService.countEmployeesMatching(filter)).thenReturn(OperationResult.of(7, "Dry run , no employee was changed."));
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.DELETE, "/employees/by-filter?jobTitle=Intern&dryRun=true", "Administrator"
+        );
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.affectedRecords").value(7));
+
+        verify(employeeService, times(0)).deleteEmployeesMatching(any());
+    }
+
+
+    @Test
+    void testFilteredDeleteWithoutConditionIsRejected() throws Exception {
+
+        when(employeeService.deleteEmployeesMatching(any())).thenThrow(new IllegalArgumentException("Filter needs at least one condition"));
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.DELETE, "/employees/by-filter", "Administrator"
+        );
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+
+    @Test
+    void testHrCanPatchEmployeesInBatch() throws Exception {
+
+        PatchResult result = new PatchResult(1, 1, 0, List.of(
+                new PatchResult.Row(1L, PatchResult.Outcome.UPDATED, List.of()),
+                new PatchResult.Row(2L, PatchResult.Outcome.NOT_FOUND, List.of())
+        ));
+
+        when(employeeService.patchEmployeesInBatch(anyList())).thenReturn(result);
+
+        List<EmployeePatch> patches = List.of(
+                new EmployeePatch(1L, changes(null, "Lead")),
+                new EmployeePatch(2L, changes("0611111111", null))
+        );
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.PATCH, "/employees", "HR_Personnel"
+        ).content(objectMapper.writeValueAsString(patches));
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.updated").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rows[1].outcome").value("NOT_FOUND"));
+    }
+
+
+    @Test
+    void testManagerCannotPatchEmployeesInBatch() throws Exception {
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.PATCH, "/employees", "Manager"
+        ).content(objectMapper.writeValueAsString(List.of(new EmployeePatch(1L, changes(null, "Lead")))));
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
+
+
+    @Test
+    void testHrCanCreateEmployeesFromAStreamedArray() throws Exception {
+
+        ImportReport report = ImportReport.builder()
+                .processedRows(1)
+                .importedRows(1)
+                .build();
+
+        when(employeeImportService.ingestEmployees(any(InputStream.class))).thenReturn(report);
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.POST, "/employees/stream", "HR_Personnel"
+        ).content(objectMapper.writeValueAsString(List.of(createEmployeeRequest())));
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.importedRows").value(1));
+    }
+
+
+    @Test
+    void testStreamedArrayCanBeEchoedAsNdjson() throws Exception {
+
+        when(employeeImportService.ingestEmployees(any(InputStream.class), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    OutputStream outputStream = invocation.getArgument(1);
+                    outputStream.write(objectMapper.writeValueAsBytes(createEmployeeResponse()));
+                    outputStream.write('\n');
+                    return ImportReport.builder().processedRows(1).importedRows(1).build();
+                });
+
+        MockHttpServletRequestBuilder requestBuilder = prepareRequestWithOAuthToken(
+                HttpMethod.POST, "/employees/stream?echo=true", "Administrator"
+        ).content(objectMapper.writeValueAsString(List.of(createEmployeeRequest())));
+
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith("application/x-ndjson"));
+    }
+
+
+    @Test
+    void testHrCanImportEmployeesFromCsv() throws Exception {
+
+        ImportReport report = ImportReport.builder()
+                .processedRows(2)
+                .importedRows(1)
+                .failedRows(1)
+                .errors(List.of(new ImportReport.RowError(2, List.of("Email should be valid"))))
+                .build();
+
+        when(employeeImportService.importEmployees(any(InputStream.class))).thenReturn(report);
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.csv", "text/csv",
+                "fullName,employeeID\r\nJohn Doe,1\r\n".getBytes(StandardCharsets.UTF_8)
+        );
+
+        mockMvc.perform(withOAuthToken(MockMvcRequestBuilders.multipart("/employees/import").file(file), "HR_Personnel"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.importedRows").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].row").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].messages[0]").value("Email should be valid"));
+
+        verify(employeeImportService, times(1)).importEmployees(any(InputStream.class));
+    }
+
+
+    @Test
+    void testImportWithInvalidHeaderIsRejected() throws Exception {
+
+        when(employeeImportService.importEmployees(any(InputStream.class)))
+                .thenThrow(new IllegalArgumentException("Unknown column 'salary'"));
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.csv", "text/csv",
+                "salary\r\n1000\r\n".getBytes(StandardCharsets.UTF_8)
+        );
+
+        mockMvc.perform(withOAuthToken(MockMvcRequestBuilders.multipart("/employees/import").file(file), "Administrator"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+
+    @Test
+    void testHrCanResumeAParallelImport() throws Exception {
+
+        ImportReport report = ImportReport.builder()
+                .importId("annual-2026")
+                .processedRows(10)
+                .importedRows(4)
+                .skippedRows(6L)
+                .build();
+
+        when(employeeBulkImportService.importEmployees(any(InputStream.class), eq("annual-2026"))).thenReturn(report);
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.csv", "text/csv",
+                "fullName,employeeID\r\nJohn Doe,1\r\n".getBytes(StandardCharsets.UTF_8)
+        );
+
+        mockMvc.perform(withOAuthToken(
+                    MockMvcRequestBuilders.multipart("/employees/import/parallel").file(file).param("importId", "annual-2026"),
+                    "HR_Personnel"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.importId").value("annual-2026"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.skippedRows").value(6));
+    }
+
+
+    @Test
+    void testManagerCannotImportEmployees() throws Exception {
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "employees.csv", "text/csv",
+                "fullName\r\nJohn Doe\r\n".getBytes(StandardCharsets.UTF_8)
+        );
+
+        mockMvc.perform(withOAuthToken(MockMvcRequestBuilders.multipart("/employees/import").file(file), "Manager"))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
+
+
     /***
      * 
      * Update Tests
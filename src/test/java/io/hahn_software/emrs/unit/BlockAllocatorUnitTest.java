@@ -0,0 +1,85 @@
+package io.hahn_software.emrs.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.hahn_software.emrs.dao.generators.BlockAllocator;
+
+class BlockAllocatorUnitTest {
+
+
+    @Test
+    void testIdsAreHandedOutFromTheReservedBlock() {
+
+        BlockAllocator allocator = new BlockAllocator(3);
+        AtomicLong sequence = new AtomicLong(1);
+
+        List<Long> ids = new ArrayList<>();
+
+        for (int i = 0; i < 7; i++) {
+            ids.add(allocator.next(() -> sequence.getAndAdd(3)));
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), ids);
+        // 3 blocks reserved : [1..3] , [4..6] , [7..9]
+        assertEquals(10L, sequence.get());
+    }
+
+
+    @Test
+    void testConcurrentCallersNeverShareAnIdAndReserveOneBlockPerBlockSize() throws Exception {
+
+        int threads = 8;
+        int idsPerThread = 10_000;
+        int blockSize = 50;
+
+        BlockAllocator allocator = new BlockAllocator(blockSize);
+        AtomicLong sequence = new AtomicLong(1);
+        AtomicLong reservations = new AtomicLong();
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids.add(allocator.next(() -> {
+                            reservations.incrementAndGet();
+                            return sequence.getAndAdd(blockSize);
+                        }));
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * idsPerThread, ids.size());
+        assertEquals(threads * idsPerThread / blockSize, reservations.get());
+    }
+
+
+    @Test
+    void testBlockSizeMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new BlockAllocator(0));
+    }
+}
@@ -0,0 +1,82 @@
+package io.hahn_software.emrs.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import io.hahn_software.emrs.security.CachingJwtDecoder;
+import io.hahn_software.emrs.security.JwtConverter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CachingJwtDecoderUnitTest {
+
+
+    private JwtDecoder delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingJwtDecoder decoder;
+
+
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(JwtDecoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+        decoder = new CachingJwtDecoder(delegate, JwtConverter.rolesConverter(), 100, meterRegistry);
+    }
+
+
+
+    @Test
+    void testTokenIsVerifiedOnlyOnceUntilItExpires() {
+
+        Jwt jwt = jwt("token-a", Instant.now().plusSeconds(300));
+        when(delegate.decode("token-a")).thenReturn(jwt);
+
+        assertSame(jwt, decoder.decode("token-a"));
+        assertSame(jwt, decoder.decode("token-a"));
+
+        verify(delegate, times(1)).decode("token-a");
+        assertEquals(Set.of(new SimpleGrantedAuthority("ROLE_HR_Personnel")), decoder.cachedAuthoritiesConverter().convert(jwt));
+        assertEquals(2.0, meterRegistry.get("cache.gets").tags("cache", "jwt", "result", "hit").functionCounter().count());
+    }
+
+
+
+    @Test
+    void testTokenWithoutExpiryIsNeverCached() {
+
+        Jwt jwt = jwt("token-b", null);
+        when(delegate.decode("token-b")).thenReturn(jwt);
+
+        decoder.decode("token-b");
+        decoder.decode("token-b");
+
+        verify(delegate, times(2)).decode("token-b");
+    }
+
+
+
+    private Jwt jwt(String token, Instant expiresAt) {
+        return new Jwt(
+            token,
+            Instant.now(),
+            expiresAt,
+            Map.of("alg", "RS256"),
+            Map.of("preferred_username", "hr", "realm_access", Map.of("roles", List.of("HR_Personnel")))
+        );
+    }
+}
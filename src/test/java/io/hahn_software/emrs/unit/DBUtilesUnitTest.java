@@ -0,0 +1,82 @@
+package io.hahn_software.emrs.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+
+import io.hahn_software.emrs.entities.Department;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.EmploymentStatus;
+import io.hahn_software.emrs.utils.DBUtiles;
+import io.hahn_software.emrs.utils.DBUtiles.UpdatePlan;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+
+class DBUtilesUnitTest {
+
+
+    @Test
+    void testSameUpdateShapeReusesTheCompiledPlan() {
+
+        UpdatePlan first = DBUtiles.planUpdate(Employee.builder().fullName("John Doe").phone("1").build()).plan();
+        UpdatePlan second = DBUtiles.planUpdate(Employee.builder().fullName("Jane Doe").phone("2").build()).plan();
+        UpdatePlan other = DBUtiles.planUpdate(Employee.builder().jobTitle("Developer").build()).plan();
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals("UPDATE Employee c SET c.fullName = :fullName, c.phone = :phone WHERE c.id IN :Ids", first.jpql());
+    }
+
+
+
+    @Test
+    void testIdZerosAndUnsavedReferencesAreNotUpdated() {
+
+        Employee employee = Employee.builder()
+            .id(5L)
+            .employeeID(0L)
+            .employmentStatus(EmploymentStatus.PART_TIME)
+            .department(Department.builder().build())
+            .build();
+
+        assertEquals(
+            "UPDATE Employee c SET c.employmentStatus = :employmentStatus WHERE c.id IN :Ids",
+            DBUtiles.planUpdate(employee).plan().jpql()
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> DBUtiles.planUpdate(Employee.builder().id(5L).build()));
+    }
+
+
+
+    @Test
+    void testPlanIsRegisteredAsNamedQueryOnlyOnce() {
+
+        EntityManagerFactory emf = mock(EntityManagerFactory.class);
+        EntityManager em = mock(EntityManager.class);
+        Query query = mock(Query.class);
+
+        when(em.getEntityManagerFactory()).thenReturn(emf);
+        when(em.createQuery(anyString())).thenReturn(query);
+        when(em.createNamedQuery(anyString())).thenReturn(query);
+
+        Employee employee = Employee.builder().email("john.doe@example.com").build();
+        String queryName = DBUtiles.planUpdate(employee).plan().queryName();
+
+        DBUtiles.buildJPQLQueryDynamicallyForUpdate(employee, em);
+        DBUtiles.buildJPQLQueryDynamicallyForUpdate(employee, em);
+
+        verify(emf, times(1)).addNamedQuery(queryName, query);
+        verify(em, times(2)).createNamedQuery(queryName);
+        verify(query, times(2)).setParameter("email", "john.doe@example.com");
+    }
+}
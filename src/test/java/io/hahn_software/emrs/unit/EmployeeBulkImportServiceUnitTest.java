@@ -0,0 +1,185 @@
+package io.hahn_software.emrs.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.hahn_software.emrs.dao.repositories.EmployeeCopyRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.dao.repositories.ImportCheckpointRepo;
+import io.hahn_software.emrs.dtos.ImportReport;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.entities.ImportCheckpoint;
+import io.hahn_software.emrs.mappers.EmployeeMapper;
+import io.hahn_software.emrs.services.EmployeeBulkImportService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+class EmployeeBulkImportServiceUnitTest {
+
+
+    private static final String CSV =
+        "fullName,employeeID,jobTitle,employmentStatus,address,phone,email,departmentId\r\n"
+        + "John Doe,1,Engineer,FULL_TIME,Street,0600000000,john@example.com,1\r\n"
+        + "Jane Doe,2,Engineer,FULL_TIME,Street,0600000001,not-an-email,1\r\n"
+        + "Jim Doe,3,Engineer,FULL_TIME,Street,0600000002,jim@example.com,1\r\n"
+        + "Joe Doe,4,Engineer,FULL_TIME,Street,0600000003,joe@example.com,1\r\n"
+        + "Jill Doe,5,Engineer,PART_TIME,Street,0600000004,jill@example.com,1\r\n";
+
+
+    private EmployeeRepo employeeRepo;
+    private ImportCheckpointRepo checkpointRepo;
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeBulkImportService importService;
+
+    private final Set<Long> insertedEmployeeIds = ConcurrentHashMap.newKeySet();
+
+
+
+    @BeforeEach
+    void setUp() throws Exception {
+
+        employeeRepo = mock(EmployeeRepo.class);
+        checkpointRepo = mock(ImportCheckpointRepo.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(employeeRepo.insertEmployeeInBatch(anyList())).thenAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            employees.forEach(employee -> insertedEmployeeIds.add(employee.getEmployeeID()));
+            return employees;
+        });
+
+        Constructor<EmployeeBulkImportService> constructor = EmployeeBulkImportService.class.getDeclaredConstructor(
+            EmployeeRepo.class, EmployeeCopyRepo.class, ImportCheckpointRepo.class, EmployeeMapper.class,
+            Validator.class, PlatformTransactionManager.class, MeterRegistry.class
+        );
+        constructor.setAccessible(true);
+
+        importService = constructor.newInstance(
+            employeeRepo,
+            mock(EmployeeCopyRepo.class),
+            checkpointRepo,
+            new EmployeeMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            mock(PlatformTransactionManager.class),
+            meterRegistry
+        );
+
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "writerThreads", 2);
+        ReflectionTestUtils.setField(importService, "bindParallelism", 2);
+        ReflectionTestUtils.setField(importService, "maxInFlightChunks", 2);
+    }
+
+
+
+    @Test
+    void testChunksAreWrittenConcurrentlyWithACheckpointEach() throws Exception {
+
+        ImportReport report = importService.importEmployees(stream(CSV), "annual-2026");
+
+        assertEquals("annual-2026", report.getImportId());
+        assertEquals(5, report.getProcessedRows());
+        assertEquals(4, report.getImportedRows());
+        assertEquals(1, report.getFailedRows());
+        assertEquals(0L, report.getSkippedRows());
+        assertEquals(2, report.getErrors().get(0).row());
+
+        assertEquals(Set.of(1L, 3L, 4L, 5L), insertedEmployeeIds);
+
+        // 3 chunks of 2 rows
+        verify(checkpointRepo, times(3)).saveCheckpoint(any(ImportCheckpoint.class));
+
+        assertEquals(4.0, meterRegistry.get("emrs.import.rows").tag("result", "imported").counter().count());
+        assertEquals(3, meterRegistry.get("emrs.import.stage").tag("stage", "write").timer().count());
+    }
+
+
+
+    @Test
+    void testResumedImportSkipsCommittedChunks() throws Exception {
+
+        when(checkpointRepo.findCheckpoints("annual-2026")).thenReturn(List.of(
+            ImportCheckpoint.builder().importId("annual-2026").chunkNo(1L).chunkSize(2).importedRows(1).rejectedRows(1).build()
+        ));
+
+        ImportReport report = importService.importEmployees(stream(CSV), "annual-2026");
+
+        assertEquals(2L, report.getSkippedRows());
+        assertEquals(3, report.getImportedRows());
+        assertEquals(Set.of(3L, 4L, 5L), insertedEmployeeIds);
+    }
+
+
+
+    @Test
+    void testBrokenRecordStopsTheImportAndTheFixedFileResumesEveryRow() throws Exception {
+
+        List<ImportCheckpoint> checkpoints = new CopyOnWriteArrayList<>();
+
+        doAnswer(invocation -> checkpoints.add(invocation.getArgument(0)))
+            .when(checkpointRepo).saveCheckpoint(any(ImportCheckpoint.class));
+        when(checkpointRepo.findCheckpoints("annual-2026")).thenAnswer(invocation -> List.copyOf(checkpoints));
+
+        String fixed = CSV.replace("not-an-email", "jane@example.com");
+
+        // row 4 opens a quote that is never closed , in the middle of the second chunk
+        String broken = fixed.replace("Joe Doe,4", "\"Joe Doe,4");
+
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+            () -> importService.importEmployees(stream(broken), "annual-2026"));
+
+        assertTrue(failure.getMessage().contains("annual-2026"));
+
+        // the truncated chunk is neither written nor checkpointed
+        assertFalse(insertedEmployeeIds.contains(3L));
+        assertTrue(checkpoints.stream().allMatch(checkpoint -> checkpoint.getChunkNo() == 1L));
+
+        importService.importEmployees(stream(fixed), "annual-2026");
+
+        assertEquals(Set.of(1L, 2L, 3L, 4L, 5L), insertedEmployeeIds);
+    }
+
+
+
+    @Test
+    void testImportStartedWithAnotherChunkSizeCanNotBeResumed() {
+
+        when(checkpointRepo.findCheckpoints(anyString())).thenReturn(List.of(
+            ImportCheckpoint.builder().importId("annual-2026").chunkNo(1L).chunkSize(5000).build()
+        ));
+
+        assertThrows(IllegalArgumentException.class, () -> importService.importEmployees(stream(CSV), "annual-2026"));
+    }
+
+
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
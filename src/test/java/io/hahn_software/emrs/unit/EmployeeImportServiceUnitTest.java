@@ -0,0 +1,180 @@
+package io.hahn_software.emrs.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.dtos.ImportReport;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.mappers.EmployeeMapper;
+import io.hahn_software.emrs.services.EmployeeImportService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+class EmployeeImportServiceUnitTest {
+
+
+    private static final String HEADER = "fullName,employeeID,jobTitle,employmentStatus,address,phone,email,departmentId\r\n";
+
+
+    private EmployeeRepo employeeRepo;
+    private EmployeeImportService importService;
+
+
+
+    @BeforeEach
+    void setUp() throws Exception {
+
+        employeeRepo = mock(EmployeeRepo.class);
+        when(employeeRepo.insertEmployeeInBatch(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Constructor<EmployeeImportService> constructor = EmployeeImportService.class.getDeclaredConstructor(
+            EmployeeRepo.class, EmployeeMapper.class, Validator.class, PlatformTransactionManager.class, ObjectMapper.class
+        );
+        constructor.setAccessible(true);
+
+        importService = constructor.newInstance(
+            employeeRepo,
+            new EmployeeMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            mock(PlatformTransactionManager.class),
+            new ObjectMapper()
+        );
+
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+    }
+
+
+
+    @Test
+    void testValidRowsAreInsertedInChunksAndInvalidRowsReported() throws Exception {
+
+        String csv = HEADER
+            + "\"Doe, John\",1,Engineer,FULL_TIME,\"1 Main St\r\nCity\",0600000000,john@example.com,1\r\n"
+            + "Jane Doe,2,Engineer,FULL_TIME,Street,0600000001,not-an-email,1\r\n"
+            + "\r\n"
+            + "Jim Doe,3,Engineer,full_time,Street,0600000002,jim@example.com,1\r\n"
+            + "Joe Doe,four,Engineer,FULL_TIME,Street,0600000003,joe@example.com,1\r\n"
+            + "Jill Doe,5,Engineer,PART_TIME,Street,0600000004,jill@example.com,1";
+
+        ImportReport report = importService.importEmployees(stream(csv));
+
+        assertEquals(5, report.getProcessedRows());
+        assertEquals(3, report.getImportedRows());
+        assertEquals(2, report.getFailedRows());
+        assertFalse(report.isErrorsTruncated());
+
+        assertEquals(2, report.getErrors().get(0).row());
+        assertEquals(List.of("Email should be valid"), report.getErrors().get(0).messages());
+
+        // the non numeric employee id is caught before validation
+        assertEquals(4, report.getErrors().get(1).row());
+        assertEquals(List.of("Invalid employeeID 'four'"), report.getErrors().get(1).messages());
+
+        verify(employeeRepo, times(2)).insertEmployeeInBatch(anyList());
+    }
+
+
+
+    @Test
+    void testRejectedChunkIsReplayedRowByRow() throws Exception {
+
+        when(employeeRepo.insertEmployeeInBatch(anyList())).thenAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            if (employees.stream().anyMatch(employee -> employee.getEmployeeID() == 2L)) {
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint");
+            }
+            return employees;
+        });
+
+        String csv = HEADER
+            + "John Doe,1,Engineer,FULL_TIME,Street,0600000000,john@example.com,1\r\n"
+            + "Jane Doe,2,Engineer,FULL_TIME,Street,0600000001,jane@example.com,1\r\n";
+
+        ImportReport report = importService.importEmployees(stream(csv));
+
+        assertEquals(1, report.getImportedRows());
+        assertEquals(1, report.getFailedRows());
+        assertEquals(2, report.getErrors().get(0).row());
+
+        // one chunk attempt then one insert per row
+        verify(employeeRepo, times(3)).insertEmployeeInBatch(anyList());
+    }
+
+
+
+    @Test
+    void testStreamedArrayIsCommittedInChunksAndEchoedAsNdjson() throws Exception {
+
+        ReflectionTestUtils.setField(importService, "streamChunkSize", 2);
+
+        String json = "["
+            + "{\"fullName\":\"John Doe\",\"employeeID\":1,\"jobTitle\":\"Engineer\",\"employmentStatus\":\"FULL_TIME\",\"address\":\"Street\",\"phone\":\"06\",\"email\":\"john@example.com\",\"departmentId\":1},"
+            + "{\"fullName\":\"Jane Doe\",\"employeeID\":2,\"jobTitle\":\"Engineer\",\"employmentStatus\":\"FULL_TIME\",\"address\":\"Street\",\"phone\":\"06\",\"email\":\"jane@example.com\"},"
+            + "{\"fullName\":\"Jim Doe\",\"employeeID\":3,\"jobTitle\":\"Engineer\",\"employmentStatus\":\"FULL_TIME\",\"address\":\"Street\",\"phone\":\"06\",\"email\":\"jim@example.com\",\"departmentId\":1},"
+            + "{\"fullName\":\"Joe Doe\",\"employeeID\":4,\"jobTitle\":\"Engineer\",\"employmentStatus\":\"FULL_TIME\",\"address\":\"Street\",\"phone\":\"06\",\"email\":\"joe@example.com\",\"departmentId\":1}"
+            + "]";
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ImportReport report = importService.ingestEmployees(stream(json), output);
+
+        assertEquals(4, report.getProcessedRows());
+        assertEquals(3, report.getImportedRows());
+        assertEquals(List.of("Department ID is required for create operation"), report.getErrors().get(0).messages());
+
+        // 2 chunks : John + Jim , then Joe
+        verify(employeeRepo, times(2)).insertEmployeeInBatch(anyList());
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(4, lines.length);
+        assertEquals(2, new ObjectMapper().readTree(lines[0]).get("row").asLong());
+        assertEquals("John Doe", new ObjectMapper().readTree(lines[1]).get("fullName").asText());
+    }
+
+
+
+    @Test
+    void testStreamedBodyMustBeAnArray() {
+
+        assertThrows(IllegalArgumentException.class,
+            () -> importService.ingestEmployees(stream("{\"fullName\":\"John Doe\"}")));
+    }
+
+
+
+    @Test
+    void testMissingColumnsRejectTheFile() {
+
+        assertThrows(IllegalArgumentException.class,
+            () -> importService.importEmployees(stream("fullName,employeeID\r\nJohn Doe,1\r\n")));
+    }
+
+
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
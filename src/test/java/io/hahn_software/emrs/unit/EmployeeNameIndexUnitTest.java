@@ -0,0 +1,101 @@
+package io.hahn_software.emrs.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.hahn_software.emrs.dao.cache.EmployeeNameIndex;
+import io.hahn_software.emrs.dao.cache.EmployeeNameIndex.Entry;
+import io.hahn_software.emrs.dtos.EmployeeSuggestion;
+
+class EmployeeNameIndexUnitTest {
+
+
+    private final EmployeeNameIndex index = EmployeeNameIndex.of(List.of(
+        new Entry(1, "John Smith", 1001L),
+        new Entry(2, "Johanna Smithson", 1002L),
+        new Entry(3, "Élodie O'Brien", 2001L),
+        new Entry(4, "Mary Johnson", 1003L),
+        new Entry(5, "Jo Li", 3001L)
+    ));
+
+
+
+    @Test
+    void matchesEveryWordByPrefixBestKeyFirst() {
+
+        // "jo" < "johanna" < "john" < "johnson"
+        assertEquals(List.of(5L, 2L, 1L, 4L), ids(index.suggest("Jo", 10, id -> true)));
+        assertEquals(List.of(5L, 2L), ids(index.suggest("jo", 2, id -> true)));
+
+        // scanned on the rarer word : "smith" < "smithson"
+        assertEquals(List.of(1L, 2L), ids(index.suggest("jo smi", 10, id -> true)));
+        assertEquals(List.of(1L), ids(index.suggest("smith john", 10, id -> true)));
+
+        assertEquals(List.of(3L), ids(index.suggest("elo", 10, id -> true)));
+        assertEquals(List.of(3L), ids(index.suggest("o'bri", 10, id -> true)));
+
+        assertEquals(List.of(1L, 2L, 4L), ids(index.suggest("100", 10, id -> true)));
+
+        assertTrue(index.suggest("xyz", 10, id -> true).isEmpty());
+        assertTrue(index.suggest(" - ", 10, id -> true).isEmpty());
+    }
+
+
+
+    @Test
+    void onlyAcceptedEmployeesAreSuggested() {
+        assertEquals(List.of(1L, 4L), ids(index.suggest("jo", 10, id -> id == 1 || id == 4)));
+    }
+
+
+
+    @Test
+    void changesAreAppliedToACopy() {
+
+        // 1 is renamed , 4 changes employeeID only , 2 leaves , 6 joins
+        EmployeeNameIndex changed = index.withChanges(
+            List.of(new Entry(1, "Jonathan Smith", null), new Entry(4, null, 4004L), new Entry(6, "Johnny Cash", 6006L)),
+            List.of(2L)
+        );
+
+        // "jo" < "johnny" < "johnson" < "jonathan"
+        assertEquals(List.of(5L, 6L, 4L, 1L), ids(changed.suggest("jo", 10, id -> true)));
+        assertEquals(List.of(4L), ids(changed.suggest("4004", 10, id -> true)));
+        assertTrue(changed.suggest("1003", 10, id -> true).isEmpty());
+        assertEquals(5, changed.size());
+
+        // the original is untouched
+        assertEquals(List.of(5L, 2L, 1L, 4L), ids(index.suggest("jo", 10, id -> true)));
+
+        // a partial entry of an unknown employee is ignored , replaying a change is harmless
+        EmployeeNameIndex replayed = changed
+            .withChanges(List.of(new Entry(9, "Nobody", null)), List.of(2L))
+            .withChanges(List.of(new Entry(1, "Jonathan Smith", null)), List.of());
+
+        assertEquals(List.of(5L, 6L, 4L, 1L), ids(replayed.suggest("jo", 10, id -> true)));
+        assertEquals(5, replayed.size());
+    }
+
+
+
+    @Test
+    void compactionKeepsTheSameEmployees() {
+
+        EmployeeNameIndex changed = index.withChanges(List.of(new Entry(6, "Johnny Cash", 6006L)), List.of(2L));
+        EmployeeNameIndex compacted = changed.compact();
+
+        assertEquals(0, compacted.pendingChanges());
+        assertEquals(changed.size(), compacted.size());
+        assertEquals(ids(changed.suggest("jo", 10, id -> true)), ids(compacted.suggest("jo", 10, id -> true)));
+    }
+
+
+
+    private static List<Long> ids(List<EmployeeSuggestion> suggestions) {
+        return suggestions.stream().map(EmployeeSuggestion::id).toList();
+    }
+}
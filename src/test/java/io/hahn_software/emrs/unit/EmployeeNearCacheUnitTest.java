@@ -0,0 +1,135 @@
+package io.hahn_software.emrs.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.hahn_software.emrs.dao.cache.EmployeeNearCache;
+import io.hahn_software.emrs.dtos.EmployeeResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmployeeNearCacheUnitTest {
+
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeNearCache nearCache;
+
+
+
+    @BeforeEach
+    void setUp() throws Exception {
+
+        meterRegistry = new SimpleMeterRegistry();
+
+        // the constructor is package-private , like every injected constructor of the app
+        Constructor<EmployeeNearCache> constructor = EmployeeNearCache.class.getDeclaredConstructor(
+            MeterRegistry.class, long.class, long.class
+        );
+        constructor.setAccessible(true);
+
+        nearCache = constructor.newInstance(meterRegistry, 100L, 600L);
+    }
+
+
+
+    @Test
+    void testOnlyCachedIdsAreReturned() {
+
+        nearCache.putAll(List.of(employee(1L), employee(2L)), nearCache.epoch());
+
+        assertEquals(Set.of(1L, 2L), nearCache.getAllPresent(List.of(1L, 2L, 3L)).keySet());
+
+        nearCache.invalidate(List.of(2L));
+
+        assertEquals(Set.of(1L), nearCache.getAllPresent(List.of(1L, 2L, 3L)).keySet());
+    }
+
+
+
+    @Test
+    void testRowsCachedBeforeCommitAreDroppedAfterABulkWrite() {
+
+        nearCache.putAll(List.of(employee(1L), employee(2L)), nearCache.epoch());
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            nearCache.invalidateAll();
+
+            assertEquals(Set.of(), nearCache.getAllPresent(List.of(1L, 2L)).keySet());
+
+            // a concurrent read puts back the rows as they were before the bulk statement
+            nearCache.putAll(List.of(employee(1L)), nearCache.epoch());
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(Set.of(), nearCache.getAllPresent(List.of(1L, 2L)).keySet());
+    }
+
+
+
+    @Test
+    void testRowsReadBeforeAnInvalidationAreNotCached() {
+
+        // a read captures the epoch and loads the row as it was before the commit
+        long readEpoch = nearCache.epoch();
+        EmployeeResponse staleRow = employee(1L);
+
+        // the commit invalidates , after the transaction completed
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            nearCache.invalidate(List.of(1L));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // the read then puts its row
+        nearCache.putAll(List.of(staleRow), readEpoch);
+
+        assertEquals(Set.of(), nearCache.getAllPresent(List.of(1L)).keySet());
+
+        // a read started after the invalidation is cached
+        nearCache.putAll(List.of(employee(1L)), nearCache.epoch());
+
+        assertEquals(Set.of(1L), nearCache.getAllPresent(List.of(1L)).keySet());
+    }
+
+
+
+    @Test
+    void testHitsAndMissesArePublished() {
+
+        nearCache.putAll(List.of(employee(1L)), nearCache.epoch());
+        nearCache.getAllPresent(List.of(1L, 2L));
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "employees", "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "employees", "result", "miss").functionCounter().count());
+    }
+
+
+
+    private EmployeeResponse employee(Long id) {
+        return EmployeeResponse.builder()
+            .id(id)
+            .fullName("Employee " + id)
+            .build();
+    }
+}
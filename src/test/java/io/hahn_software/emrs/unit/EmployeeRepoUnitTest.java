@@ -25,9 +25,15 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import io.hahn_software.emrs.dao.cache.EmployeeNameCache;
+import io.hahn_software.emrs.dao.cache.EmployeeNearCache;
+import io.hahn_software.emrs.dao.cache.OrgChartCache;
+import io.hahn_software.emrs.dao.locks.OrderedRowLocker;
 import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.dtos.EmployeeResponse;
 import io.hahn_software.emrs.entities.Department;
 import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.CountStrategy;
 import io.hahn_software.emrs.enums.EmploymentStatus;
 import io.hahn_software.emrs.utils.DBUtiles;
 import jakarta.persistence.EntityManager;
@@ -41,6 +47,18 @@ class EmployeeRepoUnitTest {
     @Mock
     private EntityManager em;
 
+    @Mock
+    private EmployeeNearCache employeeNearCache;
+
+    @Mock
+    private OrderedRowLocker rowLocker;
+
+    @Mock
+    private OrgChartCache orgChartCache;
+
+    @Mock
+    private EmployeeNameCache employeeNameCache;
+
     @InjectMocks
     private EmployeeRepo employeeRepo;
 
@@ -168,6 +186,54 @@ class EmployeeRepoUnitTest {
     }
 
 
+    @Test
+    void testLongIdListsAreLookedUpInChunks() {
+        // Arrange
+        employeeRepo.setInListChunkSize(1);
+
+        @SuppressWarnings("unchecked")
+        TypedQuery<Employee> query = mock(TypedQuery.class);
+        when(em.createQuery(anyString(), eq(Employee.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of(employee1), List.of(employee2));
+
+        // Act
+        List<Employee> result = employeeRepo.findEmployees(employeeIds);
+
+        // Assert
+        assertEquals(employees, result);
+        verify(query, times(1)).setParameter("ids", List.of(1L));
+        verify(query, times(1)).setParameter("ids", List.of(2L));
+    }
+
+
+    @Test
+    void testFindEmployeeResponsesSelectsOnlyTheDtoColumns() {
+        // Arrange
+        List<EmployeeResponse> responses = List.of(EmployeeResponse.builder().id(1L).department(1L).build());
+
+        @SuppressWarnings("unchecked")
+        TypedQuery<EmployeeResponse> query = mock(TypedQuery.class);
+        when(em.createQuery(anyString(), eq(EmployeeResponse.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(responses);
+
+        // Act
+        List<EmployeeResponse> result = employeeRepo.findEmployeeResponses(employeeIds);
+
+        // Assert
+        assertEquals(responses, result);
+        verify(em, times(1)).createQuery(
+            "SELECT new io.hahn_software.emrs.dtos.EmployeeResponse(" +
+            "e.id, e.fullName, e.employeeID, e.jobTitle, e.employmentStatus, e.address, e.phone, e.email, " +
+            "e.department.id, e.createdAt, e.updatedAt) " +
+            "FROM Employee e WHERE e.id IN :ids",
+            EmployeeResponse.class
+        );
+        verify(query, times(1)).setParameter("ids", employeeIds);
+    }
+
+
     @Test
     void testFindEmployees_EmptyList() {
         // Act
@@ -202,6 +268,55 @@ class EmployeeRepoUnitTest {
 
 
 
+    @Test
+    void testEmployeesAfter() {
+        // Arrange
+        @SuppressWarnings("unchecked")
+        TypedQuery<Employee> query = mock(TypedQuery.class);
+        when(em.createQuery(anyString(), eq(Employee.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.setMaxResults(anyInt())).thenReturn(query);
+        when(query.getResultList()).thenReturn(employees);
+
+        // Act
+        List<Employee> result = employeeRepo.employeesAfter(1L, 11);
+
+        // Assert
+        assertEquals(employees, result);
+        verify(em, times(1)).createQuery("SELECT e FROM Employee e WHERE e.id > :cursor ORDER BY e.id", Employee.class);
+        verify(query, times(1)).setParameter("cursor", 1L);
+        verify(query, times(1)).setMaxResults(11);
+        verify(query, never()).setFirstResult(anyInt());
+    }
+
+
+
+    @Test
+    void testCachedCountIsReusedUntilAWrite() {
+        // Arrange
+        @SuppressWarnings("unchecked")
+        TypedQuery<Long> query = mock(TypedQuery.class);
+        when(em.createQuery("SELECT COUNT(e) FROM Employee e", Long.class)).thenReturn(query);
+        when(query.getSingleResult()).thenReturn(2L, 1L);
+
+        Query delete = mock(Query.class);
+        when(em.createQuery(anyString())).thenReturn(delete);
+        when(delete.setParameter(anyString(), any())).thenReturn(delete);
+        when(delete.executeUpdate()).thenReturn(1);
+
+        // Act & Assert
+        assertEquals(2L, employeeRepo.count(CountStrategy.CACHED));
+        assertEquals(2L, employeeRepo.count(CountStrategy.CACHED));
+        verify(query, times(1)).getSingleResult();
+
+        employeeRepo.deleteEmployees(List.of(1L));
+
+        assertEquals(1L, employeeRepo.count(CountStrategy.CACHED));
+        verify(query, times(2)).getSingleResult();
+        verify(employeeNearCache, times(1)).invalidate(List.of(1L));
+    }
+
+
     @Test
     void testUpdateClientsInBatch() {
         // Arrange
@@ -214,15 +329,18 @@ class EmployeeRepoUnitTest {
             mockedStatic.when(() -> DBUtiles.buildJPQLQueryDynamicallyForUpdate(any(Employee.class), eq(em)))
                         .thenReturn(query);
 
-            // Act
-            int result = employeeRepo.updateClientsInBatch(employeeIds, employee1);
+            // Act , ids are locked and updated in ascending order , once each
+            List<Long> unorderedIds = Arrays.asList(2L, 1L, 2L);
+            int result = employeeRepo.updateClientsInBatch(unorderedIds, employee1);
 
             // Assert
             assertEquals(2, result);
+            verify(rowLocker, times(1)).lock("employees", new long[] { 1L, 2L });
             verify(query, times(1)).setParameter("Ids", employeeIds);
             verify(query, times(1)).executeUpdate();
             verify(em, times(1)).flush();
             verify(em, times(1)).clear();
+            verify(employeeNearCache, times(1)).invalidate(unorderedIds);
         }
     }
 
@@ -0,0 +1,280 @@
+package io.hahn_software.emrs.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.hahn_software.emrs.dao.cache.EmployeeNearCache;
+import io.hahn_software.emrs.dao.repositories.DepartmentRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeCopyRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeePatchRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeRepo;
+import io.hahn_software.emrs.dao.repositories.EmployeeSearchRepo;
+import io.hahn_software.emrs.dtos.CursorPageDTO;
+import io.hahn_software.emrs.dtos.EmployeeFilter;
+import io.hahn_software.emrs.dtos.EmployeeMatch;
+import io.hahn_software.emrs.dtos.EmployeePatch;
+import io.hahn_software.emrs.dtos.EmployeeRequest;
+import io.hahn_software.emrs.dtos.EmployeeResponse;
+import io.hahn_software.emrs.dtos.EmployeeSearch;
+import io.hahn_software.emrs.dtos.EmployeeSortOrder;
+import io.hahn_software.emrs.dtos.PageDTO;
+import io.hahn_software.emrs.dtos.PatchResult;
+import io.hahn_software.emrs.dtos.UpsertResult;
+import io.hahn_software.emrs.entities.Employee;
+import io.hahn_software.emrs.enums.ConflictPolicy;
+import io.hahn_software.emrs.enums.CountStrategy;
+import io.hahn_software.emrs.enums.EmploymentStatus;
+import io.hahn_software.emrs.mappers.EmployeeMapper;
+import io.hahn_software.emrs.services.EmployeeService;
+import io.hahn_software.emrs.utils.CursorUtiles;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeServiceUnitTest {
+
+
+    @Mock
+    private EmployeeRepo employeeRepo;
+
+    @Mock
+    private EmployeeCopyRepo employeeCopyRepo;
+
+    @Mock
+    private DepartmentRepo departmentRepo;
+
+    @Spy
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private EmployeeNearCache employeeNearCache;
+
+    @Mock
+    private EmployeePatchRepo employeePatchRepo;
+
+    @Mock
+    private EmployeeSearchRepo employeeSearchRepo;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private EmployeeService employeeService;
+
+
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpsertReportsTheOutcomeOfEveryElementInRequestOrder() {
+
+        when(employeeCopyRepo.upsertEmployees(anyList(), eq(ConflictPolicy.UPDATE))).thenReturn(List.of(
+            new UpsertResult.Row(1L, 10L, UpsertResult.Outcome.INSERTED),
+            new UpsertResult.Row(2L, 20L, UpsertResult.Outcome.UPDATED)
+        ));
+
+        // employeeID 2 is sent twice , only its last element is written
+        UpsertResult result = employeeService.upsertEmployeesInBatch(
+            List.of(request(1L, "John"), request(2L, "Jane"), request(3L, "Jim"), request(2L, "Janet")),
+            ConflictPolicy.UPDATE
+        );
+
+        ArgumentCaptor<List<Employee>> written = ArgumentCaptor.forClass(List.class);
+        verify(employeeCopyRepo).upsertEmployees(written.capture(), eq(ConflictPolicy.UPDATE));
+
+        assertEquals(List.of("John", "Jim", "Janet"), written.getValue().stream().map(Employee::getFullName).toList());
+
+        assertEquals(
+            List.of(UpsertResult.Outcome.INSERTED, UpsertResult.Outcome.SKIPPED, UpsertResult.Outcome.UNCHANGED, UpsertResult.Outcome.UPDATED),
+            result.rows().stream().map(UpsertResult.Row::outcome).toList()
+        );
+
+        assertEquals(1, result.inserted());
+        assertEquals(1, result.updated());
+        assertEquals(1, result.unchanged());
+        assertEquals(1, result.skipped());
+
+        // the updated employee must not be served stale from the near cache
+        verify(employeeNearCache).invalidate(List.of(20L));
+    }
+
+
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPatchMergesRepeatedIdsAndRejectsInvalidFields() {
+
+        when(employeePatchRepo.patchEmployees(anyList())).thenReturn(Set.of(1L));
+
+        EmployeeRequest invalidEmail = new EmployeeRequest();
+        invalidEmail.setEmail("not-an-email");
+
+        EmployeeRequest newEmployeeID = new EmployeeRequest();
+        newEmployeeID.setEmployeeID(99L);
+
+        // id 1 is sent twice , its two changes are applied together
+        PatchResult result = employeeService.patchEmployeesInBatch(List.of(
+            new EmployeePatch(1L, changes("Lead", null)),
+            new EmployeePatch(2L, invalidEmail),
+            new EmployeePatch(1L, changes(null, "0611111111")),
+            new EmployeePatch(3L, changes("Lead", null)),
+            new EmployeePatch(4L, newEmployeeID)
+        ));
+
+        ArgumentCaptor<List<Employee>> written = ArgumentCaptor.forClass(List.class);
+        verify(employeePatchRepo).patchEmployees(written.capture());
+
+        assertEquals(List.of(1L, 3L), written.getValue().stream().map(Employee::getId).toList());
+        assertEquals("Lead", written.getValue().get(0).getJobTitle());
+        assertEquals("0611111111", written.getValue().get(0).getPhone());
+
+        assertEquals(
+            List.of(PatchResult.Outcome.UPDATED, PatchResult.Outcome.REJECTED, PatchResult.Outcome.NOT_FOUND, PatchResult.Outcome.REJECTED),
+            result.rows().stream().map(PatchResult.Row::outcome).toList()
+        );
+        assertEquals(List.of("Email should be valid"), result.rows().get(1).messages());
+        assertEquals(List.of("Employee ID cannot be updated"), result.rows().get(3).messages());
+
+        assertEquals(1, result.updated());
+        assertEquals(1, result.notFound());
+        assertEquals(2, result.rejected());
+    }
+
+
+
+    @Test
+    void testFilteredOperationsRequireACondition() {
+
+        Employee employee = Employee.builder().jobTitle("Lead").build();
+
+        assertThrows(IllegalArgumentException.class, () -> employeeService.deleteEmployeesMatching(new EmployeeFilter()));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.updateEmployeesMatching(null, employee));
+
+        verifyNoInteractions(employeeRepo);
+    }
+
+
+
+    @Test
+    void testReportsArePagedInTheQuery() {
+
+        when(employeeRepo.reportResponsesAfter(1L, 3L, 3)).thenReturn(List.of(response(4L), response(5L), response(6L)));
+
+        CursorPageDTO<EmployeeResponse> page = employeeService.getReportsAfter(1L, CursorUtiles.encodeId(3L), 2);
+
+        assertEquals(List.of(4L, 5L), page.getContent().stream().map(EmployeeResponse::getId).toList());
+        assertEquals(CursorUtiles.encodeId(5L), page.getNextCursor());
+
+        when(employeeRepo.reportResponsesWithPagination(1L, 1, 2, false)).thenReturn(List.of(response(6L)));
+        when(employeeRepo.countReports(1L)).thenReturn(3L);
+
+        PageDTO<EmployeeResponse> last = employeeService.getReportsWithPagination(1L, 1, 2, CountStrategy.EXACT);
+
+        assertEquals(3L, last.getTotalElements());
+        assertEquals(2, last.getTotalPages());
+        assertFalse(last.isHasNext());
+    }
+
+
+
+    @Test
+    void testReportsWithoutTotalUseTheLookAheadRow() {
+
+        when(employeeRepo.reportResponsesWithPagination(1L, 0, 2, true)).thenReturn(List.of(response(4L), response(5L), response(6L)));
+
+        PageDTO<EmployeeResponse> first = employeeService.getReportsWithPagination(1L, 0, 2, CountStrategy.NONE);
+
+        assertEquals(List.of(4L, 5L), first.getContent().stream().map(EmployeeResponse::getId).toList());
+        assertNull(first.getTotalElements());
+        assertTrue(first.isHasNext());
+        assertEquals(CountStrategy.NONE, first.getCountStrategy());
+
+        verify(employeeRepo, never()).countReports(anyLong());
+    }
+
+
+
+    @Test
+    void testSearchCursorCarriesEverySortKeyOfTheLastRow() {
+
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setJobTitle("Engineer");
+
+        EmployeeSearch search = new EmployeeSearch(filter, EmployeeSortOrder.parse(List.of("-fullName")), null);
+
+        when(employeeSearchRepo.searchEmployeesAfter(eq(search), aryEq(new Object[] { "Employee 7", 7L }), eq(3)))
+            .thenReturn(List.of(response(6L), response(5L), response(4L)));
+
+        CursorPageDTO<EmployeeResponse> page = employeeService.searchEmployeesAfter(search, CursorUtiles.encode("Employee 7", "7"), 2);
+
+        assertEquals(List.of(6L, 5L), page.getContent().stream().map(EmployeeResponse::getId).toList());
+        assertEquals(CursorUtiles.encode("Employee 5", "5"), page.getNextCursor());
+
+        // a cursor of another sort
+        assertThrows(IllegalArgumentException.class, () -> employeeService.searchEmployeesAfter(search, CursorUtiles.encodeId(7L), 2));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.searchEmployeesAfter(search, CursorUtiles.encode("Employee 7", "x"), 2));
+    }
+
+
+
+    @Test
+    void testTextSearchPagesOnRankThenId() {
+
+        when(employeeSearchRepo.matchEmployees("john", 1L, 0.5f, 3L, 3)).thenReturn(List.of(
+            new EmployeeMatch(response(4L), 0.5f),
+            new EmployeeMatch(response(2L), 0.25f),
+            new EmployeeMatch(response(8L), 0.25f)
+        ));
+
+        CursorPageDTO<EmployeeResponse> page = employeeService.searchEmployeesByText("john", 1L, CursorUtiles.encode("0.5", "3"), 2);
+
+        assertEquals(List.of(4L, 2L), page.getContent().stream().map(EmployeeResponse::getId).toList());
+        assertEquals(CursorUtiles.encode("0.25", "2"), page.getNextCursor());
+
+        assertThrows(IllegalArgumentException.class, () -> employeeService.searchEmployeesByText(" ", null, null, 2));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.searchEmployeesByText("john", null, CursorUtiles.encodeId(3L), 2));
+    }
+
+
+
+    private static EmployeeResponse response(Long id) {
+        return EmployeeResponse.builder().id(id).fullName("Employee " + id).build();
+    }
+
+
+
+    private static EmployeeRequest changes(String jobTitle, String phone) {
+        EmployeeRequest request = new EmployeeRequest();
+        request.setJobTitle(jobTitle);
+        request.setPhone(phone);
+        return request;
+    }
+
+
+
+    private static EmployeeRequest request(Long employeeID, String fullName) {
+        return new EmployeeRequest(fullName, employeeID, "Engineer", EmploymentStatus.FULL_TIME,
+            "Street", "0600000000", fullName.toLowerCase() + "@example.com", 1L, null, null);
+    }
+}
@@ -0,0 +1,92 @@
+package io.hahn_software.emrs.unit;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+
+import io.hahn_software.emrs.dao.locks.OrderedRowLocker;
+
+class OrderedRowLockerUnitTest {
+
+
+    private final long[] ids = { 1L, 2L, 3L };
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private Savepoint savepoint;
+    private OrderedRowLocker rowLocker;
+
+
+
+    @BeforeEach
+    void setUp() throws SQLException {
+
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        savepoint = mock(Savepoint.class);
+
+        when(connection.setSavepoint()).thenReturn(savepoint);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.createArrayOf("bigint", ids)).thenReturn(mock(Array.class));
+
+        rowLocker = new OrderedRowLocker();
+        rowLocker.setBackoffMs(0);
+        rowLocker.setMaxRetries(2);
+    }
+
+
+
+    @Test
+    void testDeadlockedAttemptIsRolledBackToItsSavepointAndRetried() throws SQLException {
+
+        when(statement.executeQuery())
+            .thenThrow(new SQLException("deadlock detected", "40P01"))
+            .thenReturn(mock(ResultSet.class));
+
+        rowLocker.lock(connection, "employees", ids);
+
+        verify(connection, times(2)).prepareStatement("SELECT id FROM employees WHERE id = ANY(?) ORDER BY id FOR UPDATE");
+        verify(connection, times(1)).rollback(savepoint);
+        verify(connection, times(1)).releaseSavepoint(savepoint);
+        verify(statement, times(2)).executeQuery();
+    }
+
+
+
+    @Test
+    void testOtherFailuresAndExhaustedRetriesAreRethrown() throws SQLException {
+
+        SQLException constraint = new SQLException("violates foreign key constraint", "23503");
+        when(statement.executeQuery()).thenThrow(constraint);
+
+        assertSame(constraint, assertThrows(SQLException.class, () -> rowLocker.lock(connection, "employees", ids)));
+        verify(statement, times(1)).executeQuery();
+
+        SQLException deadlock = new SQLException("deadlock detected", "40P01");
+        doThrow(deadlock).when(statement).executeQuery();
+
+        assertSame(deadlock, assertThrows(SQLException.class, () -> rowLocker.lock(connection, "employees", ids)));
+        // first attempt + 2 retries
+        verify(statement, times(4)).executeQuery();
+        verify(connection, times(4)).rollback(any(Savepoint.class));
+    }
+}
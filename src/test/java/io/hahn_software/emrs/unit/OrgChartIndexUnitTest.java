@@ -0,0 +1,152 @@
+package io.hahn_software.emrs.unit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.hahn_software.emrs.dao.cache.OrgChartIndex;
+import io.hahn_software.emrs.dao.cache.OrgChartIndex.ReportingLine;
+
+class OrgChartIndexUnitTest {
+
+
+    /**
+     *        1 (ceo)
+     *       / \
+     *      2   3
+     *     / \
+     *    4   5
+     */
+    private final OrgChartIndex index = OrgChartIndex.of(
+        new long[] { 2, 3, 4, 5, 1 },
+        new long[] { 1, 1, 2, 2, OrgChartIndex.NO_MANAGER },
+        new String[] { "sub-2", null, null, null, "sub-1" }
+    );
+
+
+
+    @Test
+    void managersSeeTheirWholeSubtree() {
+
+        assertTrue(index.isManagerOf(1, 5));
+        assertTrue(index.isManagerOf(2, 4));
+        assertFalse(index.isManagerOf(2, 3));
+        assertFalse(index.isManagerOf(4, 2));
+        assertFalse(index.isManagerOf(2, 2));
+        assertFalse(index.isManagerOf(2, 99));
+
+        assertTrue(index.isManagerOfAll(1, List.of(2L, 3L, 4L, 5L)));
+        assertFalse(index.isManagerOfAll(2, List.of(4L, 3L)));
+        assertFalse(index.isManagerOfAll(2, List.of()));
+
+        assertArrayEquals(new long[] { 2, 3, 4, 5 }, index.reportsOf(1));
+        assertArrayEquals(new long[] { 4, 5 }, index.reportsOf(2));
+        assertArrayEquals(new long[0], index.reportsOf(3));
+
+        assertEquals(2L, index.employeeOfUser("sub-2"));
+        assertNull(index.employeeOfUser("sub-9"));
+    }
+
+
+
+    @Test
+    void changesAreAppliedToACopy() {
+
+        // 3 now manages 2 , a new employee 6 reports to 5
+        OrgChartIndex changed = index.withChanges(
+            List.of(new ReportingLine(2, 3L, null), new ReportingLine(6, 5L, "sub-6")),
+            List.of()
+        );
+
+        assertTrue(changed.isManagerOf(3, 6));
+        assertTrue(changed.isManagerOf(2, 6));
+        assertEquals(6L, changed.employeeOfUser("sub-6"));
+        assertEquals(2L, changed.employeeOfUser("sub-2"));
+
+        assertFalse(index.isManagerOf(3, 4));
+        assertNull(index.employeeOfUser("sub-6"));
+    }
+
+
+
+    @Test
+    void removedManagersLeaveTheirReportsAtTheTop() {
+
+        OrgChartIndex changed = index.withChanges(List.of(), List.of(2L));
+
+        assertFalse(changed.isManagerOf(1, 4));
+        assertNull(changed.employeeOfUser("sub-2"));
+        assertArrayEquals(new long[] { 3 }, changed.reportsOf(1));
+
+        // applying the same change twice is harmless
+        assertArrayEquals(new long[] { 3 }, changed.withChanges(List.of(), List.of(2L)).reportsOf(1));
+    }
+
+
+
+    @Test
+    void compactionAnswersLikeTheOverlay() {
+
+        // 4 moves under 3 , new 6 under 4 , new 7 under 6 , the account of 2 moves to 7 , 5 is deleted
+        OrgChartIndex changed = index
+            .withChanges(List.of(new ReportingLine(4, 3L, null), new ReportingLine(6, 4L, null)), List.of())
+            .withChanges(List.of(new ReportingLine(7, 6L, "sub-2")), List.of(5L));
+
+        OrgChartIndex compacted = changed.compact();
+
+        assertEquals(0, compacted.pendingChanges());
+        assertEquals(changed.size(), compacted.size());
+
+        for (OrgChartIndex current : List.of(changed, compacted)) {
+
+            assertArrayEquals(new long[] { 2, 3, 4, 6, 7 }, current.reportsOf(1));
+            assertArrayEquals(new long[] { 4, 6, 7 }, current.reportsOf(3));
+            assertArrayEquals(new long[0], current.reportsOf(2));
+
+            assertTrue(current.isManagerOf(3, 7));
+            assertFalse(current.isManagerOf(2, 4));
+            assertFalse(current.isManagerOf(1, 5));
+
+            assertEquals(7L, current.employeeOfUser("sub-2"));
+            assertEquals(1L, current.employeeOfUser("sub-1"));
+        }
+    }
+
+
+
+    @Test
+    void changesThatCloseACycleGrantNothing() {
+
+        // 2 now reports to its own report 4
+        OrgChartIndex changed = index.withChanges(List.of(new ReportingLine(2, 4L, null)), List.of());
+
+        assertFalse(changed.isManagerOf(4, 2));
+        assertFalse(changed.isManagerOf(2, 5));
+        assertFalse(changed.isManagerOf(1, 4));
+        assertTrue(changed.isManagerOf(1, 3));
+
+        assertFalse(changed.compact().isManagerOf(4, 2));
+    }
+
+
+
+    @Test
+    void reportingCyclesGrantNothing() {
+
+        OrgChartIndex cycle = OrgChartIndex.of(
+            new long[] { 10, 11, 12 },
+            new long[] { 11, 10, 11 },
+            new String[] { null, null, null }
+        );
+
+        assertFalse(cycle.isManagerOf(10, 11));
+        assertFalse(cycle.isManagerOf(11, 12));
+        assertArrayEquals(new long[0], cycle.reportsOf(10));
+    }
+}
@@ -0,0 +1,94 @@
+package io.hahn_software.emrs.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hahn_software.emrs.dao.repositories.UserLogRepo;
+import io.hahn_software.emrs.entities.UserLog;
+import io.hahn_software.emrs.enums.AuditOverflowPolicy;
+import io.hahn_software.emrs.services.UserLogWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class UserLogWriterUnitTest {
+
+
+    @Mock
+    private UserLogRepo userLogRepo;
+
+
+    private UserLogWriter createWriter(int queueCapacity, AuditOverflowPolicy policy) throws Exception {
+
+        // the constructor is package-private , like every injected constructor of the app
+        Constructor<UserLogWriter> constructor = UserLogWriter.class.getDeclaredConstructor(
+            UserLogRepo.class, ObjectMapper.class, MeterRegistry.class, int.class, AuditOverflowPolicy.class
+        );
+        constructor.setAccessible(true);
+
+        UserLogWriter writer = constructor.newInstance(userLogRepo, new ObjectMapper(), new SimpleMeterRegistry(), queueCapacity, policy);
+        ReflectionTestUtils.setField(writer, "batchSize", 10);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 10L);
+
+        return writer;
+    }
+
+
+    @Test
+    void testAllRecordsAreWrittenInBatchesWhenTheWriterStops() throws Exception {
+
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger largestBatch = new AtomicInteger();
+
+        doAnswer(invocation -> {
+            List<?> batch = invocation.getArgument(0);
+            written.addAndGet(batch.size());
+            largestBatch.accumulateAndGet(batch.size(), Math::max);
+            return null;
+        }).when(userLogRepo).saveAll(anyList());
+
+        UserLogWriter writer = createWriter(1_000, AuditOverflowPolicy.BLOCK);
+        writer.start();
+
+        for (int i = 0; i < 250; i++) {
+            writer.submit(UserLog.builder().operation("op-" + i).status("SUCCESS").build());
+        }
+
+        writer.stop();
+
+        assertEquals(250, written.get());
+        assertTrue(largestBatch.get() <= 10);
+    }
+
+
+    @Test
+    void testRecordsSubmittedAfterStopAreWrittenSynchronously() throws Exception {
+
+        AtomicInteger written = new AtomicInteger();
+
+        doAnswer(invocation -> {
+            written.addAndGet(((List<?>) invocation.getArgument(0)).size());
+            return null;
+        }).when(userLogRepo).saveAll(anyList());
+
+        UserLogWriter writer = createWriter(10, AuditOverflowPolicy.DROP_OLDEST);
+
+        writer.submit(UserLog.builder().operation("late").status("SUCCESS").build());
+
+        assertEquals(1, written.get());
+    }
+}